@@ -0,0 +1,189 @@
+package com.interview.save.account.cache;
+
+import com.interview.save.account.hotkey.HotAccountDetector;
+import com.interview.save.account.hotkey.HotKey;
+import com.interview.save.account.model.SavingsAccount;
+import com.interview.save.account.repository.SavingsAccountRepository;
+import com.interview.save.account.shard.ShardContext;
+import com.interview.save.account.shard.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Optional warm-up of the "accounts" cache.
+ * <p>
+ * While running, the hottest account numbers tracked by the {@link HotAccountDetector} are periodically written
+ * to a snapshot file, so the snapshot holds at most {@code accounts.hot-keys.top-k} accounts, ranked by their recent
+ * reads of existing accounts. On start-up the snapshot is read back, the accounts are bulk-fetched with batched
+ * {@code IN} queries (per shard) and put into the cache. This runs as an {@link ApplicationRunner}, so the readiness
+ * probe only reports UP once warm-up has finished or its time budget is spent.
+ */
+@Component
+public class AccountCacheWarmer implements ApplicationRunner
+{
+    private static final Logger log = LoggerFactory.getLogger(AccountCacheWarmer.class);
+    private static final String ACCOUNTS_CACHE = "accounts";
+
+    private final SavingsAccountRepository accountRepository;
+    private final ShardRouter shardRouter;
+    private final CacheManager cacheManager;
+    // Only present when accounts.hot-keys.enabled is set; without it no snapshot is written
+    private final HotAccountDetector hotAccounts;
+    private final boolean enabled;
+    private final Path snapshotFile;
+    private final int maxKeys;
+    private final int batchSize;
+    private final int parallelism;
+    private final Duration timeBudget;
+
+    public AccountCacheWarmer(final SavingsAccountRepository accountRepository,
+                              final ShardRouter shardRouter,
+                              final CacheManager cacheManager,
+                              final ObjectProvider<HotAccountDetector> hotAccounts,
+                              @Value("${accounts.cache.warmup.enabled:false}") final boolean enabled,
+                              @Value("${accounts.cache.warmup.snapshot-file:./data/hot-accounts.txt}") final String snapshotFile,
+                              @Value("${accounts.cache.warmup.max-keys:10000}") final int maxKeys,
+                              @Value("${accounts.cache.warmup.batch-size:500}") final int batchSize,
+                              @Value("${accounts.cache.warmup.parallelism:4}") final int parallelism,
+                              @Value("${accounts.cache.warmup.time-budget:PT30S}") final Duration timeBudget)
+    {
+        this.accountRepository = accountRepository;
+        this.shardRouter = shardRouter;
+        this.cacheManager = cacheManager;
+        this.hotAccounts = hotAccounts.getIfAvailable();
+        this.enabled = enabled;
+        this.snapshotFile = Path.of(snapshotFile);
+        this.maxKeys = maxKeys;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.timeBudget = timeBudget;
+    }
+
+    @Override
+    public void run(final ApplicationArguments args) throws InterruptedException
+    {
+        if (!enabled) {
+            return;
+        }
+        final List<String> accountNumbers = readSnapshot();
+        if (accountNumbers.isEmpty()) {
+            log.info("Cache warm-up skipped: no hot accounts in {}", snapshotFile);
+            return;
+        }
+        final Cache cache = cacheManager.getCache(ACCOUNTS_CACHE);
+        if (cache == null) {
+            return;
+        }
+
+        final long start = System.nanoTime();
+        final AtomicInteger loaded = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            final List<List<String>> accountNumbersPerShard = new ArrayList<>();
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                accountNumbersPerShard.add(new ArrayList<>());
+            }
+            for (String accountNumber : accountNumbers) {
+                accountNumbersPerShard.get(shardRouter.shardForAccountNumber(accountNumber)).add(accountNumber);
+            }
+            for (int shard = 0; shard < accountNumbersPerShard.size(); shard++) {
+                final List<String> shardAccountNumbers = accountNumbersPerShard.get(shard);
+                for (int from = 0; from < shardAccountNumbers.size(); from += batchSize) {
+                    final int batchShard = shard;
+                    final List<String> batch = shardAccountNumbers.subList(from, Math.min(from + batchSize, shardAccountNumbers.size()));
+                    executor.execute(() -> loaded.addAndGet(ShardContext.callOn(batchShard, () -> warm(cache, batch))));
+                }
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(timeBudget.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Cache warm-up time budget of {} spent, continuing start-up with a partially warm cache", timeBudget);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        log.info("Cache warm-up loaded {} of {} hot accounts in {} ms",
+            loaded.get(), accountNumbers.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Writes the hottest account numbers to the snapshot file, hottest first.
+     * The tracker ages its counts, so the ranking follows recent traffic. The file is replaced atomically so a crash
+     * never leaves a half-written snapshot behind.
+     */
+    @Scheduled(fixedDelayString = "${accounts.cache.warmup.snapshot-interval:PT5M}",
+        initialDelayString = "${accounts.cache.warmup.snapshot-interval:PT5M}")
+    public void writeSnapshot()
+    {
+        if (!enabled || hotAccounts == null) {
+            return;
+        }
+        final List<String> hottest = hotAccounts.hottest(maxKeys).stream().map(HotKey::key).toList();
+        if (hottest.isEmpty()) {
+            // Keep the previous snapshot rather than replacing it with an empty one after an idle period
+            return;
+        }
+        try {
+            final Path parent = snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            final Path tempFile = Files.createTempFile(parent, "hot-accounts", ".tmp");
+            Files.write(tempFile, hottest, StandardCharsets.UTF_8);
+            Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write hot account snapshot to {}", snapshotFile, e);
+        }
+    }
+
+    private List<String> readSnapshot()
+    {
+        if (!Files.isReadable(snapshotFile)) {
+            return List.of();
+        }
+        try (Stream<String> lines = Files.lines(snapshotFile, StandardCharsets.UTF_8)) {
+            return lines.map(String::trim)
+                .filter(line -> !line.isEmpty())
+                .distinct()
+                .limit(maxKeys)
+                .toList();
+        } catch (IOException e) {
+            log.warn("Failed to read hot account snapshot from {}", snapshotFile, e);
+            return List.of();
+        }
+    }
+
+    private int warm(final Cache cache, final List<String> batch)
+    {
+        try {
+            final List<SavingsAccount> accounts = accountRepository.findByAccountNumberIn(batch);
+            for (SavingsAccount account : accounts) {
+                cache.put(account.getAccountNumber(), account);
+            }
+            return accounts.size();
+        } catch (RuntimeException e) {
+            // Warm-up is best effort: a failed batch is simply loaded on demand later
+            log.warn("Cache warm-up batch of {} accounts failed", batch.size(), e);
+            return 0;
+        }
+    }
+}
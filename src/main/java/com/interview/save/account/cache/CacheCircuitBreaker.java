@@ -0,0 +1,127 @@
+package com.interview.save.account.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Circuit breaker of the Redis cache.
+ * <p>
+ * CLOSED lets calls through and opens after a number of consecutive failures. OPEN rejects calls; the first call
+ * after the open duration moves it to HALF_OPEN, which keeps rejecting calls while the owner checks whether Redis
+ * has recovered and then reports {@link #recovered()} or {@link #recoveryFailed()}. The closed path is a single
+ * volatile read; only state transitions synchronize.
+ */
+public class CacheCircuitBreaker
+{
+    private static final Logger log = LoggerFactory.getLogger(CacheCircuitBreaker.class);
+
+    public enum State
+    {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final Consumer<State> onTransition;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile State state = State.CLOSED;
+    private volatile long openedAt;
+
+    /**
+     * @param failureThreshold The number of consecutive failures that opens the breaker.
+     * @param openDuration     How long the breaker stays open before Redis is checked again.
+     * @param onTransition     Called with the new state after every transition, outside the breaker's lock.
+     */
+    public CacheCircuitBreaker(final int failureThreshold, final Duration openDuration, final Consumer<State> onTransition)
+    {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.onTransition = onTransition;
+    }
+
+    /**
+     * @return True if a call may go to Redis.
+     */
+    public boolean allowsCalls()
+    {
+        final State current = state;
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            halfOpen();
+        }
+        return false;
+    }
+
+    public State state()
+    {
+        return state;
+    }
+
+    public void recordSuccess()
+    {
+        if (consecutiveFailures.get() != 0) {
+            consecutiveFailures.set(0);
+        }
+    }
+
+    public void recordFailure()
+    {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && open(State.CLOSED)) {
+            log.warn("Redis cache circuit breaker opened after {} consecutive failures", failureThreshold);
+            onTransition.accept(State.OPEN);
+        }
+    }
+
+    /**
+     * Closes the breaker after a successful recovery check.
+     */
+    public void recovered()
+    {
+        synchronized (this) {
+            if (state != State.HALF_OPEN) {
+                return;
+            }
+            consecutiveFailures.set(0);
+            state = State.CLOSED;
+        }
+        log.info("Redis cache circuit breaker closed");
+        onTransition.accept(State.CLOSED);
+    }
+
+    /**
+     * Opens the breaker again after a failed recovery check.
+     */
+    public void recoveryFailed()
+    {
+        if (open(State.HALF_OPEN)) {
+            onTransition.accept(State.OPEN);
+        }
+    }
+
+    private synchronized boolean open(final State from)
+    {
+        if (state != from) {
+            return false;
+        }
+        openedAt = System.nanoTime();
+        state = State.OPEN;
+        return true;
+    }
+
+    private void halfOpen()
+    {
+        synchronized (this) {
+            if (state != State.OPEN || System.nanoTime() - openedAt < openNanos) {
+                return;
+            }
+            state = State.HALF_OPEN;
+        }
+        onTransition.accept(State.HALF_OPEN);
+    }
+}
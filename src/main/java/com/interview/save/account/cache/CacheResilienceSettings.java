@@ -0,0 +1,33 @@
+package com.interview.save.account.cache;
+
+import java.time.Duration;
+
+/**
+ * Settings of {@link ResilientCacheManager} ({@code accounts.cache.resilience.*}).
+ *
+ * @param getTimeout          The time budget of a cache read; a read over budget counts as a miss.
+ * @param putTimeout          The time budget of a cache write; a write over budget is dropped.
+ * @param evictTimeout        The time budget of an eviction; an eviction over budget is retried.
+ * @param failureThreshold    The number of consecutive failures or timeouts that opens the circuit breaker.
+ * @param openDuration        How long the breaker skips Redis before checking whether it has recovered.
+ * @param maxPendingEvictions The most evicted keys remembered per cache; beyond that the whole cache is cleared instead.
+ * @param connectTimeout      The time allowed instead of the budget while the connection is not yet (re)established,
+ *                            so the first call after start-up or an outage can connect and complete the handshake.
+ */
+public record CacheResilienceSettings(Duration getTimeout,
+                                      Duration putTimeout,
+                                      Duration evictTimeout,
+                                      int failureThreshold,
+                                      Duration openDuration,
+                                      int maxPendingEvictions,
+                                      Duration connectTimeout)
+{
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(2);
+
+    public CacheResilienceSettings(final Duration getTimeout, final Duration putTimeout, final Duration evictTimeout,
+                                   final int failureThreshold, final Duration openDuration, final int maxPendingEvictions)
+    {
+        this(getTimeout, putTimeout, evictTimeout, failureThreshold, openDuration, maxPendingEvictions,
+            DEFAULT_CONNECT_TIMEOUT);
+    }
+}
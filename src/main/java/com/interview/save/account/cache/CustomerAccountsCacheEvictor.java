@@ -0,0 +1,52 @@
+package com.interview.save.account.cache;
+
+import com.interview.save.account.event.AccountCreatedEvent;
+import com.interview.save.account.event.AccountDeletedEvent;
+import com.interview.save.account.event.AccountUpdatedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts the "customerAccounts" entry of exactly the customer whose account was created or deleted, on every write
+ * path (single and batched creates, imports, nickname updates, deletes). Runs after the commit, so a reload sees the change.
+ */
+@Component
+public class CustomerAccountsCacheEvictor
+{
+    static final String CUSTOMER_ACCOUNTS_CACHE = "customerAccounts";
+
+    private final CacheManager cacheManager;
+
+    public CustomerAccountsCacheEvictor(final CacheManager cacheManager)
+    {
+        this.cacheManager = cacheManager;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountCreated(final AccountCreatedEvent event)
+    {
+        evict(event.account().getCustomerName());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountDeleted(final AccountDeletedEvent event)
+    {
+        evict(event.account().getCustomerName());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountUpdated(final AccountUpdatedEvent event)
+    {
+        evict(event.account().getCustomerName());
+    }
+
+    private void evict(final String customerName)
+    {
+        final Cache cache = cacheManager.getCache(CUSTOMER_ACCOUNTS_CACHE);
+        if (cache != null) {
+            cache.evict(customerName);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.interview.save.account.cache;
+
+import com.interview.save.account.cache.ResilientCacheManager.Operation;
+import org.springframework.cache.Cache;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Cache decorator of {@link ResilientCacheManager}.
+ * <p>
+ * Reads and writes go to Redis within their budget while the circuit breaker allows it, and fall back to a miss or a
+ * dropped write otherwise. Evictions return immediately: the key, or a pending clear, is recorded and applied to Redis
+ * in the background. A key stays recorded until its eviction has reached Redis (retried after failures and replayed
+ * on recovery), and reads treat recorded keys as misses, so a write is never followed by a stale read.
+ */
+class ResilientCache implements Cache
+{
+    private static final String PROBE_KEY = "__redis-cache-probe__";
+
+    private final Cache delegate;
+    private final ResilientCacheManager manager;
+    private final int maxPendingEvictions;
+    // Pending evictions, each with the sequence number of its latest request
+    private final Map<Object, Long> pendingKeys = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong clearRequested = new AtomicLong();
+    private final AtomicBoolean replayScheduled = new AtomicBoolean();
+    // Not a monitor: replays wait for Redis calls on virtual threads, which would pin their carrier thread
+    private final ReentrantLock replayLock = new ReentrantLock();
+    // Written only by replayEvictions, under replayLock
+    private volatile long clearCompleted;
+
+    ResilientCache(final Cache delegate, final ResilientCacheManager manager, final int maxPendingEvictions)
+    {
+        this.delegate = delegate;
+        this.manager = manager;
+        this.maxPendingEvictions = maxPendingEvictions;
+    }
+
+    @Override
+    public String getName()
+    {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache()
+    {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(final Object key)
+    {
+        return read(key, () -> delegate.get(key));
+    }
+
+    @Override
+    public <T> T get(final Object key, final Class<T> type)
+    {
+        return read(key, () -> delegate.get(key, type));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final Object key, final Callable<T> valueLoader)
+    {
+        final ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        final T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(final Object key)
+    {
+        if (evictionPending(key) || !manager.allowsCalls(Operation.GET)) {
+            return null;
+        }
+        final CompletableFuture<?> value = delegate.retrieve(key);
+        return value == null ? null : manager.call(Operation.GET, value, () -> CompletableFuture.completedFuture(null));
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(final Object key, final Supplier<CompletableFuture<T>> valueLoader)
+    {
+        if (evictionPending(key) || !manager.allowsCalls(Operation.GET)) {
+            return valueLoader.get();
+        }
+        return manager.call(Operation.GET, delegate.retrieve(key, valueLoader), valueLoader);
+    }
+
+    @Override
+    public void put(final Object key, final Object value)
+    {
+        write(() -> {
+            delegate.put(key, value);
+            return null;
+        });
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(final Object key, final Object value)
+    {
+        return write(() -> delegate.putIfAbsent(key, value));
+    }
+
+    @Override
+    public void evict(final Object key)
+    {
+        final long requested = sequence.incrementAndGet();
+        if (pendingKeys.size() >= maxPendingEvictions) {
+            clearRequested.accumulateAndGet(requested, Math::max);
+        } else {
+            pendingKeys.put(key, requested);
+        }
+        scheduleReplay();
+    }
+
+    /**
+     * Evicts asynchronously, see {@link #evict(Object)}.
+     *
+     * @return Always false, prior presence is not determined.
+     */
+    @Override
+    public boolean evictIfPresent(final Object key)
+    {
+        evict(key);
+        return false;
+    }
+
+    @Override
+    public void clear()
+    {
+        clearRequested.accumulateAndGet(sequence.incrementAndGet(), Math::max);
+        scheduleReplay();
+    }
+
+    /**
+     * Clears asynchronously, see {@link #clear()}.
+     *
+     * @return Always false, prior presence is not determined.
+     */
+    @Override
+    public boolean invalidate()
+    {
+        clear();
+        return false;
+    }
+
+    /**
+     * @return The number of evictions not yet applied to Redis; a pending clear counts as one.
+     */
+    int pendingEvictions()
+    {
+        return pendingKeys.size() + (clearRequested.get() > clearCompleted ? 1 : 0);
+    }
+
+    /**
+     * Starts a background replay of the pending evictions unless one is running or the breaker skips Redis.
+     */
+    void scheduleReplay()
+    {
+        if (pendingEvictions() == 0 || !replayScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        if (!manager.allowsCalls(Operation.EVICT)) {
+            replayScheduled.set(false);
+            return;
+        }
+        manager.execute(() -> {
+            try {
+                replayEvictions();
+            } catch (Exception e) {
+                // Left pending; the failure counts towards the breaker
+            } finally {
+                replayScheduled.set(false);
+            }
+            // Evictions requested during the replay
+            if (pendingEvictions() > 0) {
+                scheduleReplay();
+            }
+        });
+    }
+
+    /**
+     * Applies the pending evictions to Redis; a pending clear goes first and covers the keys requested before it.
+     *
+     * @throws Exception if Redis failed or ran over budget; what was not applied stays pending.
+     */
+    void replayEvictions() throws Exception
+    {
+        replayLock.lock();
+        try {
+            final long clear = clearRequested.get();
+            if (clear > clearCompleted) {
+                manager.call(Operation.EVICT, () -> {
+                    delegate.clear();
+                    return null;
+                });
+                clearCompleted = clear;
+                pendingKeys.values().removeIf(requested -> requested <= clear);
+            }
+            for (Map.Entry<Object, Long> pending : pendingKeys.entrySet()) {
+                manager.call(Operation.EVICT, () -> {
+                    delegate.evict(pending.getKey());
+                    return null;
+                });
+                // Only if not requested again meanwhile
+                pendingKeys.remove(pending.getKey(), pending.getValue());
+            }
+        } finally {
+            replayLock.unlock();
+        }
+    }
+
+    /**
+     * Reads a key that is never written, to check that Redis answers within the read budget.
+     */
+    void probe() throws Exception
+    {
+        manager.call(Operation.GET, () -> delegate.get(PROBE_KEY));
+    }
+
+    private boolean evictionPending(final Object key)
+    {
+        return clearRequested.get() > clearCompleted || pendingKeys.containsKey(key);
+    }
+
+    private <T> T read(final Object key, final Callable<T> read)
+    {
+        if (evictionPending(key) || !manager.allowsCalls(Operation.GET)) {
+            return null;
+        }
+        try {
+            return manager.call(Operation.GET, read);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private <T> T write(final Callable<T> write)
+    {
+        if (!manager.allowsCalls(Operation.PUT)) {
+            return null;
+        }
+        try {
+            return manager.call(Operation.PUT, write);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
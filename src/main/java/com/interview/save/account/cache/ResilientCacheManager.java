@@ -0,0 +1,295 @@
+package com.interview.save.account.cache;
+
+import com.interview.save.account.deadline.AbandonedWork;
+import com.interview.save.account.deadline.RequestDeadline;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Cache manager decorator putting a latency budget and a {@link CacheCircuitBreaker} around a Redis cache manager.
+ * <p>
+ * Every Redis call runs on a virtual thread and is awaited for at most the budget of its operation; a call over
+ * budget or failing counts as a miss (reads) or is dropped (writes), so requests fall through to the database instead
+ * of stalling. Until Redis has answered on the current connection, calls get the connect timeout instead of the
+ * budget, so connecting and the handshake after start-up or an outage are not mistaken for a slow Redis. Consecutive
+ * failures open the breaker, which then skips Redis altogether. Evictions are asynchronous and
+ * remembered until they have reached Redis (see {@link ResilientCache}); once the open duration has passed, recovery
+ * checks Redis and replays the pending evictions before the breaker closes, so no stale entry is served afterwards.
+ * <p>
+ * Within a request, a call is also bounded by what is left of the {@link RequestDeadline}. A call cut short by the
+ * deadline is counted with the {@code deadline} outcome and not held against Redis by the breaker; once the deadline
+ * has passed, Redis is not called at all.
+ * <p>
+ * Metrics: {@code accounts.cache.redis.breaker.state} (1 for the current state, per {@code state}),
+ * {@code accounts.cache.redis.breaker.opened}, {@code accounts.cache.redis.calls} (per {@code operation} and
+ * {@code outcome}) and {@code accounts.cache.redis.pending.evictions} (per {@code cache}).
+ */
+public class ResilientCacheManager implements CacheManager
+{
+    private static final Logger log = LoggerFactory.getLogger(ResilientCacheManager.class);
+
+    enum Operation
+    {
+        GET, PUT, EVICT
+    }
+
+    private enum Outcome
+    {
+        SUCCESS, FAILURE, TIMEOUT, SKIPPED, DEADLINE
+    }
+
+    private final CacheManager delegate;
+    private final CacheResilienceSettings settings;
+    private final MeterRegistry meterRegistry;
+    private final CacheCircuitBreaker breaker;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("redis-cache-", 0).factory());
+    private final Map<String, ResilientCache> caches = new ConcurrentHashMap<>();
+    private final Counter[][] calls = new Counter[Operation.values().length][Outcome.values().length];
+    private final Counter opened;
+    // False until a call succeeds on the current connection; calls until then may have to connect first
+    private volatile boolean connected;
+
+    public ResilientCacheManager(final CacheManager delegate, final CacheResilienceSettings settings,
+                                 final MeterRegistry meterRegistry)
+    {
+        this.delegate = delegate;
+        this.settings = settings;
+        this.meterRegistry = meterRegistry;
+        this.breaker = new CacheCircuitBreaker(settings.failureThreshold(), settings.openDuration(), this::onTransition);
+
+        for (CacheCircuitBreaker.State state : CacheCircuitBreaker.State.values()) {
+            Gauge.builder("accounts.cache.redis.breaker.state", breaker, b -> b.state() == state ? 1 : 0)
+                .description("1 for the current state of the Redis cache circuit breaker")
+                .tag("state", tagValue(state))
+                .register(meterRegistry);
+        }
+        this.opened = Counter.builder("accounts.cache.redis.breaker.opened")
+            .description("Times the Redis cache circuit breaker opened")
+            .register(meterRegistry);
+        for (Operation operation : Operation.values()) {
+            for (Outcome outcome : Outcome.values()) {
+                calls[operation.ordinal()][outcome.ordinal()] = Counter.builder("accounts.cache.redis.calls")
+                    .description("Redis cache calls by outcome")
+                    .tag("operation", tagValue(operation))
+                    .tag("outcome", tagValue(outcome))
+                    .register(meterRegistry);
+            }
+        }
+    }
+
+    @Override
+    public Cache getCache(final String name)
+    {
+        final Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        final Cache target = delegate.getCache(name);
+        return target == null ? null : caches.computeIfAbsent(name, key -> {
+            final ResilientCache resilientCache = new ResilientCache(target, this, settings.maxPendingEvictions());
+            Gauge.builder("accounts.cache.redis.pending.evictions", resilientCache, ResilientCache::pendingEvictions)
+                .description("Evictions not yet applied to Redis")
+                .tag("cache", name)
+                .register(meterRegistry);
+            return resilientCache;
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames()
+    {
+        return delegate.getCacheNames();
+    }
+
+    public CacheCircuitBreaker.State breakerState()
+    {
+        return breaker.state();
+    }
+
+    /**
+     * @param operation The operation about to be attempted.
+     * @return True if Redis may be called; otherwise the call is counted as skipped.
+     */
+    boolean allowsCalls(final Operation operation)
+    {
+        if (breaker.allowsCalls()) {
+            return true;
+        }
+        count(operation, Outcome.SKIPPED);
+        return false;
+    }
+
+    /**
+     * Runs a Redis call within the budget of its operation, or what is left of the request deadline if that is less,
+     * and reports the result to the circuit breaker.
+     *
+     * @throws Exception if the call failed, ran over budget, the deadline had passed or the caller was interrupted.
+     */
+    <T> T call(final Operation operation, final Callable<T> call) throws Exception
+    {
+        final long budget = budget(operation);
+        final long remaining = RequestDeadline.remainingNanos();
+        if (remaining <= 0) {
+            abandoned(operation);
+            throw new TimeoutException("Request deadline passed");
+        }
+        final Future<T> future = executor.submit(call);
+        try {
+            final T result = future.get(Math.min(budget, remaining), TimeUnit.NANOSECONDS);
+            succeeded(operation);
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            if (remaining < budget) {
+                abandoned(operation);
+            } else {
+                breaker.recordFailure();
+                count(operation, Outcome.TIMEOUT);
+            }
+            throw e;
+        } catch (ExecutionException e) {
+            failed(operation);
+            log.debug("Redis cache {} failed", tagValue(operation), e.getCause());
+            throw e;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw e;
+        }
+    }
+
+    /**
+     * Asynchronous counterpart of {@link #call(Operation, Callable)}: a failing or late future is replaced by the
+     * fallback.
+     */
+    <T> CompletableFuture<T> call(final Operation operation, final CompletableFuture<T> call,
+                                  final Supplier<CompletableFuture<T>> fallback)
+    {
+        final long budget = budget(operation);
+        final long remaining = RequestDeadline.remainingNanos();
+        if (remaining <= 0) {
+            call.cancel(true);
+            abandoned(operation);
+            return fallback.get();
+        }
+        return call.orTimeout(Math.min(budget, remaining), TimeUnit.NANOSECONDS)
+            .handle((result, failure) -> {
+                if (failure == null) {
+                    succeeded(operation);
+                    return CompletableFuture.completedFuture(result);
+                }
+                final boolean timedOut = failure instanceof TimeoutException || failure.getCause() instanceof TimeoutException;
+                if (timedOut && remaining < budget) {
+                    abandoned(operation);
+                } else if (timedOut) {
+                    breaker.recordFailure();
+                    count(operation, Outcome.TIMEOUT);
+                } else {
+                    failed(operation);
+                }
+                return fallback.get();
+            })
+            .thenCompose(result -> result);
+    }
+
+    void execute(final Runnable task)
+    {
+        executor.execute(task);
+    }
+
+    private long budget(final Operation operation)
+    {
+        return (connected ? timeout(operation) : settings.connectTimeout()).toNanos();
+    }
+
+    private void succeeded(final Operation operation)
+    {
+        if (!connected) {
+            connected = true;
+        }
+        breaker.recordSuccess();
+        count(operation, Outcome.SUCCESS);
+    }
+
+    // A failing call may have lost the connection, so the next one may have to reconnect
+    private void failed(final Operation operation)
+    {
+        connected = false;
+        breaker.recordFailure();
+        count(operation, Outcome.FAILURE);
+    }
+
+    private Duration timeout(final Operation operation)
+    {
+        return switch (operation) {
+            case GET -> settings.getTimeout();
+            case PUT -> settings.putTimeout();
+            case EVICT -> settings.evictTimeout();
+        };
+    }
+
+    private void abandoned(final Operation operation)
+    {
+        count(operation, Outcome.DEADLINE);
+        RequestDeadline.abandoned(AbandonedWork.CACHE_CALL);
+    }
+
+    private void count(final Operation operation, final Outcome outcome)
+    {
+        calls[operation.ordinal()][outcome.ordinal()].increment();
+    }
+
+    private void onTransition(final CacheCircuitBreaker.State state)
+    {
+        switch (state) {
+            case OPEN -> opened.increment();
+            case HALF_OPEN -> executor.execute(this::recover);
+            case CLOSED -> caches.values().forEach(ResilientCache::scheduleReplay);
+        }
+    }
+
+    // Runs in HALF_OPEN: checks Redis and replays the pending evictions, then closes the breaker
+    private void recover()
+    {
+        // The connection may have been dropped during the outage
+        connected = false;
+        try {
+            if (caches.isEmpty()) {
+                throw new IllegalStateException("No cache to check Redis with");
+            }
+            caches.values().iterator().next().probe();
+            for (ResilientCache cache : caches.values()) {
+                cache.replayEvictions();
+            }
+            breaker.recovered();
+        } catch (Exception e) {
+            log.debug("Redis cache is still unavailable", e);
+            breaker.recoveryFailed();
+        }
+    }
+
+    private static String tagValue(final Enum<?> value)
+    {
+        return value.name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
@@ -0,0 +1,54 @@
+package com.interview.save.account.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Decorates the Redis cache manager with a {@link ResilientCacheManager}. Ordered first, so that the profiling
+ * decorator wraps this one and times the calls the breaker skips as well.
+ */
+@Component
+@ConditionalOnProperty(name = "accounts.cache.resilience.enabled", havingValue = "true", matchIfMissing = true)
+public class ResilientCachePostProcessor implements BeanPostProcessor, Ordered
+{
+    private final CacheResilienceSettings settings;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public ResilientCachePostProcessor(@Value("${accounts.cache.resilience.get-timeout:PT0.05S}") final Duration getTimeout,
+                                       @Value("${accounts.cache.resilience.put-timeout:PT0.1S}") final Duration putTimeout,
+                                       @Value("${accounts.cache.resilience.evict-timeout:PT0.5S}") final Duration evictTimeout,
+                                       @Value("${accounts.cache.resilience.failure-threshold:5}") final int failureThreshold,
+                                       @Value("${accounts.cache.resilience.open-duration:PT5S}") final Duration openDuration,
+                                       @Value("${accounts.cache.resilience.max-pending-evictions:10000}") final int maxPendingEvictions,
+                                       @Value("${accounts.cache.resilience.connect-timeout:PT2S}") final Duration connectTimeout,
+                                       final ObjectProvider<MeterRegistry> meterRegistry)
+    {
+        this.settings = new CacheResilienceSettings(getTimeout, putTimeout, evictTimeout, failureThreshold, openDuration,
+            maxPendingEvictions, connectTimeout);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName)
+    {
+        if (bean instanceof RedisCacheManager cacheManager) {
+            return new ResilientCacheManager(cacheManager, settings, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder()
+    {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,108 @@
+package com.interview.save.account.cache;
+
+import com.interview.save.account.deadline.RequestDeadline;
+import com.interview.save.account.exception.DeadlineExceededException;
+import com.interview.save.account.exception.LoadTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent loads of the same key: the first caller runs the loader, every caller that arrives
+ * while that load is in flight waits for its result instead of running a load of its own.
+ * <p>
+ * This is not a cache; the in-flight entry is removed as soon as the load completes, so a later miss loads again.
+ *
+ * @param <K> The key type.
+ * @param <V> The loaded value type.
+ */
+public class SingleFlight<K, V>
+{
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Duration timeout;
+
+    /**
+     * @param timeout How long a waiting caller waits for the in-flight load before giving up.
+     */
+    public SingleFlight(final Duration timeout)
+    {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Loads the value for the key, or joins a load of the same key that is already in flight.
+     *
+     * @param key    The key to load.
+     * @param loader The loader, only invoked if no load of the key is in flight.
+     * @return The loaded value.
+     * @throws LoadTimeoutException      if this caller waited longer than the timeout for another caller's load.
+     * @throws DeadlineExceededException if this caller's request deadline passed while waiting.
+     * @throws RuntimeException          the exception thrown by the loader, for the loading caller and all waiters;
+     *                                   except when the load was given up for the loading caller's deadline, then
+     *                                   waiters with time left load again.
+     */
+    public V execute(final K key, final Supplier<V> loader)
+    {
+        final CompletableFuture<V> call = new CompletableFuture<>();
+        final CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            try {
+                return await(key, existing);
+            } catch (DeadlineExceededException e) {
+                // Either this caller's deadline, or the loading caller's while this one still has time left
+                if (RequestDeadline.expired()) {
+                    throw e;
+                }
+                return execute(key, loader);
+            }
+        }
+        try {
+            final V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    /**
+     * @return The number of keys with a load currently in flight.
+     */
+    public int inFlightCount()
+    {
+        return inFlight.size();
+    }
+
+    private V await(final K key, final CompletableFuture<V> call)
+    {
+        final long remaining = RequestDeadline.remainingNanos();
+        try {
+            return call.get(Math.max(0, Math.min(timeout.toNanos(), remaining)), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            if (remaining < timeout.toNanos()) {
+                throw RequestDeadline.exceeded("the load of " + key + " completed");
+            }
+            throw new LoadTimeoutException("Timed out after " + timeout.toMillis() + " ms waiting for the load of " + key + ".");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LoadTimeoutException("Interrupted while waiting for the load of " + key + ".");
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.interview.save.account.controller;
+
+import com.interview.save.account.hotkey.HotAccountDetector;
+import com.interview.save.account.model.AccountStatisticsResponse;
+import com.interview.save.account.model.HotAccountResponse;
+import com.interview.save.account.stats.AccountStatistics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/statistics")
+public class AccountStatisticsController
+{
+    private final AccountStatistics accountStatistics;
+    // Only present when accounts.hot-keys.enabled is set
+    private final HotAccountDetector hotAccounts;
+
+    @Autowired
+    public AccountStatisticsController(final AccountStatistics accountStatistics,
+                                       final ObjectProvider<HotAccountDetector> hotAccounts)
+    {
+        this.accountStatistics = accountStatistics;
+        this.hotAccounts = hotAccounts.getIfAvailable();
+    }
+
+    /**
+     * Endpoint to get the account statistics: total accounts and customers, customers per number of
+     * accounts held, and customers near or at the account limit.
+     * Served from incrementally maintained counters, so it does not scan the accounts.
+     *
+     * @return ResponseEntity with the {@link AccountStatisticsResponse}.
+     */
+    @GetMapping("/accounts")
+    public ResponseEntity<AccountStatisticsResponse> getAccountStatistics()
+    {
+        return new ResponseEntity<>(accountStatistics.snapshot(), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint to get the number of accounts a customer holds.
+     *
+     * @param customerName The name of the customer.
+     * @return ResponseEntity with the number of accounts, 0 for unknown customers.
+     */
+    @GetMapping("/customers/{customerName}/accounts")
+    public ResponseEntity<Integer> getCustomerAccountCount(@PathVariable String customerName)
+    {
+        return new ResponseEntity<>(accountStatistics.accountsOf(customerName), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint to get the most frequently accessed accounts, estimated from a fixed-size sketch of recent traffic.
+     *
+     * @param limit The maximum number of accounts to return.
+     * @return ResponseEntity with the hottest accounts first, or 404 (Not Found) if hot-key detection is disabled.
+     */
+    @GetMapping("/hot-accounts")
+    public ResponseEntity<List<HotAccountResponse>> getHotAccounts(@RequestParam(defaultValue = "20") int limit)
+    {
+        if (hotAccounts == null) {
+            return ResponseEntity.notFound().build();
+        }
+        final List<HotAccountResponse> response = hotAccounts.hottest(Math.max(0, limit))
+            .stream()
+            .map(hotKey -> new HotAccountResponse(hotKey.key(), hotKey.estimatedCount()))
+            .toList();
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+}
@@ -0,0 +1,50 @@
+package com.interview.save.account.controller;
+
+import com.interview.save.account.model.AccountResponse;
+import com.interview.save.account.service.SavingsAccountService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/customers")
+public class CustomerAccountController
+{
+    private final SavingsAccountService accountService;
+
+    @Autowired
+    public CustomerAccountController(final SavingsAccountService accountService)
+    {
+        this.accountService = accountService;
+    }
+
+    /**
+     * Endpoint to get all savings bank accounts of one customer.
+     *
+     * @param customerName The name of the customer.
+     * @return ResponseEntity with a list of {@link AccountResponse}, empty for unknown customers.
+     */
+    @GetMapping("/{customerName}/accounts")
+    public ResponseEntity<List<AccountResponse>> getCustomerAccounts(@PathVariable String customerName)
+    {
+        final List<AccountResponse> accountResponses = accountService.getCustomerAccounts(customerName)
+            .stream()
+            .map(savingsAccount -> new AccountResponse(
+                savingsAccount.getId(),
+                savingsAccount.getAccountNumber(),
+                savingsAccount.getCustomerName(),
+                savingsAccount.getAccountNickname(),
+                savingsAccount.getVersion()
+                )
+            )
+            .toList();
+        return new ResponseEntity<>(accountResponses, HttpStatus.OK);
+    }
+}
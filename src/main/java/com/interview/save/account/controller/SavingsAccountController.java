@@ -1,12 +1,19 @@
 package com.interview.save.account.controller;
 
+import com.interview.save.account.hotkey.HotAccountDetector;
+import com.interview.save.account.model.AccountNicknameUpdateRequest;
 import com.interview.save.account.model.AccountResponse;
 import com.interview.save.account.model.SavingsAccount;
 import com.interview.save.account.model.SavingsAccountCreateRequest;
+import com.interview.save.account.profiling.AccountProfiler;
+import com.interview.save.account.profiling.CacheOutcome;
+import com.interview.save.account.readmodel.AccountReadModel;
+import com.interview.save.account.service.GroupCommitAccountWriter;
 import com.interview.save.account.service.SavingsAccountService;
 
 import jakarta.validation.Valid;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,11 +26,23 @@ import java.util.List;
 public class SavingsAccountController
 {
     private final SavingsAccountService accountService;
+    // Only present when accounts.create.group-commit.enabled is set
+    private final GroupCommitAccountWriter groupCommitWriter;
+    // Only present when accounts.read-model.enabled is set
+    private final AccountReadModel readModel;
+    // Only present when accounts.hot-keys.enabled is set
+    private final HotAccountDetector hotAccounts;
 
     @Autowired
-    public SavingsAccountController(final SavingsAccountService accountService)
+    public SavingsAccountController(final SavingsAccountService accountService,
+                                    final ObjectProvider<GroupCommitAccountWriter> groupCommitWriter,
+                                    final ObjectProvider<AccountReadModel> readModel,
+                                    final ObjectProvider<HotAccountDetector> hotAccounts)
     {
         this.accountService = accountService;
+        this.groupCommitWriter = groupCommitWriter.getIfAvailable();
+        this.readModel = readModel.getIfAvailable();
+        this.hotAccounts = hotAccounts.getIfAvailable();
     }
 
     /**
@@ -36,12 +55,15 @@ public class SavingsAccountController
     @PostMapping
     public ResponseEntity<AccountResponse> createAccount(@Valid @RequestBody SavingsAccountCreateRequest request)
     {
-        final SavingsAccount createdAccount = accountService.createAccount(request);
+        final SavingsAccount createdAccount = groupCommitWriter != null
+            ? groupCommitWriter.create(request)
+            : accountService.createAccount(request);
         final AccountResponse response = new AccountResponse(
             createdAccount.getId(),
             createdAccount.getAccountNumber(),
             createdAccount.getCustomerName(),
-            createdAccount.getAccountNickname()
+            createdAccount.getAccountNickname(),
+            createdAccount.getVersion()
         );
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
@@ -55,12 +77,55 @@ public class SavingsAccountController
     @GetMapping("/{accountNumber}")
     public ResponseEntity<AccountResponse> getAccount(@PathVariable String accountNumber)
     {
+        AccountProfiler.accountNumber(accountNumber);
+        final AccountResponse stored = readModel != null ? readModel.find(accountNumber) : null;
+        if (stored != null) {
+            recordRead(accountNumber);
+            AccountProfiler.cacheOutcome(CacheOutcome.READ_MODEL);
+            return new ResponseEntity<>(stored, HttpStatus.OK);
+        }
+        final AccountResponse pinned = hotAccounts != null ? hotAccounts.pinned(accountNumber) : null;
+        if (pinned != null) {
+            recordRead(accountNumber);
+            AccountProfiler.cacheOutcome(CacheOutcome.PINNED);
+            return new ResponseEntity<>(pinned, HttpStatus.OK);
+        }
+        final long writeGeneration = hotAccounts != null ? hotAccounts.writeGeneration() : 0;
         SavingsAccount account = accountService.getAccount(accountNumber);
         AccountResponse response = new AccountResponse(
             account.getId(),
             account.getAccountNumber(),
             account.getCustomerName(),
-            account.getAccountNickname()
+            account.getAccountNickname(),
+            account.getVersion()
+        );
+        recordRead(accountNumber);
+        if (hotAccounts != null) {
+            hotAccounts.pin(response, writeGeneration);
+        }
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint to change the nickname of a savings bank account.
+     * Request body is validated using @Valid, with the same nickname rules as on creation.
+     *
+     * @param accountNumber The unique account number.
+     * @param request The {@link AccountNicknameUpdateRequest} with the new nickname and the version it replaces.
+     * @return ResponseEntity with the updated {@link AccountResponse}, or 409 (Conflict) if the version is outdated.
+     */
+    @PatchMapping("/{accountNumber}")
+    public ResponseEntity<AccountResponse> updateAccountNickname(@PathVariable String accountNumber,
+                                                                 @Valid @RequestBody AccountNicknameUpdateRequest request)
+    {
+        AccountProfiler.accountNumber(accountNumber);
+        final SavingsAccount account = accountService.updateAccountNickname(accountNumber, request);
+        final AccountResponse response = new AccountResponse(
+            account.getId(),
+            account.getAccountNumber(),
+            account.getCustomerName(),
+            account.getAccountNickname(),
+            account.getVersion()
         );
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
@@ -80,7 +145,8 @@ public class SavingsAccountController
                 savingsAccount.getId(),
                 savingsAccount.getAccountNumber(),
                 savingsAccount.getCustomerName(),
-                savingsAccount.getAccountNickname()
+                savingsAccount.getAccountNickname(),
+                savingsAccount.getVersion()
                 )
             )
             .toList();
@@ -99,4 +165,13 @@ public class SavingsAccountController
         accountService.deleteAccountById(id);
         return new ResponseEntity<>(id, HttpStatus.OK);
     }
+
+    // Only reads of existing accounts: a 404 never warms or pins anything, so probing unknown numbers can't push
+    // the real hot accounts out. Recorded here rather than in the service so that cache hits are counted too.
+    private void recordRead(final String accountNumber)
+    {
+        if (hotAccounts != null) {
+            hotAccounts.record(accountNumber);
+        }
+    }
 }
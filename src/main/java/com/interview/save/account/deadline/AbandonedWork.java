@@ -0,0 +1,16 @@
+package com.interview.save.account.deadline;
+
+/**
+ * Work not done because the request deadline had passed, counted in {@code accounts.deadline.abandoned}.
+ */
+public enum AbandonedWork
+{
+    /** A SQL statement that was not sent to the database. */
+    STATEMENT_SKIPPED,
+    /** A SQL statement cancelled by its statement timeout. */
+    STATEMENT_CANCELLED,
+    /** A Redis cache call that was not made or not waited for. */
+    CACHE_CALL,
+    /** A create withdrawn from the group-commit queue before it was written. */
+    QUEUED_CREATE
+}
@@ -0,0 +1,48 @@
+package com.interview.save.account.deadline;
+
+import com.interview.save.account.shard.ShardRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Request deadline set-up: the {@link DeadlineFilter} for API requests, and the datasource wrapped in a
+ * {@link DeadlineDataSource}. With sharding, only the primary datasource in front of the {@link ShardRoutingDataSource}
+ * is wrapped, so statements are bounded once.
+ */
+@Configuration
+@ConditionalOnProperty(name = "accounts.deadline.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(DeadlineProperties.class)
+public class DeadlineConfiguration
+{
+    @Bean
+    public DeadlineFilter deadlineFilter(final DeadlineProperties properties, final ObjectProvider<MeterRegistry> meterRegistry)
+    {
+        return new DeadlineFilter(properties, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    // Static, so the post-processor is registered before the datasource is created
+    @Bean
+    public static BeanPostProcessor deadlineDataSourcePostProcessor()
+    {
+        return new BeanPostProcessor()
+        {
+            @Override
+            public Object postProcessAfterInitialization(final Object bean, final String beanName)
+            {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ShardRoutingDataSource)
+                    && !(bean instanceof DeadlineDataSource)) {
+                    return new DeadlineDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
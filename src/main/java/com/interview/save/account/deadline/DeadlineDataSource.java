@@ -0,0 +1,100 @@
+package com.interview.save.account.deadline;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds every SQL statement of a request by its {@link RequestDeadline}.
+ * <p>
+ * A statement created after the deadline has passed is not sent at all; otherwise the remaining budget becomes its
+ * query timeout, so the database cancels it instead of finishing work nobody waits for any more. JDBC timeouts are
+ * whole seconds, so the remaining budget is rounded up; the check before each statement makes the deadline exact
+ * between statements. Both cases throw a {@link com.interview.save.account.exception.DeadlineExceededException}.
+ * Statements without a deadline get no query timeout, also on a connection that an earlier request bounded.
+ */
+public class DeadlineDataSource extends DelegatingDataSource
+{
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    public DeadlineDataSource(final DataSource targetDataSource)
+    {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException
+    {
+        return proxy(Connection.class, super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(final String username, final String password) throws SQLException
+    {
+        return proxy(Connection.class, super.getConnection(username, password));
+    }
+
+    private static <T> T proxy(final Class<T> type, final T target)
+    {
+        final InvocationHandler handler = (proxy, method, args) -> {
+            if (type == Connection.class && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return statement(method, target, args);
+            }
+            if (type != Connection.class && method.getName().startsWith("execute")) {
+                return execute(method, target, args);
+            }
+            return invoke(method, target, args);
+        };
+        return type.cast(Proxy.newProxyInstance(DeadlineDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    // createStatement, prepareStatement and prepareCall
+    @SuppressWarnings("unchecked")
+    private static Object statement(final Method method, final Object connection, final Object[] args) throws Throwable
+    {
+        final long remaining = RequestDeadline.remainingNanos();
+        if (remaining <= 0) {
+            RequestDeadline.abandoned(AbandonedWork.STATEMENT_SKIPPED);
+            throw RequestDeadline.exceeded("the next SQL statement");
+        }
+        final Statement statement = (Statement) invoke(method, connection, args);
+        if (remaining == Long.MAX_VALUE) {
+            // Some drivers (H2) keep the timeout on the session, which a pooled connection carries over
+            statement.setQueryTimeout(0);
+            return statement;
+        }
+        statement.setQueryTimeout((int) Math.min(Integer.MAX_VALUE, (remaining + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND));
+        return proxy((Class<Statement>) method.getReturnType(), statement);
+    }
+
+    private static Object execute(final Method method, final Object statement, final Object[] args) throws Throwable
+    {
+        try {
+            return invoke(method, statement, args);
+        } catch (SQLTimeoutException e) {
+            if (!RequestDeadline.expired()) {
+                throw e;
+            }
+            RequestDeadline.abandoned(AbandonedWork.STATEMENT_CANCELLED);
+            throw RequestDeadline.exceeded("the SQL statement completed");
+        }
+    }
+
+    private static Object invoke(final Method method, final Object target, final Object[] args) throws Throwable
+    {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
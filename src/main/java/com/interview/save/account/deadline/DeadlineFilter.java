@@ -0,0 +1,110 @@
+package com.interview.save.account.deadline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Gives every API request a {@link RequestDeadline}: the timeout the caller sent in the deadline header (a positive
+ * number of milliseconds, at most {@code max-timeout}), or else the timeout of the first matching endpoint, or else the
+ * default.
+ * <p>
+ * Metrics: {@code accounts.deadline.exceeded} (requests answered with 504) and {@code accounts.deadline.abandoned}
+ * per {@code work} (statements skipped or cancelled and Redis calls given up once the deadline had passed).
+ */
+public class DeadlineFilter extends OncePerRequestFilter
+{
+    private static final String API_PREFIX = "/api/";
+
+    private final String header;
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+    private final List<EndpointTimeout> endpoints;
+    private final Counter exceeded;
+
+    public DeadlineFilter(final DeadlineProperties properties, final MeterRegistry meterRegistry)
+    {
+        this.header = properties.getHeader();
+        this.defaultTimeout = properties.getDefaultTimeout();
+        this.maxTimeout = properties.getMaxTimeout();
+        this.endpoints = properties.getEndpoints().stream()
+            .map(endpoint -> new EndpointTimeout(endpoint.getMethod().toUpperCase(Locale.ROOT),
+                PathPatternParser.defaultInstance.parse(endpoint.getPath()), endpoint.getTimeout()))
+            .toList();
+        this.exceeded = Counter.builder("accounts.deadline.exceeded")
+            .description("Requests answered with 504 because their deadline passed")
+            .register(meterRegistry);
+        for (AbandonedWork work : AbandonedWork.values()) {
+            FunctionCounter.builder("accounts.deadline.abandoned", work, RequestDeadline::abandonedCount)
+                .description("Work given up because the request deadline had passed")
+                .tag("work", work.name().toLowerCase(Locale.ROOT).replace('_', '-'))
+                .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request)
+    {
+        return !request.getRequestURI().startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException
+    {
+        RequestDeadline.begin(timeout(request));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestDeadline.end();
+            if (response.getStatus() == HttpStatus.GATEWAY_TIMEOUT.value()) {
+                exceeded.increment();
+            }
+        }
+    }
+
+    private Duration timeout(final HttpServletRequest request)
+    {
+        final String requested = request.getHeader(header);
+        if (requested != null) {
+            try {
+                final long millis = Long.parseLong(requested.trim());
+                // Zero or negative would be a deadline that has already passed: the endpoint's timeout applies
+                if (millis > 0) {
+                    final Duration timeout = Duration.ofMillis(millis);
+                    return timeout.compareTo(maxTimeout) > 0 ? maxTimeout : timeout;
+                }
+            } catch (NumberFormatException e) {
+                // Not a number of milliseconds: the endpoint's timeout applies
+            }
+        }
+        if (!endpoints.isEmpty()) {
+            final PathContainer path = PathContainer.parsePath(request.getRequestURI());
+            for (EndpointTimeout endpoint : endpoints) {
+                if ((endpoint.method().isEmpty() || endpoint.method().equals(request.getMethod())) && endpoint.path().matches(path)) {
+                    return endpoint.timeout();
+                }
+            }
+        }
+        return defaultTimeout;
+    }
+
+    private record EndpointTimeout(String method, PathPattern path, Duration timeout)
+    {
+    }
+}
@@ -0,0 +1,105 @@
+package com.interview.save.account.deadline;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of request deadlines ({@code accounts.deadline.*}).
+ */
+@ConfigurationProperties(prefix = "accounts.deadline")
+public class DeadlineProperties
+{
+    // Request header carrying the caller's timeout in milliseconds
+    private String header = "X-Request-Timeout";
+
+    // Budget of requests without the header and without a matching endpoint
+    private Duration defaultTimeout = Duration.ofSeconds(5);
+
+    // Upper bound of a budget asked for in the header
+    private Duration maxTimeout = Duration.ofSeconds(30);
+
+    // Budgets per endpoint, the first match wins
+    private List<Endpoint> endpoints = new ArrayList<>();
+
+    public String getHeader()
+    {
+        return header;
+    }
+
+    public void setHeader(final String header)
+    {
+        this.header = header;
+    }
+
+    public Duration getDefaultTimeout()
+    {
+        return defaultTimeout;
+    }
+
+    public void setDefaultTimeout(final Duration defaultTimeout)
+    {
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public Duration getMaxTimeout()
+    {
+        return maxTimeout;
+    }
+
+    public void setMaxTimeout(final Duration maxTimeout)
+    {
+        this.maxTimeout = maxTimeout;
+    }
+
+    public List<Endpoint> getEndpoints()
+    {
+        return endpoints;
+    }
+
+    public void setEndpoints(final List<Endpoint> endpoints)
+    {
+        this.endpoints = endpoints;
+    }
+
+    public static class Endpoint
+    {
+        // HTTP method, empty for any
+        private String method = "";
+        // Path pattern, e.g. /api/v1/accounts/{accountNumber}
+        private String path;
+        private Duration timeout;
+
+        public String getMethod()
+        {
+            return method;
+        }
+
+        public void setMethod(final String method)
+        {
+            this.method = method;
+        }
+
+        public String getPath()
+        {
+            return path;
+        }
+
+        public void setPath(final String path)
+        {
+            this.path = path;
+        }
+
+        public Duration getTimeout()
+        {
+            return timeout;
+        }
+
+        public void setTimeout(final Duration timeout)
+        {
+            this.timeout = timeout;
+        }
+    }
+}
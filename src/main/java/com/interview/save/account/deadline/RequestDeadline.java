@@ -0,0 +1,127 @@
+package com.interview.save.account.deadline;
+
+import com.interview.save.account.exception.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Holds the deadline of the current thread's request, set by {@link DeadlineFilter} for API requests.
+ * Read below the controller wherever work can be bounded or skipped: before and during SQL statements
+ * ({@link DeadlineDataSource}), around Redis cache calls and while waiting for a coalesced load. Without a deadline
+ * set (start-up, background jobs) nothing is bounded.
+ */
+public final class RequestDeadline
+{
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+    private static final LongAdder[] ABANDONED = new LongAdder[AbandonedWork.values().length];
+
+    static {
+        for (int i = 0; i < ABANDONED.length; i++) {
+            ABANDONED[i] = new LongAdder();
+        }
+    }
+
+    private RequestDeadline()
+    {
+    }
+
+    /**
+     * Runs the action with a deadline of {@code budget} from now; an outer, earlier deadline still applies.
+     *
+     * @param budget The time the action may take.
+     * @param action The work.
+     * @return The result of the action.
+     */
+    public static <T> T callWithin(final Duration budget, final Supplier<T> action)
+    {
+        final Long previous = DEADLINE.get();
+        final long deadline = System.nanoTime() + budget.toNanos();
+        DEADLINE.set(previous != null && previous - deadline < 0 ? previous : deadline);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                DEADLINE.remove();
+            } else {
+                DEADLINE.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Runs the action without a deadline, for work that must complete once started, such as the follow-up of a
+     * committed write that keeps caches and listeners consistent with it.
+     *
+     * @param action The work.
+     * @return The result of the action.
+     */
+    public static <T> T callWithoutDeadline(final Supplier<T> action)
+    {
+        final Long previous = DEADLINE.get();
+        DEADLINE.remove();
+        try {
+            return action.get();
+        } finally {
+            if (previous != null) {
+                DEADLINE.set(previous);
+            }
+        }
+    }
+
+    static void begin(final Duration budget)
+    {
+        DEADLINE.set(System.nanoTime() + budget.toNanos());
+    }
+
+    static void end()
+    {
+        DEADLINE.remove();
+    }
+
+    /**
+     * @return The time left until the deadline, negative once it has passed, or {@link Long#MAX_VALUE} without one.
+     */
+    public static long remainingNanos()
+    {
+        final Long deadline = DEADLINE.get();
+        return deadline == null ? Long.MAX_VALUE : deadline - System.nanoTime();
+    }
+
+    /**
+     * @return Whether the current thread has a deadline and it has passed.
+     */
+    public static boolean expired()
+    {
+        return remainingNanos() <= 0;
+    }
+
+    /**
+     * Counts work given up because of the deadline.
+     *
+     * @param work The kind of work.
+     */
+    public static void abandoned(final AbandonedWork work)
+    {
+        ABANDONED[work.ordinal()].increment();
+    }
+
+    /**
+     * @param work The kind of work.
+     * @return How often it was given up because of a deadline since start-up.
+     */
+    public static long abandonedCount(final AbandonedWork work)
+    {
+        return ABANDONED[work.ordinal()].sum();
+    }
+
+    /**
+     * @param what The work that could not be done in time, for the message.
+     * @return The exception to throw, answered with 504 (Gateway Timeout).
+     */
+    public static DeadlineExceededException exceeded(final String what)
+    {
+        return new DeadlineExceededException("The request deadline passed before " + what + ".");
+    }
+}
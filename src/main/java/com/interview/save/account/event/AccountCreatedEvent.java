@@ -0,0 +1,13 @@
+package com.interview.save.account.event;
+
+import com.interview.save.account.model.SavingsAccount;
+
+/**
+ * Published by {@code SavingsAccountService} for every account it creates.
+ * Listeners that keep derived state should use {@code @TransactionalEventListener}, so they only see committed accounts.
+ *
+ * @param account The created account.
+ */
+public record AccountCreatedEvent(SavingsAccount account)
+{
+}
@@ -0,0 +1,12 @@
+package com.interview.save.account.event;
+
+import com.interview.save.account.model.SavingsAccount;
+
+/**
+ * Published by {@code SavingsAccountService} for every account it deletes.
+ *
+ * @param account The account as it was before it was deleted.
+ */
+public record AccountDeletedEvent(SavingsAccount account)
+{
+}
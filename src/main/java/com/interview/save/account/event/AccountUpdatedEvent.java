@@ -0,0 +1,12 @@
+package com.interview.save.account.event;
+
+import com.interview.save.account.model.SavingsAccount;
+
+/**
+ * Published by {@code SavingsAccountService} for every account whose nickname it updates.
+ *
+ * @param account The account as it is after the update.
+ */
+public record AccountUpdatedEvent(SavingsAccount account)
+{
+}
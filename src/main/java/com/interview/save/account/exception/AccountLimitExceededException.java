@@ -8,6 +8,6 @@ public class AccountLimitExceededException extends RuntimeException
 {
     public AccountLimitExceededException(final String message)
     {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,14 @@
+package com.interview.save.account.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class AccountVersionConflictException extends RuntimeException
+{
+    public AccountVersionConflictException(final String message)
+    {
+        // A lost race is an expected outcome, the caller re-reads and retries
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,13 @@
+package com.interview.save.account.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.UNAUTHORIZED)
+public class AdminAccessDeniedException extends RuntimeException
+{
+    public AdminAccessDeniedException(final String message)
+    {
+        super(message, null, false, false);
+    }
+}
@@ -1,17 +1,15 @@
 package com.interview.save.account.exception;
 
+import com.interview.save.account.model.ErrorResponse;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
-import org.springframework.context.support.DefaultMessageSourceResolvable;
+import org.springframework.validation.ObjectError;
 
-import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @ControllerAdvice
 public class GlobalExceptionHandler
@@ -24,19 +22,14 @@ public class GlobalExceptionHandler
      * @return ResponseEntity with error details and HTTP status 400 (Bad Request).
      */
     @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Object> handleValidationExceptions(final MethodArgumentNotValidException ex)
+    public ResponseEntity<ErrorResponse> handleValidationExceptions(final MethodArgumentNotValidException ex)
     {
-        final List<String> errors = ex.getBindingResult()
-            .getAllErrors()
-            .stream()
-            .map(DefaultMessageSourceResolvable::getDefaultMessage)
-            .collect(Collectors.toList());
-
-        final Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.BAD_REQUEST.value());
-        body.put("error", "Validation Failed");
-        body.put("messages", errors);
+        final List<ObjectError> allErrors = ex.getBindingResult().getAllErrors();
+        final List<String> errors = new ArrayList<>(allErrors.size());
+        for (ObjectError error : allErrors) {
+            errors.add(error.getDefaultMessage());
+        }
+        final ErrorResponse body = ErrorResponse.of(HttpStatus.BAD_REQUEST.value(), "Validation Failed", errors);
 
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
@@ -48,13 +41,9 @@ public class GlobalExceptionHandler
      * @return ResponseEntity with error details and HTTP status 404 (Not Found).
      */
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<Object> handleResourceNotFoundException(final ResourceNotFoundException ex)
+    public ResponseEntity<ErrorResponse> handleResourceNotFoundException(final ResourceNotFoundException ex)
     {
-        final Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.NOT_FOUND.value());
-        body.put("error", "Not Found");
-        body.put("message", ex.getMessage());
+        final ErrorResponse body = ErrorResponse.of(HttpStatus.NOT_FOUND.value(), "Not Found", ex.getMessage());
 
         return new ResponseEntity<>(body, HttpStatus.NOT_FOUND);
     }
@@ -66,13 +55,9 @@ public class GlobalExceptionHandler
      * @return ResponseEntity with error details and HTTP status 400 (Bad Request).
      */
     @ExceptionHandler(AccountLimitExceededException.class)
-    public ResponseEntity<Object> handleAccountLimitExceededException(final AccountLimitExceededException ex)
+    public ResponseEntity<ErrorResponse> handleAccountLimitExceededException(final AccountLimitExceededException ex)
     {
-        final Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.BAD_REQUEST.value());
-        body.put("error", "Bad Request");
-        body.put("message", ex.getMessage());
+        final ErrorResponse body = ErrorResponse.of(HttpStatus.BAD_REQUEST.value(), "Bad Request", ex.getMessage());
 
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
@@ -84,17 +69,27 @@ public class GlobalExceptionHandler
      * @return ResponseEntity with error details and HTTP status 400 (Bad Request).
      */
     @ExceptionHandler(OffensiveNicknameException.class)
-    public ResponseEntity<Object> handleOffensiveNicknameException(final OffensiveNicknameException ex)
+    public ResponseEntity<ErrorResponse> handleOffensiveNicknameException(final OffensiveNicknameException ex)
     {
-        final Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.BAD_REQUEST.value());
-        body.put("error", "Bad Request");
-        body.put("message", ex.getMessage());
+        final ErrorResponse body = ErrorResponse.of(HttpStatus.BAD_REQUEST.value(), "Bad Request", ex.getMessage());
 
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handles custom AccountVersionConflictException, raised when an update carries an outdated version.
+     *
+     * @param ex The AccountVersionConflictException.
+     * @return ResponseEntity with error details and HTTP status 409 (Conflict).
+     */
+    @ExceptionHandler(AccountVersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleAccountVersionConflictException(final AccountVersionConflictException ex)
+    {
+        final ErrorResponse body = ErrorResponse.of(HttpStatus.CONFLICT.value(), "Conflict", ex.getMessage());
+
+        return new ResponseEntity<>(body, HttpStatus.CONFLICT);
+    }
+
     /**
      * Handles custom DatabaseOperationException.
      *
@@ -102,18 +97,56 @@ public class GlobalExceptionHandler
      * @return ResponseEntity with error details and HTTP status 500 (Internal Server Error).
      */
     @ExceptionHandler(DatabaseOperationException.class)
-    public ResponseEntity<Object> handleDatabaseOperationException(final DatabaseOperationException ex)
+    public ResponseEntity<ErrorResponse> handleDatabaseOperationException(final DatabaseOperationException ex)
     {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        body.put("error", "Database Error");
-        body.put("message", ex.getMessage());
+        final ErrorResponse body = ErrorResponse.of(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Database Error", ex.getMessage());
 
         // Optionally log the original cause: ex.getCause()
         return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    /**
+     * Handles custom LoadTimeoutException, raised when a coalesced load did not complete in time.
+     *
+     * @param ex The LoadTimeoutException.
+     * @return ResponseEntity with error details and HTTP status 503 (Service Unavailable).
+     */
+    @ExceptionHandler(LoadTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleLoadTimeoutException(final LoadTimeoutException ex)
+    {
+        final ErrorResponse body = ErrorResponse.of(HttpStatus.SERVICE_UNAVAILABLE.value(), "Service Unavailable", ex.getMessage());
+
+        return new ResponseEntity<>(body, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handles custom DeadlineExceededException, raised when the request deadline passed before the work was done.
+     *
+     * @param ex The DeadlineExceededException.
+     * @return ResponseEntity with error details and HTTP status 504 (Gateway Timeout).
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ErrorResponse> handleDeadlineExceededException(final DeadlineExceededException ex)
+    {
+        final ErrorResponse body = ErrorResponse.of(HttpStatus.GATEWAY_TIMEOUT.value(), "Gateway Timeout", ex.getMessage());
+
+        return new ResponseEntity<>(body, HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    /**
+     * Handles custom AdminAccessDeniedException, raised when an admin endpoint is called without a valid token.
+     *
+     * @param ex The AdminAccessDeniedException.
+     * @return ResponseEntity with error details and HTTP status 401 (Unauthorized).
+     */
+    @ExceptionHandler(AdminAccessDeniedException.class)
+    public ResponseEntity<ErrorResponse> handleAdminAccessDeniedException(final AdminAccessDeniedException ex)
+    {
+        final ErrorResponse body = ErrorResponse.of(HttpStatus.UNAUTHORIZED.value(), "Unauthorized", ex.getMessage());
+
+        return new ResponseEntity<>(body, HttpStatus.UNAUTHORIZED);
+    }
+
     /**
      * Handles general ValidationException for cases not covered by MethodArgumentNotValidException.
      *
@@ -121,13 +154,9 @@ public class GlobalExceptionHandler
      * @return ResponseEntity with error details and HTTP status 400 (Bad Request).
      */
     @ExceptionHandler(ValidationException.class)
-    public ResponseEntity<Object> handleCustomValidationException(final ValidationException ex)
+    public ResponseEntity<ErrorResponse> handleCustomValidationException(final ValidationException ex)
     {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.BAD_REQUEST.value());
-        body.put("error", "Validation Error");
-        body.put("message", ex.getMessage());
+        final ErrorResponse body = ErrorResponse.of(HttpStatus.BAD_REQUEST.value(), "Validation Error", ex.getMessage());
 
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
@@ -141,13 +170,9 @@ public class GlobalExceptionHandler
      * @return ResponseEntity with error details and HTTP status 500 (Internal Server Error).
      */
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Object> handleAllUncaughtException(final Exception ex)
+    public ResponseEntity<ErrorResponse> handleAllUncaughtException(final Exception ex)
     {
-        Map<String, Object> body = new HashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.INTERNAL_SERVER_ERROR.value());
-        body.put("error", "Internal Server Error");
-        body.put("message", "An unexpected error occurred: " + ex.getMessage()); // Provide a general message
+        final ErrorResponse body = ErrorResponse.of(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Internal Server Error", "An unexpected error occurred: " + ex.getMessage()); // Provide a general message
 
         // Log the exception for debugging purposes
         ex.printStackTrace();
@@ -8,6 +8,6 @@ public class OffensiveNicknameException extends RuntimeException
 {
     public OffensiveNicknameException(final String message)
     {
-        super(message);
+        super(message, null, false, false);
     }
 }
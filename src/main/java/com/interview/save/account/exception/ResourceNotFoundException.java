@@ -8,6 +8,7 @@ public class ResourceNotFoundException extends RuntimeException
 {
     public ResourceNotFoundException(final String message)
     {
-        super(message);
+        // Misses are an expected outcome (most of our 404s), so no stack trace is captured
+        super(message, null, false, false);
     }
 }
\ No newline at end of file
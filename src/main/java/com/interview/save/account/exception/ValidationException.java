@@ -6,6 +6,6 @@ public class ValidationException extends RuntimeException
 {
     public ValidationException(final String message)
     {
-        super(message);
+        super(message, null, false, false);
     }
 }
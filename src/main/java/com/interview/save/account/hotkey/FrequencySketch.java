@@ -0,0 +1,107 @@
+package com.interview.save.account.hotkey;
+
+/**
+ * Count-min sketch estimating how often keys were seen, in a fixed amount of memory.
+ * <p>
+ * Four rows of {@code width} counters; a key increments one counter per row and its estimate is the smallest of them,
+ * so estimates never undercount and only overcount by collisions. Conservative update (only the counters at the minimum
+ * are incremented) keeps that overcount small. After {@code 10 * width} additions every counter is halved, so the
+ * estimates follow recent traffic rather than all-time totals.
+ * <p>
+ * Not thread-safe: {@link HotKeyTracker} applies all updates under its drain lock.
+ */
+public class FrequencySketch
+{
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+    private final int[] table;
+    private final int width;
+    private final int shift;
+    private final long sampleSize;
+    private final int[] indexes = new int[DEPTH];
+    private long additions;
+    private long agings;
+
+    /**
+     * @param width The number of counters per row, a power of two; memory is {@code 16 * width} bytes.
+     */
+    public FrequencySketch(final int width)
+    {
+        if (width < 2 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("Sketch width must be a power of two: " + width);
+        }
+        this.table = new int[DEPTH * width];
+        this.width = width;
+        this.shift = 64 - Integer.numberOfTrailingZeros(width);
+        this.sampleSize = 10L * width;
+    }
+
+    /**
+     * Counts one occurrence of the key.
+     *
+     * @param key The key.
+     * @return The key's estimated count, including this occurrence.
+     */
+    public int increment(final Object key)
+    {
+        locate(key);
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            min = Math.min(min, table[indexes[i]]);
+        }
+        if (min < Integer.MAX_VALUE) {
+            for (int i = 0; i < DEPTH; i++) {
+                if (table[indexes[i]] == min) {
+                    table[indexes[i]]++;
+                }
+            }
+            min++;
+        }
+        if (++additions >= sampleSize) {
+            age();
+            min >>>= 1;
+        }
+        return min;
+    }
+
+    /**
+     * @param key The key.
+     * @return The key's estimated count.
+     */
+    public int estimate(final Object key)
+    {
+        locate(key);
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < DEPTH; i++) {
+            min = Math.min(min, table[indexes[i]]);
+        }
+        return min;
+    }
+
+    /**
+     * @return How many times the counters have been halved; callers keeping counts of their own halve them too.
+     */
+    public long agings()
+    {
+        return agings;
+    }
+
+    private void locate(final Object key)
+    {
+        // Spread the 32-bit hash over 64 bits, then take the top bits of a different product per row
+        final long hash = (key.hashCode() ^ 0x5BD1E995L) * 0xFF51AFD7ED558CCDL;
+        for (int i = 0; i < DEPTH; i++) {
+            indexes[i] = i * width + (int) (((hash ^ (hash >>> 29)) * SEEDS[i]) >>> shift);
+        }
+    }
+
+    private void age()
+    {
+        for (int i = 0; i < table.length; i++) {
+            table[i] >>>= 1;
+        }
+        additions >>>= 1;
+        agings++;
+    }
+}
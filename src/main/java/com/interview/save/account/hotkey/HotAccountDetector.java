@@ -0,0 +1,164 @@
+package com.interview.save.account.hotkey;
+
+import com.interview.save.account.event.AccountCreatedEvent;
+import com.interview.save.account.event.AccountDeletedEvent;
+import com.interview.save.account.event.AccountUpdatedEvent;
+import com.interview.save.account.model.AccountResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Detects the hottest account numbers with a {@link HotKeyTracker}, fed from the reads of
+ * GET /api/v1/accounts/{accountNumber} and from the create, update and delete events.
+ * <p>
+ * Optionally, hot accounts are pinned in a small in-process tier in front of the Redis cache for {@code pinning.ttl},
+ * so the hottest reads skip the network round trip. The tier holds at most K accounts and only hot ones; updates and
+ * deletes of this instance invalidate it, while writes of other instances are only picked up after the TTL.
+ * <p>
+ * Metrics: {@code accounts.hot-keys.tracked}, {@code accounts.hot-keys.top-share} (share of recent reads going to
+ * the tracked accounts), {@code accounts.hot-keys.dropped} (samples skipped under contention),
+ * {@code accounts.hot-keys.pinned} and {@code accounts.hot-keys.pinned.hits}.
+ */
+@Component
+@ConditionalOnProperty(name = "accounts.hot-keys.enabled", havingValue = "true", matchIfMissing = true)
+public class HotAccountDetector
+{
+    private final HotKeyTracker tracker;
+    private final int capacity;
+    private final boolean pinningEnabled;
+    private final long pinningTtlNanos;
+    private final Map<String, PinnedAccount> pinned = new ConcurrentHashMap<>();
+    // Incremented by every write, so a pin racing with a write can tell that its response may be stale
+    private final AtomicLong writeGeneration = new AtomicLong();
+    private final LongAdder pinnedHits = new LongAdder();
+
+    public HotAccountDetector(@Value("${accounts.hot-keys.top-k:100}") final int capacity,
+                              @Value("${accounts.hot-keys.sketch-width:65536}") final int sketchWidth,
+                              @Value("${accounts.hot-keys.pinning.enabled:false}") final boolean pinningEnabled,
+                              @Value("${accounts.hot-keys.pinning.ttl:PT1M}") final Duration pinningTtl,
+                              final ObjectProvider<MeterRegistry> meterRegistry)
+    {
+        this.tracker = new HotKeyTracker(capacity, sketchWidth);
+        this.capacity = capacity;
+        this.pinningEnabled = pinningEnabled;
+        this.pinningTtlNanos = pinningTtl.toNanos();
+        final MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        Gauge.builder("accounts.hot-keys.tracked", tracker, HotKeyTracker::trackedKeys).register(registry);
+        Gauge.builder("accounts.hot-keys.top-share", tracker, HotKeyTracker::topShare).register(registry);
+        FunctionCounter.builder("accounts.hot-keys.dropped", tracker, HotKeyTracker::dropped).register(registry);
+        Gauge.builder("accounts.hot-keys.pinned", pinned, Map::size).register(registry);
+        FunctionCounter.builder("accounts.hot-keys.pinned.hits", pinnedHits, LongAdder::sum).register(registry);
+    }
+
+    /**
+     * Records one access to the account number.
+     *
+     * @param accountNumber The account number.
+     */
+    public void record(final String accountNumber)
+    {
+        tracker.record(accountNumber);
+    }
+
+    /**
+     * @param limit The maximum number of accounts to return.
+     * @return The hottest account numbers with their estimated recent accesses, hottest first.
+     */
+    public List<HotKey> hottest(final int limit)
+    {
+        return tracker.hottest(limit);
+    }
+
+    /**
+     * @param accountNumber The account number.
+     * @return The pinned account, or null if pinning is disabled, or it is not pinned, expired or no longer hot.
+     */
+    public AccountResponse pinned(final String accountNumber)
+    {
+        if (!pinningEnabled) {
+            return null;
+        }
+        final PinnedAccount entry = pinned.get(accountNumber);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAt() > 0 || !tracker.isHot(accountNumber)) {
+            pinned.remove(accountNumber, entry);
+            return null;
+        }
+        pinnedHits.increment();
+        return entry.account();
+    }
+
+    /**
+     * @return The write generation to pass to {@link #pin(AccountResponse, long)}, read before loading the account.
+     */
+    public long writeGeneration()
+    {
+        return writeGeneration.get();
+    }
+
+    /**
+     * Pins the account if pinning is enabled and it is hot.
+     *
+     * @param account    The account, as loaded.
+     * @param generation The {@link #writeGeneration()} read before loading it; if a write happened since, it is not
+     *                   pinned.
+     */
+    public void pin(final AccountResponse account, final long generation)
+    {
+        final String accountNumber = account.getAccountNumber();
+        if (!pinningEnabled || !tracker.isHot(accountNumber) || pinned.size() >= capacity && !pinned.containsKey(accountNumber)) {
+            return;
+        }
+        final PinnedAccount entry = new PinnedAccount(account, System.nanoTime() + pinningTtlNanos);
+        pinned.put(accountNumber, entry);
+        // Writes bump the generation before unpinning, so either they remove this entry or it is removed here
+        if (writeGeneration.get() != generation) {
+            pinned.remove(accountNumber, entry);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountCreated(final AccountCreatedEvent event)
+    {
+        tracker.record(event.account().getAccountNumber());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountUpdated(final AccountUpdatedEvent event)
+    {
+        unpin(event.account().getAccountNumber());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountDeleted(final AccountDeletedEvent event)
+    {
+        unpin(event.account().getAccountNumber());
+    }
+
+    private void unpin(final String accountNumber)
+    {
+        tracker.record(accountNumber);
+        writeGeneration.incrementAndGet();
+        pinned.remove(accountNumber);
+    }
+
+    private record PinnedAccount(AccountResponse account, long expiresAt)
+    {
+    }
+}
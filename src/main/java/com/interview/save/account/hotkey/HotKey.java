@@ -0,0 +1,11 @@
+package com.interview.save.account.hotkey;
+
+/**
+ * A key tracked by {@link HotKeyTracker}.
+ *
+ * @param key            The key.
+ * @param estimatedCount Its estimated number of recent occurrences; halved periodically, so relative rather than total.
+ */
+public record HotKey(String key, long estimatedCount)
+{
+}
@@ -0,0 +1,280 @@
+package com.interview.save.account.hotkey;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Streaming top-K of the most frequent keys, in memory that does not grow with the number of distinct keys.
+ * <p>
+ * Recording a key only appends it to one of several small striped ring buffers (picked by thread, one CAS); a full
+ * buffer or a lost CAS drops the sample, which is counted. Whichever caller finds a buffer half full drains all
+ * buffers under a try-lock into a {@link FrequencySketch} and a min-heap of the K keys with the highest estimates.
+ * Callers never wait for the drain, so the cost per record stays at a few nanoseconds even under contention on a
+ * single hot key. Memory is the sketch, the buffers and K heap entries.
+ */
+public class HotKeyTracker
+{
+    private static final int BUFFER_SIZE = 64;
+    private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+
+    private final Stripe[] stripes;
+    private final ReentrantLock drainLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final LongAdder dropped = new LongAdder();
+
+    // Min-heap by estimated count, guarded by drainLock
+    private final int capacity;
+    private final String[] heapKeys;
+    private final int[] heapCounts;
+    private final Map<String, Integer> heapPositions;
+    private int heapSize;
+    private long sampled;
+    private long agings;
+    private boolean membershipChanged;
+
+    // Published after every drain, for lock-free readers
+    private volatile Set<String> hotKeys = Set.of();
+    private volatile double topShare;
+
+    /**
+     * @param capacity    The number of hottest keys kept (K).
+     * @param sketchWidth The counters per row of the frequency sketch, a power of two.
+     */
+    public HotKeyTracker(final int capacity, final int sketchWidth)
+    {
+        this.capacity = capacity;
+        this.heapKeys = new String[capacity];
+        this.heapCounts = new int[capacity];
+        this.heapPositions = new HashMap<>(2 * capacity);
+        this.sketch = new FrequencySketch(sketchWidth);
+        final int processors = Runtime.getRuntime().availableProcessors();
+        this.stripes = new Stripe[4 * Integer.highestOneBit(processors) << (Integer.bitCount(processors) == 1 ? 0 : 1)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * Records one occurrence of the key.
+     *
+     * @param key The key.
+     */
+    public void record(final String key)
+    {
+        final long threadHash = Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L;
+        final Stripe stripe = stripes[(int) (threadHash >>> 32) & (stripes.length - 1)];
+        final int buffered = stripe.offer(key);
+        if (buffered < 0) {
+            dropped.increment();
+            tryDrain();
+        } else if (buffered >= BUFFER_SIZE / 2) {
+            tryDrain();
+        }
+    }
+
+    /**
+     * @param key The key.
+     * @return Whether the key was among the K hottest at the last drain.
+     */
+    public boolean isHot(final String key)
+    {
+        return hotKeys.contains(key);
+    }
+
+    /**
+     * Drains the buffers and returns the hottest keys.
+     *
+     * @param limit The maximum number of keys to return.
+     * @return The hottest keys with their estimated recent counts, hottest first.
+     */
+    public List<HotKey> hottest(final int limit)
+    {
+        final List<HotKey> hottest;
+        drainLock.lock();
+        try {
+            drain();
+            hottest = new ArrayList<>(heapSize);
+            for (int i = 0; i < heapSize; i++) {
+                hottest.add(new HotKey(heapKeys[i], heapCounts[i]));
+            }
+        } finally {
+            drainLock.unlock();
+        }
+        hottest.sort(Comparator.comparingLong(HotKey::estimatedCount).reversed());
+        return hottest.size() > limit ? List.copyOf(hottest.subList(0, limit)) : hottest;
+    }
+
+    /**
+     * @return The number of keys currently tracked as hottest, at most K.
+     */
+    public int trackedKeys()
+    {
+        return hotKeys.size();
+    }
+
+    /**
+     * @return The estimated share of recent occurrences that went to the tracked keys, between 0 and 1.
+     */
+    public double topShare()
+    {
+        return topShare;
+    }
+
+    /**
+     * @return The number of samples dropped because a buffer was full or contended.
+     */
+    public long dropped()
+    {
+        return dropped.sum();
+    }
+
+    /**
+     * Applies the buffered samples, unless another caller is already doing so.
+     */
+    public void tryDrain()
+    {
+        if (drainLock.tryLock()) {
+            try {
+                drain();
+            } finally {
+                drainLock.unlock();
+            }
+        }
+    }
+
+    private void drain()
+    {
+        for (Stripe stripe : stripes) {
+            stripe.drainTo(this);
+        }
+        long tracked = 0;
+        for (int i = 0; i < heapSize; i++) {
+            tracked += heapCounts[i];
+        }
+        topShare = sampled == 0 ? 0 : Math.min(1, (double) tracked / sampled);
+        if (membershipChanged) {
+            membershipChanged = false;
+            hotKeys = Set.copyOf(heapPositions.keySet());
+        }
+    }
+
+    private void apply(final String key)
+    {
+        final int estimate = sketch.increment(key);
+        sampled++;
+        if (sketch.agings() != agings) {
+            // Halving keeps the heap order
+            agings = sketch.agings();
+            sampled >>>= 1;
+            for (int i = 0; i < heapSize; i++) {
+                heapCounts[i] >>>= 1;
+            }
+        }
+        final Integer position = heapPositions.get(key);
+        if (position != null) {
+            heapCounts[position] = estimate;
+            siftDown(siftUp(position));
+        } else if (heapSize < capacity) {
+            heapKeys[heapSize] = key;
+            heapCounts[heapSize] = estimate;
+            heapPositions.put(key, heapSize);
+            siftUp(heapSize++);
+            membershipChanged = true;
+        } else if (estimate > heapCounts[0]) {
+            heapPositions.remove(heapKeys[0]);
+            heapKeys[0] = key;
+            heapCounts[0] = estimate;
+            heapPositions.put(key, 0);
+            siftDown(0);
+            membershipChanged = true;
+        }
+    }
+
+    private int siftUp(int position)
+    {
+        while (position > 0) {
+            final int parent = (position - 1) >>> 1;
+            if (heapCounts[parent] <= heapCounts[position]) {
+                break;
+            }
+            swap(position, parent);
+            position = parent;
+        }
+        return position;
+    }
+
+    private void siftDown(int position)
+    {
+        while (true) {
+            final int left = 2 * position + 1;
+            if (left >= heapSize) {
+                return;
+            }
+            final int right = left + 1;
+            final int smallest = right < heapSize && heapCounts[right] < heapCounts[left] ? right : left;
+            if (heapCounts[position] <= heapCounts[smallest]) {
+                return;
+            }
+            swap(position, smallest);
+            position = smallest;
+        }
+    }
+
+    private void swap(final int a, final int b)
+    {
+        final String key = heapKeys[a];
+        final int count = heapCounts[a];
+        heapKeys[a] = heapKeys[b];
+        heapCounts[a] = heapCounts[b];
+        heapKeys[b] = key;
+        heapCounts[b] = count;
+        heapPositions.put(heapKeys[a], a);
+        heapPositions.put(heapKeys[b], b);
+    }
+
+    /**
+     * One ring buffer: many producers claim slots with a CAS, the drain (under the drain lock) is the only consumer.
+     */
+    private static final class Stripe
+    {
+        private final AtomicReferenceArray<String> buffer = new AtomicReferenceArray<>(BUFFER_SIZE);
+        private final AtomicLong writes = new AtomicLong();
+        private volatile long reads;
+
+        // Returns the number of buffered samples including this one, or -1 if it was dropped
+        int offer(final String key)
+        {
+            final long write = writes.get();
+            final long buffered = write - reads;
+            if (buffered >= BUFFER_SIZE || !writes.compareAndSet(write, write + 1)) {
+                return -1;
+            }
+            buffer.lazySet((int) (write & BUFFER_MASK), key);
+            return (int) buffered + 1;
+        }
+
+        void drainTo(final HotKeyTracker tracker)
+        {
+            long read = reads;
+            final long write = writes.get();
+            for (; read < write; read++) {
+                final int index = (int) (read & BUFFER_MASK);
+                final String key = buffer.get(index);
+                if (key == null) {
+                    break; // Claimed but not yet published; picked up by the next drain
+                }
+                buffer.lazySet(index, null);
+                tracker.apply(key);
+            }
+            reads = read;
+        }
+    }
+}
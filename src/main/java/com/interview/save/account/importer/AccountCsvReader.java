@@ -0,0 +1,184 @@
+package com.interview.save.account.importer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streaming reader of account CSV files ({@code customerName,accountNickname}, UTF-8, RFC 4180 quoting).
+ * <p>
+ * The file is read through a fixed-size direct buffer and parsed byte by byte; only the field values are decoded
+ * into strings, never whole lines. Field values longer than the configured maximum are cut off and reported as an
+ * error, so memory stays constant whatever the file contains.
+ */
+public class AccountCsvReader implements AutoCloseable
+{
+    private static final int FIELDS = 2;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private final int maxFieldBytes;
+    private final byte[][] fieldBytes = new byte[FIELDS][];
+    private final int[] fieldLengths = new int[FIELDS];
+    private int pushedBack = -1;
+    private long lineNumber = 1;
+    private boolean headerChecked;
+
+    /**
+     * @param file          The CSV file; a first line {@code customerName,accountNickname} is skipped as header.
+     * @param bufferSize    The size of the read buffer in bytes.
+     * @param maxFieldBytes The longest field value accepted, in bytes.
+     * @throws IOException if the file cannot be opened.
+     */
+    public AccountCsvReader(final Path file, final int bufferSize, final int maxFieldBytes) throws IOException
+    {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocateDirect(bufferSize).flip();
+        this.maxFieldBytes = maxFieldBytes;
+        for (int i = 0; i < FIELDS; i++) {
+            fieldBytes[i] = new byte[maxFieldBytes];
+        }
+    }
+
+    /**
+     * Reads the next record. Blank lines are skipped.
+     *
+     * @return The next row, possibly carrying a format error, or null at the end of the file.
+     * @throws IOException if the file cannot be read.
+     */
+    public ImportRow next() throws IOException
+    {
+        while (true) {
+            final long recordLine = lineNumber;
+            int fieldCount = 0;
+            boolean inQuotes = false;
+            boolean fieldQuoted = false;
+            boolean tooLong = false;
+            boolean empty = true;
+            fieldLengths[0] = 0;
+            while (true) {
+                final int b = read();
+                if (b < 0) {
+                    if (empty) {
+                        return null;
+                    }
+                    if (inQuotes) {
+                        return ImportRow.invalid(recordLine, "Unterminated quoted field");
+                    }
+                    break;
+                }
+                empty = false;
+                if (inQuotes) {
+                    if (b == '"') {
+                        final int following = read();
+                        if (following == '"') {
+                            tooLong |= !append(fieldCount, '"');
+                        } else {
+                            inQuotes = false;
+                            unread(following);
+                        }
+                    } else {
+                        if (b == '\n') {
+                            lineNumber++;
+                        }
+                        tooLong |= !append(fieldCount, b);
+                    }
+                } else if (b == '"' && !fieldQuoted && fieldCount < FIELDS && fieldLengths[fieldCount] == 0) {
+                    inQuotes = true;
+                    fieldQuoted = true;
+                } else if (b == ',') {
+                    fieldCount++;
+                    fieldQuoted = false;
+                    if (fieldCount < FIELDS) {
+                        fieldLengths[fieldCount] = 0;
+                    }
+                } else if (b == '\n') {
+                    lineNumber++;
+                    break;
+                } else if (b != '\r') {
+                    tooLong |= !append(fieldCount, b);
+                }
+            }
+            fieldCount++;
+
+            if (fieldCount == 1 && fieldLengths[0] == 0 && !fieldQuoted) {
+                continue; // Blank line
+            }
+            if (!headerChecked) {
+                headerChecked = true;
+                if (fieldCount == FIELDS && "customerName".equalsIgnoreCase(decode(0))
+                    && "accountNickname".equalsIgnoreCase(decode(1))) {
+                    continue;
+                }
+            }
+            if (fieldCount != FIELDS) {
+                return ImportRow.invalid(recordLine, "Expected " + FIELDS + " fields but found " + fieldCount);
+            }
+            if (tooLong) {
+                return ImportRow.invalid(recordLine, "Field longer than " + maxFieldBytes + " bytes");
+            }
+            final String nickname = decode(1);
+            return new ImportRow(recordLine, decode(0), nickname.isEmpty() ? null : nickname, null);
+        }
+    }
+
+    /**
+     * @return The number of the line the reader has reached.
+     */
+    public long lineNumber()
+    {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        channel.close();
+    }
+
+    private boolean append(final int field, final int b)
+    {
+        if (field >= FIELDS) {
+            return true; // Surplus fields are only counted
+        }
+        if (fieldLengths[field] == maxFieldBytes) {
+            return false;
+        }
+        fieldBytes[field][fieldLengths[field]++] = (byte) b;
+        return true;
+    }
+
+    private String decode(final int field)
+    {
+        return new String(fieldBytes[field], 0, fieldLengths[field], StandardCharsets.UTF_8);
+    }
+
+    private int read() throws IOException
+    {
+        if (pushedBack >= 0) {
+            final int b = pushedBack;
+            pushedBack = -1;
+            return b;
+        }
+        if (!buffer.hasRemaining()) {
+            buffer.clear();
+            int read;
+            do {
+                read = channel.read(buffer);
+            } while (read == 0);
+            buffer.flip();
+            if (read < 0) {
+                return -1;
+            }
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    private void unread(final int b)
+    {
+        pushedBack = b;
+    }
+}
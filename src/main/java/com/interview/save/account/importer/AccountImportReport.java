@@ -0,0 +1,19 @@
+package com.interview.save.account.importer;
+
+import java.time.Duration;
+
+/**
+ * The result of an account import.
+ *
+ * @param rows     The number of records read.
+ * @param imported The number of accounts created.
+ * @param rejected The number of records written to the error file.
+ * @param elapsed  The time the import took.
+ */
+public record AccountImportReport(long rows, long imported, long rejected, Duration elapsed)
+{
+    public double rowsPerSecond()
+    {
+        return elapsed.isZero() ? rows : rows / (elapsed.toNanos() / 1e9);
+    }
+}
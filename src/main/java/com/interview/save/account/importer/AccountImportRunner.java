@@ -0,0 +1,53 @@
+package com.interview.save.account.importer;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Runs an account import as a command:
+ * {@code java -jar save-account.jar --accounts.import.file=accounts.csv --spring.main.web-application-type=none}.
+ * Rejected rows are written to {@code accounts.import.error-file} (default: the import file with
+ * {@code .errors.csv} appended). Unless {@code accounts.import.exit} is false, the application exits afterwards,
+ * with exit code 1 if any row was rejected.
+ */
+@Component
+@ConditionalOnProperty(name = "accounts.import.file")
+public class AccountImportRunner implements ApplicationRunner
+{
+    private final AccountImporter importer;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+    private final Path errorFile;
+    private final boolean exit;
+
+    public AccountImportRunner(final AccountImporter importer,
+                               final ConfigurableApplicationContext context,
+                               @Value("${accounts.import.file}") final String file,
+                               @Value("${accounts.import.error-file:}") final String errorFile,
+                               @Value("${accounts.import.exit:true}") final boolean exit)
+    {
+        this.importer = importer;
+        this.context = context;
+        this.file = Path.of(file);
+        this.errorFile = Path.of(errorFile.isBlank() ? file + ".errors.csv" : errorFile);
+        this.exit = exit;
+    }
+
+    @Override
+    public void run(final ApplicationArguments args) throws Exception
+    {
+        final AccountImportReport report = importer.importAccounts(file, errorFile);
+        if (exit) {
+            final ExitCodeGenerator exitCode = () -> report.rejected() == 0 ? 0 : 1;
+            System.exit(SpringApplication.exit(context, exitCode));
+        }
+    }
+}
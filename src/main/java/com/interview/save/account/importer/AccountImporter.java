@@ -0,0 +1,309 @@
+package com.interview.save.account.importer;
+
+import com.interview.save.account.model.SavingsAccountCreateRequest;
+import com.interview.save.account.service.AccountCreateOutcome;
+import com.interview.save.account.service.SavingsAccountService;
+import com.interview.save.account.shard.ShardRouter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk import of accounts from a CSV file, e.g. a migration from the legacy core banking system.
+ * <p>
+ * The file is streamed by {@link AccountCsvReader} on the calling thread, which hands batches of rows to a fixed
+ * number of workers. Rows are routed to workers by customer, so all rows of a customer are handled by one worker,
+ * in file order. A worker validates its rows with the same rules as the create endpoint and writes the valid ones with
+ * {@link SavingsAccountService#createAccounts(List)}: one batched insert per shard, which also applies the account
+ * limit counting both the existing accounts and the customer's earlier rows in the file. Rejected rows go to an error
+ * file with their reason.
+ * <p>
+ * Every worker has a small bounded queue and the reader blocks when it is full, so memory stays constant whatever
+ * the size of the file and reading never runs ahead of the database.
+ */
+@Component
+public class AccountImporter
+{
+    private static final Logger log = LoggerFactory.getLogger(AccountImporter.class);
+    private static final int QUEUED_BATCHES_PER_WORKER = 2;
+    private static final int MAX_FIELD_BYTES = 1024;
+    private static final long PROGRESS_INTERVAL = 1_000_000;
+    private static final List<ImportRow> END = List.of();
+
+    private final SavingsAccountService accountService;
+    private final ShardRouter shardRouter;
+    private final Validator validator;
+    private final int workers;
+    private final int batchSize;
+    private final int bufferSize;
+
+    public AccountImporter(final SavingsAccountService accountService,
+                           final ShardRouter shardRouter,
+                           final Validator validator,
+                           @Value("${accounts.import.workers:4}") final int workers,
+                           @Value("${accounts.import.batch-size:500}") final int batchSize,
+                           @Value("${accounts.import.buffer-size:1048576}") final int bufferSize)
+    {
+        this.accountService = accountService;
+        this.shardRouter = shardRouter;
+        this.validator = validator;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Imports the accounts of a CSV file.
+     *
+     * @param file      The CSV file with the columns {@code customerName,accountNickname}.
+     * @param errorFile The file the rejected rows are written to, with their line number and reason.
+     * @return The {@link AccountImportReport}.
+     * @throws IOException if the file cannot be read or the error file cannot be written.
+     * @throws InterruptedException if interrupted while waiting for the workers.
+     */
+    public AccountImportReport importAccounts(final Path file, final Path errorFile) throws IOException, InterruptedException
+    {
+        final long start = System.nanoTime();
+        long rows = 0;
+        try (AccountCsvReader reader = new AccountCsvReader(file, bufferSize, MAX_FIELD_BYTES);
+             ErrorWriter errors = new ErrorWriter(errorFile)) {
+            final List<ImportWorker> pool = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                final ImportWorker worker = new ImportWorker(errors, "account-import-" + i);
+                pool.add(worker);
+                worker.start();
+            }
+            final List<List<ImportRow>> pending = new ArrayList<>(workers);
+            for (int i = 0; i < workers; i++) {
+                pending.add(new ArrayList<>(batchSize));
+            }
+            try {
+                ImportRow row;
+                while ((row = reader.next()) != null) {
+                    rows++;
+                    if (row.error() != null) {
+                        errors.write(row, row.error());
+                    } else {
+                        final int worker = Math.floorMod(row.customerName().hashCode(), workers);
+                        pending.get(worker).add(row);
+                        if (pending.get(worker).size() == batchSize) {
+                            pool.get(worker).queue.put(pending.get(worker));
+                            pending.set(worker, new ArrayList<>(batchSize));
+                        }
+                    }
+                    if (rows % PROGRESS_INTERVAL == 0) {
+                        log.info("Account import: {} rows read, {} rows/s", rows,
+                            Math.round(rows / ((System.nanoTime() - start) / 1e9)));
+                    }
+                }
+                for (int i = 0; i < workers; i++) {
+                    if (!pending.get(i).isEmpty()) {
+                        pool.get(i).queue.put(pending.get(i));
+                    }
+                }
+            } finally {
+                // Also on failure, so that the workers finish what they were handed and the error file is complete
+                for (ImportWorker worker : pool) {
+                    worker.queue.put(END);
+                }
+                for (ImportWorker worker : pool) {
+                    worker.join();
+                }
+            }
+            long imported = 0;
+            for (ImportWorker worker : pool) {
+                imported += worker.imported.get();
+            }
+            final AccountImportReport report = new AccountImportReport(rows, imported, errors.written.get(),
+                Duration.ofNanos(System.nanoTime() - start));
+            log.info("Account import of {} finished: {} rows, {} imported, {} rejected (see {}), {} rows/s",
+                file, report.rows(), report.imported(), report.rejected(), errorFile, Math.round(report.rowsPerSecond()));
+            return report;
+        }
+    }
+
+    private class ImportWorker extends Thread
+    {
+        private final BlockingQueue<List<ImportRow>> queue = new ArrayBlockingQueue<>(QUEUED_BATCHES_PER_WORKER);
+        private final AtomicLong imported = new AtomicLong();
+        private final ErrorWriter errors;
+
+        ImportWorker(final ErrorWriter errors, final String name)
+        {
+            super(name);
+            this.errors = errors;
+        }
+
+        @Override
+        public void run()
+        {
+            try {
+                List<ImportRow> batch;
+                while ((batch = queue.take()) != END) {
+                    final Set<ImportRow> handled = Collections.newSetFromMap(new IdentityHashMap<>());
+                    try {
+                        importBatch(batch, handled);
+                    } catch (RuntimeException e) {
+                        // Keep draining the queue, otherwise the reader would block forever
+                        log.error("Account import batch of {} rows could not be processed", batch.size(), e);
+                        rejectUnhandled(batch, handled, e);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // Adds every row that was imported or rejected to handled
+        private void importBatch(final List<ImportRow> batch, final Set<ImportRow> handled)
+        {
+            final Map<Integer, List<ImportRow>> rowsPerShard = new LinkedHashMap<>();
+            for (ImportRow row : batch) {
+                final String error = validate(row);
+                if (error != null) {
+                    errors.write(row, error);
+                    handled.add(row);
+                } else {
+                    rowsPerShard.computeIfAbsent(shardRouter.shardForCustomer(row.customerName()),
+                        shard -> new ArrayList<>()).add(row);
+                }
+            }
+            for (List<ImportRow> rows : rowsPerShard.values()) {
+                final List<SavingsAccountCreateRequest> requests = new ArrayList<>(rows.size());
+                for (ImportRow row : rows) {
+                    requests.add(request(row));
+                }
+                final List<AccountCreateOutcome> outcomes;
+                try {
+                    outcomes = accountService.createAccounts(requests);
+                } catch (RuntimeException e) {
+                    log.warn("Account import batch of {} rows failed", rows.size(), e);
+                    for (ImportRow row : rows) {
+                        errors.write(row, e.getMessage());
+                        handled.add(row);
+                    }
+                    continue;
+                }
+                for (int i = 0; i < rows.size(); i++) {
+                    final AccountCreateOutcome outcome = outcomes.get(i);
+                    if (outcome.error() != null) {
+                        errors.write(rows.get(i), outcome.error().getMessage());
+                    } else {
+                        imported.incrementAndGet();
+                    }
+                    handled.add(rows.get(i));
+                }
+            }
+        }
+
+        // Every row is imported or rejected, so the report adds up and the exit code reflects the failure
+        private void rejectUnhandled(final List<ImportRow> batch, final Set<ImportRow> handled, final RuntimeException e)
+        {
+            final String reason = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            try {
+                for (ImportRow row : batch) {
+                    if (!handled.contains(row)) {
+                        errors.write(row, reason);
+                    }
+                }
+            } catch (RuntimeException writeFailure) {
+                log.error("Rows of the failed batch could not be written to the error file", writeFailure);
+            }
+        }
+    }
+
+    /**
+     * Applies the rules of {@link SavingsAccountCreateRequest} except the account limit, which the batched create
+     * applies across the file.
+     *
+     * @return The first violation, or null if the row is valid.
+     */
+    private String validate(final ImportRow row)
+    {
+        if (row.customerName().trim().isEmpty()) {
+            return "Customer name is mandatory";
+        }
+        final Set<ConstraintViolation<SavingsAccountCreateRequest>> violations =
+            validator.validateProperty(request(row), "accountNickname");
+        return violations.isEmpty() ? null : violations.iterator().next().getMessage();
+    }
+
+    private static SavingsAccountCreateRequest request(final ImportRow row)
+    {
+        final SavingsAccountCreateRequest request = new SavingsAccountCreateRequest();
+        request.setCustomerName(row.customerName());
+        request.setAccountNickname(row.accountNickname());
+        return request;
+    }
+
+    /**
+     * Writes rejected rows as CSV: line number, reason, customer name, nickname. Shared by the reader and the workers.
+     */
+    private static class ErrorWriter implements AutoCloseable
+    {
+        private final BufferedWriter writer;
+        private final AtomicLong written = new AtomicLong();
+
+        ErrorWriter(final Path file) throws IOException
+        {
+            final Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+            this.writer.write("line,reason,customerName,accountNickname\n");
+        }
+
+        synchronized void write(final ImportRow row, final String reason)
+        {
+            try {
+                writer.write(Long.toString(row.lineNumber()));
+                writer.write(',');
+                writeField(reason);
+                writer.write(',');
+                writeField(row.customerName());
+                writer.write(',');
+                writeField(row.accountNickname());
+                writer.write('\n');
+                written.incrementAndGet();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeField(final String value) throws IOException
+        {
+            if (value == null) {
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public synchronized void close() throws IOException
+        {
+            writer.close();
+        }
+    }
+}
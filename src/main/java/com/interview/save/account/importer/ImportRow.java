@@ -0,0 +1,17 @@
+package com.interview.save.account.importer;
+
+/**
+ * One record of an import file.
+ *
+ * @param lineNumber      The line the record starts on.
+ * @param customerName    The customer name, or {@code null} if the record could not be parsed.
+ * @param accountNickname The account nickname, or {@code null} if empty.
+ * @param error           The reason the record could not be parsed, or {@code null}.
+ */
+public record ImportRow(long lineNumber, String customerName, String accountNickname, String error)
+{
+    public static ImportRow invalid(final long lineNumber, final String error)
+    {
+        return new ImportRow(lineNumber, null, null, error);
+    }
+}
@@ -0,0 +1,31 @@
+package com.interview.save.account.logging;
+
+/**
+ * One API request.
+ *
+ * @param timestamp      When the request completed, in epoch milliseconds.
+ * @param thread         The name of the thread that served it, to correlate it with its {@link SqlLogEvent}s.
+ * @param method         The HTTP method.
+ * @param route          The matched route pattern rather than the URI, so no account number is logged.
+ * @param status         The response status.
+ * @param durationMicros The time spent in the filter chain.
+ */
+public record AccessLogEvent(long timestamp, String thread, String method, String route, int status, long durationMicros)
+    implements LogEvent
+{
+    @Override
+    public LogEventType type()
+    {
+        return LogEventType.ACCESS;
+    }
+
+    @Override
+    public void appendFields(final StringBuilder json)
+    {
+        JsonLines.appendString(json, "thread", thread);
+        JsonLines.appendString(json, "method", method);
+        JsonLines.appendString(json, "route", route);
+        JsonLines.appendNumber(json, "status", status);
+        JsonLines.appendNumber(json, "durationMicros", durationMicros);
+    }
+}
@@ -0,0 +1,55 @@
+package com.interview.save.account.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Logs an {@link AccessLogEvent} per sampled API request to the {@link AsyncLogPipeline}.
+ */
+@Component
+@ConditionalOnProperty(name = "accounts.logging.enabled", havingValue = "true", matchIfMissing = true)
+public class AccessLogFilter extends OncePerRequestFilter
+{
+    private static final String API_PREFIX = "/api/";
+
+    private final AsyncLogPipeline pipeline;
+
+    public AccessLogFilter(final AsyncLogPipeline pipeline)
+    {
+        this.pipeline = pipeline;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request)
+    {
+        return !request.getRequestURI().startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException
+    {
+        if (!pipeline.sampled(LogEventType.ACCESS)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            pipeline.log(new AccessLogEvent(System.currentTimeMillis(), Thread.currentThread().getName(),
+                request.getMethod(), pattern != null ? pattern.toString() : "unmatched", response.getStatus(),
+                (System.nanoTime() - start) / 1_000));
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.interview.save.account.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Structured access and SQL log, written off the request threads.
+ * <p>
+ * Request threads sample an event by its type's rate and offer it to a bounded {@link LogRingBuffer}; they never
+ * block or format anything, and when the buffer is full the event is dropped and counted. A single writer thread
+ * drains the buffer in batches, formats the events as JSON lines into one buffered {@link RollingLogFile} per type
+ * and flushes the files whenever the buffer runs empty, so a burst costs few writes.
+ * <p>
+ * Metrics: {@code accounts.log.events} by {@code type} and {@code outcome} (written, unsampled, dropped, failed)
+ * and {@code accounts.log.buffer.size}.
+ */
+@Component
+@ConditionalOnProperty(name = "accounts.logging.enabled", havingValue = "true", matchIfMissing = true)
+public class AsyncLogPipeline
+{
+    private static final Logger log = LoggerFactory.getLogger(AsyncLogPipeline.class);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final LogRingBuffer<LogEvent> buffer;
+    private final int batchSize;
+    private final Map<LogEventType, Double> sampleRates = new EnumMap<>(LogEventType.class);
+    private final Map<LogEventType, RollingLogFile> files = new EnumMap<>(LogEventType.class);
+    private final Map<LogEventType, Counters> counters = new EnumMap<>(LogEventType.class);
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AsyncLogPipeline(@Value("${accounts.logging.directory:./logs}") final String directory,
+                            @Value("${accounts.logging.buffer-size:8192}") final int bufferSize,
+                            @Value("${accounts.logging.batch-size:256}") final int batchSize,
+                            @Value("${accounts.logging.max-file-size:10MB}") final DataSize maxFileSize,
+                            @Value("${accounts.logging.max-files:5}") final int maxFiles,
+                            @Value("${accounts.logging.sample-rate.access:1.0}") final double accessSampleRate,
+                            @Value("${accounts.logging.sample-rate.sql:0.1}") final double sqlSampleRate,
+                            final ObjectProvider<MeterRegistry> meterRegistry)
+    {
+        this.buffer = new LogRingBuffer<>(bufferSize);
+        this.batchSize = batchSize;
+        sampleRates.put(LogEventType.ACCESS, accessSampleRate);
+        sampleRates.put(LogEventType.SQL, sqlSampleRate);
+        final MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        for (LogEventType type : LogEventType.values()) {
+            files.put(type, new RollingLogFile(Path.of(directory), type.fileName(), maxFileSize.toBytes(), maxFiles));
+            final Counters typeCounters = new Counters();
+            counters.put(type, typeCounters);
+            register(registry, type, "written", typeCounters.written);
+            register(registry, type, "unsampled", typeCounters.unsampled);
+            register(registry, type, "dropped", typeCounters.dropped);
+            register(registry, type, "failed", typeCounters.failed);
+        }
+        Gauge.builder("accounts.log.buffer.size", buffer, LogRingBuffer::size).register(registry);
+        this.writer = new Thread(this::writeLoop, "account-log-writer");
+        this.writer.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start()
+    {
+        writer.start();
+    }
+
+    /**
+     * Stops the writer once it has written the events already buffered; later events are dropped.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException
+    {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * @param type The event type.
+     * @return Whether an event of this type should be created; false for events left out by sampling.
+     */
+    public boolean sampled(final LogEventType type)
+    {
+        final double rate = sampleRates.get(type);
+        if (rate >= 1 || rate > 0 && ThreadLocalRandom.current().nextDouble() < rate) {
+            return true;
+        }
+        counters.get(type).unsampled.increment();
+        return false;
+    }
+
+    /**
+     * Hands a sampled event to the writer without blocking.
+     *
+     * @param event The event, created after {@link #sampled(LogEventType)} returned true.
+     */
+    public void log(final LogEvent event)
+    {
+        if (!running || !buffer.offer(event)) {
+            counters.get(event.type()).dropped.increment();
+        }
+    }
+
+    /**
+     * @param type The event type.
+     * @return The number of events of this type dropped because the buffer was full.
+     */
+    public long dropped(final LogEventType type)
+    {
+        return counters.get(type).dropped.sum();
+    }
+
+    /**
+     * @param type The event type.
+     * @return The number of events of this type written to its file.
+     */
+    public long written(final LogEventType type)
+    {
+        return counters.get(type).written.sum();
+    }
+
+    private void writeLoop()
+    {
+        final StringBuilder line = new StringBuilder(512);
+        while (true) {
+            // Read before draining, so nothing offered before stop() is left behind
+            final boolean stopping = !running;
+            int drained = 0;
+            LogEvent event;
+            while (drained < batchSize && (event = buffer.poll()) != null) {
+                line.setLength(0);
+                JsonLines.append(line, event);
+                write(event.type(), line);
+                drained++;
+            }
+            if (drained < batchSize) {
+                // Lines are buffered by the files until the buffer runs empty
+                flush();
+                if (stopping) {
+                    break;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        for (RollingLogFile file : files.values()) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                log.warn("Could not close log file: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void write(final LogEventType type, final CharSequence line)
+    {
+        try {
+            files.get(type).write(line);
+            counters.get(type).written.increment();
+        } catch (IOException e) {
+            counters.get(type).failed.increment();
+            log.warn("Could not write to the {} log: {}", type.fileName(), e.getMessage());
+        }
+    }
+
+    private void flush()
+    {
+        for (Map.Entry<LogEventType, RollingLogFile> file : files.entrySet()) {
+            try {
+                file.getValue().flush();
+            } catch (IOException e) {
+                log.warn("Could not flush the {} log: {}", file.getKey().fileName(), e.getMessage());
+            }
+        }
+    }
+
+    private static void register(final MeterRegistry registry, final LogEventType type, final String outcome,
+                                 final LongAdder counter)
+    {
+        FunctionCounter.builder("accounts.log.events", counter, LongAdder::sum)
+            .tag("type", type.fileName())
+            .tag("outcome", outcome)
+            .register(registry);
+    }
+
+    private static final class Counters
+    {
+        private final LongAdder written = new LongAdder();
+        private final LongAdder unsampled = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+    }
+}
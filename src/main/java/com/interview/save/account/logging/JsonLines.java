@@ -0,0 +1,56 @@
+package com.interview.save.account.logging;
+
+import java.time.Instant;
+
+/**
+ * Formats {@link LogEvent}s as one JSON object per line.
+ */
+final class JsonLines
+{
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private JsonLines()
+    {
+    }
+
+    static void append(final StringBuilder json, final LogEvent event)
+    {
+        json.append("{\"time\":\"").append(Instant.ofEpochMilli(event.timestamp())).append('"');
+        appendString(json, "type", event.type().fileName());
+        event.appendFields(json);
+        json.append("}\n");
+    }
+
+    static void appendNumber(final StringBuilder json, final String name, final long value)
+    {
+        json.append(",\"").append(name).append("\":").append(value);
+    }
+
+    static void appendString(final StringBuilder json, final String name, final String value)
+    {
+        json.append(",\"").append(name).append("\":");
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,22 @@
+package com.interview.save.account.logging;
+
+/**
+ * An event handed to the {@link AsyncLogPipeline}. Events only capture values on the request thread;
+ * formatting happens on the writer thread.
+ */
+public interface LogEvent
+{
+    LogEventType type();
+
+    /**
+     * @return The wall-clock time of the event, in epoch milliseconds.
+     */
+    long timestamp();
+
+    /**
+     * Appends the event-specific fields as JSON members, each preceded by a comma.
+     *
+     * @param json The line being written, positioned after the common fields.
+     */
+    void appendFields(StringBuilder json);
+}
@@ -0,0 +1,27 @@
+package com.interview.save.account.logging;
+
+/**
+ * The kinds of events written by the {@link AsyncLogPipeline}, each to its own file and with its own sample rate.
+ */
+public enum LogEventType
+{
+    /** One API request, see {@link AccessLogFilter}. */
+    ACCESS("access"),
+    /** One SQL statement prepared by Hibernate, see {@link SqlLogInspector}. */
+    SQL("sql");
+
+    private final String fileName;
+
+    LogEventType(final String fileName)
+    {
+        this.fileName = fileName;
+    }
+
+    /**
+     * @return The base name of the log file, also used as the metric tag.
+     */
+    public String fileName()
+    {
+        return fileName;
+    }
+}
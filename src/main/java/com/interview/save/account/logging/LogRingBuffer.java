@@ -0,0 +1,87 @@
+package com.interview.save.account.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue for many producers and a single consumer.
+ * <p>
+ * Each slot carries a sequence number telling whether it is free for the producer claiming position {@code p}
+ * (sequence {@code p}) or holds the element for the consumer reading position {@code p} (sequence {@code p + 1}).
+ * Producers claim positions with a CAS on the tail and never wait: when the consumer is a full lap behind,
+ * {@link #offer(Object)} fails at once.
+ *
+ * @param <E> The element type.
+ */
+final class LogRingBuffer<E>
+{
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // Only read and written by the consumer
+    private long head;
+
+    /**
+     * @param capacity The number of slots, rounded up to a power of two.
+     */
+    LogRingBuffer(final int capacity)
+    {
+        final int size = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * @param element The element to add.
+     * @return Whether it was added; false if the buffer is full.
+     */
+    boolean offer(final E element)
+    {
+        while (true) {
+            final long position = tail.get();
+            final int index = (int) (position & mask);
+            final long available = sequences.get(index) - position;
+            if (available < 0) {
+                return false;
+            }
+            if (available == 0 && tail.compareAndSet(position, position + 1)) {
+                elements.lazySet(index, element);
+                sequences.lazySet(index, position + 1);
+                return true;
+            }
+            // Another producer claimed this position first
+        }
+    }
+
+    /**
+     * Consumer only.
+     *
+     * @return The oldest element, or null if there is none (or its producer has not finished publishing it).
+     */
+    E poll()
+    {
+        final int index = (int) (head & mask);
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        final E element = elements.get(index);
+        elements.lazySet(index, null);
+        sequences.lazySet(index, head + mask + 1);
+        head++;
+        return element;
+    }
+
+    /**
+     * @return The approximate number of elements waiting.
+     */
+    int size()
+    {
+        return (int) Math.max(0, Math.min(mask + 1, tail.get() - head));
+    }
+}
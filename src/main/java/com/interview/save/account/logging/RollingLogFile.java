@@ -0,0 +1,87 @@
+package com.interview.save.account.logging;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends to {@code <name>.log} and, once it exceeds the maximum size, renames it to {@code <name>.log.1} (shifting
+ * older files up) and starts a new one. At most {@code maxFiles} files are kept. Sizes count characters, which is
+ * exact for the ASCII this pipeline mostly writes. Used by the writer thread only.
+ */
+final class RollingLogFile implements Closeable
+{
+    private final Path directory;
+    private final String fileName;
+    private final long maxSize;
+    private final int maxFiles;
+    private BufferedWriter writer;
+    private long size;
+
+    RollingLogFile(final Path directory, final String name, final long maxSize, final int maxFiles)
+    {
+        this.directory = directory;
+        this.fileName = name + ".log";
+        this.maxSize = maxSize;
+        this.maxFiles = Math.max(1, maxFiles);
+    }
+
+    void write(final CharSequence line) throws IOException
+    {
+        if (writer == null) {
+            open();
+        } else if (size > 0 && size + line.length() > maxSize) {
+            roll();
+        }
+        writer.append(line);
+        size += line.length();
+    }
+
+    void flush() throws IOException
+    {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private void open() throws IOException
+    {
+        Files.createDirectories(directory);
+        final Path file = directory.resolve(fileName);
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        size = Files.size(file);
+    }
+
+    private void roll() throws IOException
+    {
+        close();
+        Files.deleteIfExists(directory.resolve(fileName + "." + (maxFiles - 1)));
+        for (int i = maxFiles - 2; i >= 1; i--) {
+            final Path archived = directory.resolve(fileName + "." + i);
+            if (Files.exists(archived)) {
+                Files.move(archived, directory.resolve(fileName + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        final Path current = directory.resolve(fileName);
+        if (maxFiles > 1) {
+            Files.move(current, directory.resolve(fileName + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(current);
+        }
+        open();
+    }
+}
@@ -0,0 +1,24 @@
+package com.interview.save.account.logging;
+
+/**
+ * One SQL statement, with placeholders rather than bound values as {@code spring.jpa.show-sql} printed it.
+ *
+ * @param timestamp When the statement was prepared, in epoch milliseconds.
+ * @param thread    The name of the thread that prepared it, to correlate it with its {@link AccessLogEvent}.
+ * @param sql       The statement.
+ */
+public record SqlLogEvent(long timestamp, String thread, String sql) implements LogEvent
+{
+    @Override
+    public LogEventType type()
+    {
+        return LogEventType.SQL;
+    }
+
+    @Override
+    public void appendFields(final StringBuilder json)
+    {
+        JsonLines.appendString(json, "thread", thread);
+        JsonLines.appendString(json, "sql", sql);
+    }
+}
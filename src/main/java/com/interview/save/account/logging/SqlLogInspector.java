@@ -0,0 +1,40 @@
+package com.interview.save.account.logging;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Logs a {@link SqlLogEvent} per sampled statement Hibernate prepares to the {@link AsyncLogPipeline}, in place of
+ * {@code spring.jpa.show-sql}. Registered with Hibernate as its statement inspector; the statement is not changed.
+ */
+@Component
+@ConditionalOnProperty(name = "accounts.logging.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlLogInspector implements StatementInspector, HibernatePropertiesCustomizer
+{
+    private final AsyncLogPipeline pipeline;
+
+    public SqlLogInspector(final AsyncLogPipeline pipeline)
+    {
+        this.pipeline = pipeline;
+    }
+
+    @Override
+    public void customize(final Map<String, Object> hibernateProperties)
+    {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(final String sql)
+    {
+        if (pipeline.sampled(LogEventType.SQL)) {
+            pipeline.log(new SqlLogEvent(System.currentTimeMillis(), Thread.currentThread().getName(), sql));
+        }
+        return sql;
+    }
+}
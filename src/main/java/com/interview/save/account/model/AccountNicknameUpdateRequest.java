@@ -0,0 +1,47 @@
+package com.interview.save.account.model;
+
+import com.interview.save.account.validation.OffensiveNickname;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public class AccountNicknameUpdateRequest
+{
+    // Same rules as on creation; null removes the nickname
+    @Size(min = 5, max = 30, message = "Account nickname must be between 5 and 30 characters")
+    @OffensiveNickname
+    private String accountNickname;
+
+    // The version the caller last read; the update is rejected if the account has changed since
+    @NotNull(message = "Version is mandatory")
+    private Long version;
+
+    // Getters and Setters
+    public String getAccountNickname()
+    {
+        return accountNickname;
+    }
+
+    public void setAccountNickname(final String accountNickname)
+    {
+        this.accountNickname = accountNickname;
+    }
+
+    public Long getVersion()
+    {
+        return version;
+    }
+
+    public void setVersion(final Long version)
+    {
+        this.version = version;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "AccountNicknameUpdateRequest{" +
+            "accountNickname='" + accountNickname + '\'' +
+            ", version=" + version +
+            '}';
+    }
+}
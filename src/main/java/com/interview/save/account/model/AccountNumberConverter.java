@@ -0,0 +1,43 @@
+package com.interview.save.account.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Stores the 10-digit account number as a BIGINT while the entity and the REST contract keep it as a string.
+ * Only the canonical form, 10 digits with a non-zero leading digit, is converted; any other string (e.g. with a
+ * leading zero, which would otherwise parse to a real account's number) matches no account rather than failing the
+ * query.
+ */
+@Converter
+public class AccountNumberConverter implements AttributeConverter<String, Long>
+{
+    private static final long NO_ACCOUNT = -1;
+    private static final int ACCOUNT_NUMBER_LENGTH = 10;
+
+    @Override
+    public Long convertToDatabaseColumn(final String accountNumber)
+    {
+        if (accountNumber == null) {
+            return null;
+        }
+        if (accountNumber.length() != ACCOUNT_NUMBER_LENGTH || accountNumber.charAt(0) == '0') {
+            return NO_ACCOUNT;
+        }
+        long value = 0;
+        for (int i = 0; i < ACCOUNT_NUMBER_LENGTH; i++) {
+            final char digit = accountNumber.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return NO_ACCOUNT;
+            }
+            value = 10 * value + (digit - '0');
+        }
+        return value;
+    }
+
+    @Override
+    public String convertToEntityAttribute(final Long accountNumber)
+    {
+        return accountNumber == null ? null : Long.toString(accountNumber);
+    }
+}
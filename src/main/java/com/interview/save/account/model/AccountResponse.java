@@ -4,19 +4,23 @@ import java.io.Serializable;
 
 public class AccountResponse implements Serializable
 {
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 2L;
     private String id;
     private String accountNumber;
     private String customerName;
     private String accountNickname;
+    // Sent back with a nickname update, see AccountNicknameUpdateRequest
+    private long version;
 
     // Constructor to convert Account entity to AccountResponse DTO
-    public AccountResponse(final String id, final String accountNumber, final String customerName, final String accountNickname)
+    public AccountResponse(final String id, final String accountNumber, final String customerName, final String accountNickname,
+                           final long version)
     {
         this.id = id;
         this.accountNumber = accountNumber;
         this.customerName = customerName;
         this.accountNickname = accountNickname;
+        this.version = version;
     }
 
     // Getters and Setters
@@ -60,6 +64,16 @@ public class AccountResponse implements Serializable
         this.accountNickname = accountNickname;
     }
 
+    public long getVersion()
+    {
+        return version;
+    }
+
+    public void setVersion(final long version)
+    {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "AccountResponse{" +
@@ -67,6 +81,7 @@ public class AccountResponse implements Serializable
             ", accountNumber='" + accountNumber + '\'' +
             ", customerName='" + customerName + '\'' +
             ", accountNickname='" + accountNickname + '\'' +
+            ", version=" + version +
             '}';
     }
 }
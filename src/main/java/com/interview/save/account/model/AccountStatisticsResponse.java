@@ -0,0 +1,79 @@
+package com.interview.save.account.model;
+
+import java.time.Instant;
+import java.util.Map;
+
+public class AccountStatisticsResponse
+{
+    private final long totalAccounts;
+    private final long totalCustomers;
+    private final double averageAccountsPerCustomer;
+    // Number of customers holding 1, 2, ... accounts
+    private final Map<Integer, Long> customersByAccountCount;
+    private final long customersNearLimit;
+    private final long customersAtLimit;
+    private final Instant lastReconciledAt;
+
+    public AccountStatisticsResponse(final long totalAccounts, final long totalCustomers,
+                                     final Map<Integer, Long> customersByAccountCount,
+                                     final long customersNearLimit, final long customersAtLimit,
+                                     final Instant lastReconciledAt)
+    {
+        this.totalAccounts = totalAccounts;
+        this.totalCustomers = totalCustomers;
+        this.averageAccountsPerCustomer = totalCustomers == 0 ? 0 : (double) totalAccounts / totalCustomers;
+        this.customersByAccountCount = customersByAccountCount;
+        this.customersNearLimit = customersNearLimit;
+        this.customersAtLimit = customersAtLimit;
+        this.lastReconciledAt = lastReconciledAt;
+    }
+
+    // Getters
+    public long getTotalAccounts()
+    {
+        return totalAccounts;
+    }
+
+    public long getTotalCustomers()
+    {
+        return totalCustomers;
+    }
+
+    public double getAverageAccountsPerCustomer()
+    {
+        return averageAccountsPerCustomer;
+    }
+
+    public Map<Integer, Long> getCustomersByAccountCount()
+    {
+        return customersByAccountCount;
+    }
+
+    public long getCustomersNearLimit()
+    {
+        return customersNearLimit;
+    }
+
+    public long getCustomersAtLimit()
+    {
+        return customersAtLimit;
+    }
+
+    public Instant getLastReconciledAt()
+    {
+        return lastReconciledAt;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "AccountStatisticsResponse{" +
+            "totalAccounts=" + totalAccounts +
+            ", totalCustomers=" + totalCustomers +
+            ", customersByAccountCount=" + customersByAccountCount +
+            ", customersNearLimit=" + customersNearLimit +
+            ", customersAtLimit=" + customersAtLimit +
+            ", lastReconciledAt=" + lastReconciledAt +
+            '}';
+    }
+}
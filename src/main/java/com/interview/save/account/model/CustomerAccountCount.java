@@ -0,0 +1,11 @@
+package com.interview.save.account.model;
+
+/**
+ * Projection of the number of accounts held by one customer.
+ */
+public interface CustomerAccountCount
+{
+    String getCustomerName();
+
+    long getAccountCount();
+}
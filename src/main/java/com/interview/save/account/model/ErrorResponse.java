@@ -0,0 +1,104 @@
+package com.interview.save.account.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Error body returned by {@code GlobalExceptionHandler}.
+ * Serialized directly by Jackson instead of going through an intermediate map; absent fields are omitted,
+ * so the JSON is the same as before ({@code message} for single errors, {@code messages} for validation errors).
+ * The timestamp keeps its ISO local date-time format, at millisecond precision; errors within the same millisecond
+ * share one formatted value, so a response allocates no date-time object.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"timestamp", "status", "error", "message", "messages"})
+public class ErrorResponse
+{
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    private static volatile Timestamp lastTimestamp = new Timestamp(Long.MIN_VALUE, null);
+
+    private final String timestamp;
+    private final int status;
+    private final String error;
+    private final String message;
+    private final List<String> messages;
+
+    private ErrorResponse(final int status, final String error, final String message, final List<String> messages)
+    {
+        this.timestamp = timestamp();
+        this.status = status;
+        this.error = error;
+        this.message = message;
+        this.messages = messages;
+    }
+
+    public static ErrorResponse of(final int status, final String error, final String message)
+    {
+        return new ErrorResponse(status, error, message, null);
+    }
+
+    public static ErrorResponse of(final int status, final String error, final List<String> messages)
+    {
+        return new ErrorResponse(status, error, null, messages);
+    }
+
+    private static String timestamp()
+    {
+        final long now = System.currentTimeMillis();
+        final Timestamp last = lastTimestamp;
+        if (last.millis() == now) {
+            return last.formatted();
+        }
+        final String formatted = LocalDateTime.ofInstant(Instant.ofEpochMilli(now), ZONE).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+        lastTimestamp = new Timestamp(now, formatted);
+        return formatted;
+    }
+
+    // Getters
+    public String getTimestamp()
+    {
+        return timestamp;
+    }
+
+    public int getStatus()
+    {
+        return status;
+    }
+
+    public String getError()
+    {
+        return error;
+    }
+
+    public String getMessage()
+    {
+        return message;
+    }
+
+    public List<String> getMessages()
+    {
+        return messages;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ErrorResponse{" +
+            "timestamp=" + timestamp +
+            ", status=" + status +
+            ", error='" + error + '\'' +
+            ", message='" + message + '\'' +
+            ", messages=" + messages +
+            '}';
+    }
+
+    private record Timestamp(long millis, String formatted)
+    {
+    }
+}
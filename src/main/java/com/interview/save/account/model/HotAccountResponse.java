@@ -0,0 +1,25 @@
+package com.interview.save.account.model;
+
+public class HotAccountResponse
+{
+    private final String accountNumber;
+    // Estimated recent accesses; periodically halved, so comparable between accounts rather than a total
+    private final long estimatedAccesses;
+
+    public HotAccountResponse(final String accountNumber, final long estimatedAccesses)
+    {
+        this.accountNumber = accountNumber;
+        this.estimatedAccesses = estimatedAccesses;
+    }
+
+    // Getters
+    public String getAccountNumber()
+    {
+        return accountNumber;
+    }
+
+    public long getEstimatedAccesses()
+    {
+        return estimatedAccesses;
+    }
+}
@@ -1,23 +1,30 @@
 package com.interview.save.account.model;
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Size;
 
 import java.io.Serializable;
+import java.util.UUID;
 
 @Entity(name = "accounts")
+// Covers the per-customer listing: every column of the entity is in the index, so it is answered from the index alone
+@Table(indexes = @Index(name = "idx_accounts_customer_listing", columnList = "customerName, accountNumber, accountNickName, id, version"))
 public class SavingsAccount implements Serializable
 {
-    private static final long serialVersionUID = 1L;
+    private static final long serialVersionUID = 3L;
 
+    // Stored as a native UUID (binary(16) where the database has none); exposed as a string
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    private UUID id;
 
+    @Convert(converter = AccountNumberConverter.class)
     @Column(unique = true, nullable = false)
     private String accountNumber;
 
@@ -27,6 +34,10 @@ public class SavingsAccount implements Serializable
     @Size(min = 5, max = 30, message = "Account nick name should be between 5 to 30 characters")
     private String accountNickName;
 
+    // Incremented by every nickname update, which only applies when the caller's version is still current
+    @Version
+    private long version;
+
     public SavingsAccount()
     {
     }
@@ -38,15 +49,24 @@ public class SavingsAccount implements Serializable
         this.accountNickName = accountNickname;
     }
 
+    @PrePersist
+    void assignId()
+    {
+        // Time-ordered, so new rows are appended to the primary key index
+        if (id == null) {
+            id = TimeOrderedUuid.next();
+        }
+    }
+
     // Getters and Setters
     public String getId()
     {
-        return id;
+        return id == null ? null : id.toString();
     }
 
     public void setId(final String id)
     {
-        this.id = id;
+        this.id = id == null ? null : UUID.fromString(id);
     }
 
     public String getAccountNumber()
@@ -79,6 +99,16 @@ public class SavingsAccount implements Serializable
         this.accountNickName = accountNickname;
     }
 
+    public long getVersion()
+    {
+        return version;
+    }
+
+    public void setVersion(final long version)
+    {
+        this.version = version;
+    }
+
     @Override
     public String toString()
     {
@@ -87,6 +117,7 @@ public class SavingsAccount implements Serializable
             ", accountNumber='" + accountNumber + '\'' +
             ", customerName='" + customerName + '\'' +
             ", accountNickname='" + accountNickName + '\'' +
+            ", version=" + version +
             '}';
     }
 
@@ -0,0 +1,24 @@
+package com.interview.save.account.model;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates version 7 UUIDs (RFC 9562): 48 bits of Unix epoch milliseconds followed by random bits.
+ * Ids generated later sort after earlier ones, so primary key inserts append to the end of the index
+ * instead of landing on random pages as with random (version 4) UUIDs.
+ */
+public final class TimeOrderedUuid
+{
+    private TimeOrderedUuid()
+    {
+    }
+
+    public static UUID next()
+    {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final long mostSignificantBits = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+        final long leastSignificantBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
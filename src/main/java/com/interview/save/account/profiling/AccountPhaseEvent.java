@@ -0,0 +1,35 @@
+package com.interview.save.account.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One phase of an account operation (a validator, a query, a cache call, serialization), nested in time within
+ * its {@link AccountRequestEvent} on the same thread.
+ */
+@Name("com.interview.save.account.AccountPhase")
+@Label("Account Phase")
+@Category({"Savings Account"})
+@Description("A phase of an account operation")
+@StackTrace(false)
+public class AccountPhaseEvent extends Event
+{
+    @Label("Phase")
+    String phase;
+
+    @Label("Account Number Hash")
+    int accountNumberHash;
+
+    @Label("Cache Outcome")
+    @Description("For cache reads: HIT or MISS")
+    String cacheOutcome;
+
+    // Bookkeeping for AccountProfiler, not recorded
+    transient ProfiledPhase profiledPhase;
+    transient AccountRequestEvent request;
+    transient long startNanos;
+}
@@ -0,0 +1,134 @@
+package com.interview.save.account.profiling;
+
+import java.util.function.Supplier;
+
+/**
+ * Entry point for emitting the account JFR events.
+ * <p>
+ * The request event of the current thread is kept in a thread local, so phases timed anywhere below the controller
+ * (validators, service, cache, serialization) add up in it. Unless a recording has the events enabled nothing is
+ * timed: every method first checks {@link jdk.jfr.Event#isEnabled()}, which the JIT reduces to a constant check.
+ * <p>
+ * Call sites that run on every request use {@link #startPhase} and {@link #endPhase} around the work, which allocate
+ * nothing while no recording runs. {@link #phase} is shorter to write but its caller allocates the capturing lambda
+ * either way; it is meant for phases that cost a database round trip anyway.
+ */
+public final class AccountProfiler
+{
+    private static final ThreadLocal<AccountRequestEvent> CURRENT = new ThreadLocal<>();
+    // Only asked isEnabled(), which reads the state of the event class; never begun or committed
+    private static final AccountPhaseEvent PHASE_EVENTS = new AccountPhaseEvent();
+
+    private AccountProfiler()
+    {
+    }
+
+    /**
+     * Starts the request event of the current thread.
+     *
+     * @return The started event, or null if no recording has it enabled.
+     */
+    static AccountRequestEvent beginRequest()
+    {
+        final AccountRequestEvent event = new AccountRequestEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        CURRENT.set(event);
+        return event;
+    }
+
+    static void endRequest(final AccountRequestEvent event, final String operation, final int status)
+    {
+        CURRENT.remove();
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.status = status;
+            event.commit();
+        }
+    }
+
+    /**
+     * @param accountNumber The account number the current request is about.
+     */
+    public static void accountNumber(final String accountNumber)
+    {
+        final AccountRequestEvent request = CURRENT.get();
+        if (request != null && accountNumber != null) {
+            request.accountNumberHash = accountNumber.hashCode();
+        }
+    }
+
+    /**
+     * Records how the current request was served; the first outcome of a request wins.
+     *
+     * @param outcome The cache outcome.
+     */
+    public static void cacheOutcome(final CacheOutcome outcome)
+    {
+        final AccountRequestEvent request = CURRENT.get();
+        if (request != null && request.cacheOutcome == null) {
+            request.cacheOutcome = outcome.name();
+        }
+    }
+
+    /**
+     * Runs a phase and times it.
+     *
+     * @param phase The phase.
+     * @param work  The work of the phase.
+     * @return The result of the work.
+     */
+    public static <T> T phase(final ProfiledPhase phase, final Supplier<T> work)
+    {
+        final AccountPhaseEvent event = startPhase(phase);
+        try {
+            return work.get();
+        } finally {
+            endPhase(event, null);
+        }
+    }
+
+    /**
+     * Starts timing a phase, for callers that only know the outcome at the end; see {@link #endPhase}.
+     *
+     * @param phase The phase.
+     * @return The started event, or null if nothing is being recorded.
+     */
+    public static AccountPhaseEvent startPhase(final ProfiledPhase phase)
+    {
+        final AccountRequestEvent request = CURRENT.get();
+        if (request == null && !PHASE_EVENTS.isEnabled()) {
+            return null;
+        }
+        final AccountPhaseEvent event = new AccountPhaseEvent();
+        event.profiledPhase = phase;
+        event.request = request;
+        event.startNanos = System.nanoTime();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * @param event   The event returned by {@link #startPhase}, may be null.
+     * @param outcome The cache outcome of a cache read, or null.
+     */
+    public static void endPhase(final AccountPhaseEvent event, final CacheOutcome outcome)
+    {
+        if (event == null) {
+            return;
+        }
+        event.end();
+        if (event.request != null) {
+            event.request.add(event.profiledPhase, System.nanoTime() - event.startNanos);
+            event.accountNumberHash = event.request.accountNumberHash;
+        }
+        if (event.shouldCommit()) {
+            event.phase = event.profiledPhase.name();
+            event.cacheOutcome = outcome != null ? outcome.name() : null;
+            event.commit();
+        }
+    }
+}
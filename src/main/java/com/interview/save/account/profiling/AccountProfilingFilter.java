@@ -0,0 +1,47 @@
+package com.interview.save.account.profiling;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Emits an {@link AccountRequestEvent} per API request while a recording has it enabled.
+ * Runs around the whole request, so the event covers deserialization, the handler and writing the response.
+ */
+@Component
+public class AccountProfilingFilter extends OncePerRequestFilter
+{
+    private static final String API_PREFIX = "/api/";
+
+    @Override
+    protected boolean shouldNotFilter(final HttpServletRequest request)
+    {
+        return !request.getRequestURI().startsWith(API_PREFIX);
+    }
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException
+    {
+        final AccountRequestEvent event = AccountProfiler.beginRequest();
+        if (event == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // The route pattern rather than the URI, so operations group together and no account number leaks
+            final Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            AccountProfiler.endRequest(event, request.getMethod() + " " + (pattern != null ? pattern : "unmatched"),
+                response.getStatus());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.interview.save.account.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * One HTTP request to the accounts API, from the start of the request to the end of the response.
+ * The phase times break the duration down; what is left is framework and network time.
+ */
+@Name("com.interview.save.account.AccountRequest")
+@Label("Account Request")
+@Category({"Savings Account"})
+@Description("An HTTP request to the accounts API with the time spent per phase")
+@StackTrace(false)
+public class AccountRequestEvent extends Event
+{
+    @Label("Operation")
+    String operation;
+
+    @Label("Account Number Hash")
+    @Description("Hash code of the account number, so requests for one account can be correlated without logging it")
+    int accountNumberHash;
+
+    @Label("Cache Outcome")
+    String cacheOutcome;
+
+    @Label("Status")
+    int status;
+
+    @Label("Validation Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long validationTime;
+
+    @Label("Account Number Probe Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long accountNumberProbeTime;
+
+    @Label("Database Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long databaseTime;
+
+    @Label("Cache Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long cacheTime;
+
+    @Label("Serialization Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long serializationTime;
+
+    void add(final ProfiledPhase phase, final long nanos)
+    {
+        switch (phase.category()) {
+            case VALIDATION -> validationTime += nanos;
+            case ACCOUNT_NUMBER_PROBE -> accountNumberProbeTime += nanos;
+            case DATABASE -> databaseTime += nanos;
+            case CACHE -> cacheTime += nanos;
+            case SERIALIZATION -> serializationTime += nanos;
+        }
+    }
+}
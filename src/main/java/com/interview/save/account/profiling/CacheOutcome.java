@@ -0,0 +1,18 @@
+package com.interview.save.account.profiling;
+
+/**
+ * How an account read was served.
+ */
+public enum CacheOutcome
+{
+    /** Served from the cache. */
+    HIT,
+    /** Not in the cache, loaded from the database. */
+    MISS,
+    /** Served from the in-process read model. */
+    READ_MODEL,
+    /** Served from the in-process tier of pinned hot accounts. */
+    PINNED,
+    /** A write; the cache was evicted. */
+    EVICT
+}
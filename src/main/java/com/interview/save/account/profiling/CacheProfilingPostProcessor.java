@@ -0,0 +1,21 @@
+package com.interview.save.account.profiling;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decorates the application's cache manager, so that the cache layer emits {@link AccountPhaseEvent}s.
+ */
+@Component
+public class CacheProfilingPostProcessor implements BeanPostProcessor
+{
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName)
+    {
+        if (bean instanceof CacheManager cacheManager && !(bean instanceof InstrumentedCacheManager)) {
+            return new InstrumentedCacheManager(cacheManager);
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,119 @@
+package com.interview.save.account.profiling;
+
+import com.interview.save.account.exception.ResourceNotFoundException;
+import com.interview.save.account.exception.ValidationException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Controls a single on-demand JFR recording with the account events enabled.
+ * Recordings are bounded: they stop by themselves after at most {@code accounts.profiling.max-duration} and keep at
+ * most {@code accounts.profiling.max-size} of data.
+ */
+@Service
+public class FlightRecordingService
+{
+    private static final Logger log = LoggerFactory.getLogger(FlightRecordingService.class);
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    private final Duration maxDuration;
+    private final DataSize maxSize;
+    private Recording recording;
+
+    public FlightRecordingService(@Value("${accounts.profiling.max-duration:PT10M}") final Duration maxDuration,
+                                  @Value("${accounts.profiling.max-size:100MB}") final DataSize maxSize)
+    {
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Starts a recording unless one is running.
+     *
+     * @param duration How long to record, capped at the configured maximum.
+     * @param settings The JFR settings: "default" (low overhead) or "profile" (adds method sampling and more).
+     * @return The status of the running recording.
+     */
+    public synchronized RecordingStatus start(final Duration duration, final String settings)
+    {
+        if (!SETTINGS.contains(settings)) {
+            throw new ValidationException("Unknown recording settings '" + settings + "', expected one of " + SETTINGS);
+        }
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return status();
+        }
+        closeRecording();
+        try {
+            final Recording started = new Recording(Configuration.getConfiguration(settings));
+            started.setName("account-profiling");
+            started.setToDisk(true);
+            started.setDuration(duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+            started.setMaxSize(maxSize.toBytes());
+            started.enable(AccountRequestEvent.class);
+            started.enable(AccountPhaseEvent.class);
+            started.start();
+            recording = started;
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("JFR settings '" + settings + "' could not be loaded", e);
+        }
+        log.info("Started JFR recording for {} with '{}' settings", recording.getDuration(), settings);
+        return status();
+    }
+
+    /**
+     * @return The status of the running recording.
+     * @throws ResourceNotFoundException if no recording is running.
+     */
+    public synchronized RecordingStatus stop()
+    {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new ResourceNotFoundException("No recording is running.");
+        }
+        recording.stop();
+        return status();
+    }
+
+    public synchronized RecordingStatus status()
+    {
+        if (recording == null) {
+            return RecordingStatus.none();
+        }
+        return new RecordingStatus(recording.getState().name(), recording.getStartTime(), recording.getDuration(),
+            recording.getMaxSize(), recording.getSize());
+    }
+
+    /**
+     * Writes the data of the current recording, running or stopped, to a file.
+     *
+     * @param file The file to write.
+     * @throws ResourceNotFoundException if there is no recording.
+     * @throws IOException if the file cannot be written.
+     */
+    public synchronized void dump(final Path file) throws IOException
+    {
+        if (recording == null || recording.getState() == RecordingState.NEW || recording.getState() == RecordingState.CLOSED) {
+            throw new ResourceNotFoundException("No recording to download.");
+        }
+        recording.dump(file);
+    }
+
+    private void closeRecording()
+    {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.interview.save.account.profiling;
+
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Cache decorator timing every cache call as a cache phase and reporting hits and misses as the request's
+ * {@link CacheOutcome}.
+ */
+class InstrumentedCache implements Cache
+{
+    private final Cache delegate;
+
+    InstrumentedCache(final Cache delegate)
+    {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String getName()
+    {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache()
+    {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(final Object key)
+    {
+        final AccountPhaseEvent phase = AccountProfiler.startPhase(ProfiledPhase.CACHE_GET);
+        ValueWrapper value = null;
+        try {
+            value = delegate.get(key);
+            return value;
+        } finally {
+            endRead(phase, value != null);
+        }
+    }
+
+    @Override
+    public <T> T get(final Object key, final Class<T> type)
+    {
+        final AccountPhaseEvent phase = AccountProfiler.startPhase(ProfiledPhase.CACHE_GET);
+        T value = null;
+        try {
+            value = delegate.get(key, type);
+            return value;
+        } finally {
+            endRead(phase, value != null);
+        }
+    }
+
+    @Override
+    public <T> T get(final Object key, final Callable<T> valueLoader)
+    {
+        final AccountPhaseEvent phase = AccountProfiler.startPhase(ProfiledPhase.CACHE_GET);
+        try {
+            return delegate.get(key, valueLoader);
+        } finally {
+            AccountProfiler.endPhase(phase, null);
+        }
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(final Object key)
+    {
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(final Object key, final Supplier<CompletableFuture<T>> valueLoader)
+    {
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(final Object key, final Object value)
+    {
+        final AccountPhaseEvent phase = AccountProfiler.startPhase(ProfiledPhase.CACHE_PUT);
+        try {
+            delegate.put(key, value);
+        } finally {
+            AccountProfiler.endPhase(phase, null);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(final Object key, final Object value)
+    {
+        final AccountPhaseEvent phase = AccountProfiler.startPhase(ProfiledPhase.CACHE_PUT);
+        try {
+            return delegate.putIfAbsent(key, value);
+        } finally {
+            AccountProfiler.endPhase(phase, null);
+        }
+    }
+
+    @Override
+    public void evict(final Object key)
+    {
+        AccountProfiler.cacheOutcome(CacheOutcome.EVICT);
+        final AccountPhaseEvent phase = AccountProfiler.startPhase(ProfiledPhase.CACHE_EVICT);
+        try {
+            delegate.evict(key);
+        } finally {
+            AccountProfiler.endPhase(phase, null);
+        }
+    }
+
+    @Override
+    public boolean evictIfPresent(final Object key)
+    {
+        AccountProfiler.cacheOutcome(CacheOutcome.EVICT);
+        final AccountPhaseEvent phase = AccountProfiler.startPhase(ProfiledPhase.CACHE_EVICT);
+        try {
+            return delegate.evictIfPresent(key);
+        } finally {
+            AccountProfiler.endPhase(phase, null);
+        }
+    }
+
+    @Override
+    public void clear()
+    {
+        AccountProfiler.cacheOutcome(CacheOutcome.EVICT);
+        final AccountPhaseEvent phase = AccountProfiler.startPhase(ProfiledPhase.CACHE_EVICT);
+        try {
+            delegate.clear();
+        } finally {
+            AccountProfiler.endPhase(phase, null);
+        }
+    }
+
+    @Override
+    public boolean invalidate()
+    {
+        AccountProfiler.cacheOutcome(CacheOutcome.EVICT);
+        final AccountPhaseEvent phase = AccountProfiler.startPhase(ProfiledPhase.CACHE_EVICT);
+        try {
+            return delegate.invalidate();
+        } finally {
+            AccountProfiler.endPhase(phase, null);
+        }
+    }
+
+    private static void endRead(final AccountPhaseEvent phase, final boolean hit)
+    {
+        final CacheOutcome outcome = hit ? CacheOutcome.HIT : CacheOutcome.MISS;
+        AccountProfiler.cacheOutcome(outcome);
+        AccountProfiler.endPhase(phase, outcome);
+    }
+}
@@ -0,0 +1,39 @@
+package com.interview.save.account.profiling;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache manager decorator handing out {@link InstrumentedCache}s.
+ */
+class InstrumentedCacheManager implements CacheManager
+{
+    private final CacheManager delegate;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    InstrumentedCacheManager(final CacheManager delegate)
+    {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Cache getCache(final String name)
+    {
+        final Cache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        final Cache target = delegate.getCache(name);
+        return target == null ? null : caches.computeIfAbsent(name, key -> new InstrumentedCache(target));
+    }
+
+    @Override
+    public Collection<String> getCacheNames()
+    {
+        return delegate.getCacheNames();
+    }
+}
@@ -0,0 +1,33 @@
+package com.interview.save.account.profiling;
+
+/**
+ * The phases of an account operation that are timed, each counted towards one time of {@link AccountRequestEvent}.
+ */
+public enum ProfiledPhase
+{
+    ACCOUNT_LIMIT_CHECK(Category.VALIDATION),
+    NICKNAME_CHECK(Category.VALIDATION),
+    ACCOUNT_NUMBER_PROBE(Category.ACCOUNT_NUMBER_PROBE),
+    DATABASE(Category.DATABASE),
+    CACHE_GET(Category.CACHE),
+    CACHE_PUT(Category.CACHE),
+    CACHE_EVICT(Category.CACHE),
+    SERIALIZATION(Category.SERIALIZATION);
+
+    enum Category
+    {
+        VALIDATION, ACCOUNT_NUMBER_PROBE, DATABASE, CACHE, SERIALIZATION
+    }
+
+    private final Category category;
+
+    ProfiledPhase(final Category category)
+    {
+        this.category = category;
+    }
+
+    Category category()
+    {
+        return category;
+    }
+}
@@ -0,0 +1,126 @@
+package com.interview.save.account.profiling;
+
+import com.interview.save.account.exception.AdminAccessDeniedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+
+/**
+ * Admin endpoints to start, stop and download an on-demand JFR recording of the account events.
+ * Every call needs the {@code X-Admin-Token} header to match {@code accounts.profiling.admin-token};
+ * while no token is configured the endpoints are disabled.
+ */
+@RestController
+@RequestMapping("/admin/profiling/recording")
+public class ProfilingController
+{
+    private static final String ADMIN_TOKEN_HEADER = "X-Admin-Token";
+
+    private final FlightRecordingService recordingService;
+    private final byte[] adminToken;
+
+    public ProfilingController(final FlightRecordingService recordingService,
+                               @Value("${accounts.profiling.admin-token:}") final String adminToken)
+    {
+        this.recordingService = recordingService;
+        this.adminToken = adminToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Endpoint to start a recording; does nothing if one is running.
+     *
+     * @param token    The admin token.
+     * @param duration How long to record (ISO-8601, e.g. PT2M), capped by accounts.profiling.max-duration.
+     * @param settings The JFR settings, "default" or "profile".
+     * @return ResponseEntity with the {@link RecordingStatus}.
+     */
+    @PostMapping
+    public ResponseEntity<RecordingStatus> start(@RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) String token,
+                                                 @RequestParam(defaultValue = "PT1M") Duration duration,
+                                                 @RequestParam(defaultValue = "default") String settings)
+    {
+        checkToken(token);
+        return new ResponseEntity<>(recordingService.start(duration, settings), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint to stop the running recording; its data stays available for download.
+     *
+     * @param token The admin token.
+     * @return ResponseEntity with the {@link RecordingStatus}.
+     */
+    @PostMapping("/stop")
+    public ResponseEntity<RecordingStatus> stop(@RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) String token)
+    {
+        checkToken(token);
+        return new ResponseEntity<>(recordingService.stop(), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint to get the state of the recording.
+     *
+     * @param token The admin token.
+     * @return ResponseEntity with the {@link RecordingStatus}.
+     */
+    @GetMapping
+    public ResponseEntity<RecordingStatus> status(@RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) String token)
+    {
+        checkToken(token);
+        return new ResponseEntity<>(recordingService.status(), HttpStatus.OK);
+    }
+
+    /**
+     * Endpoint to download the data of the recording, running or stopped, as a .jfr file.
+     *
+     * @param token The admin token.
+     * @return ResponseEntity streaming the recording.
+     */
+    @GetMapping("/download")
+    public ResponseEntity<StreamingResponseBody> download(@RequestHeader(value = ADMIN_TOKEN_HEADER, required = false) String token)
+        throws Exception
+    {
+        checkToken(token);
+        final Path file = Files.createTempFile("account-profiling", ".jfr");
+        try {
+            recordingService.dump(file);
+        } catch (Exception e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        final StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_OCTET_STREAM)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"account-profiling.jfr\"")
+            .body(body);
+    }
+
+    private void checkToken(final String token)
+    {
+        // Constant-time comparison, so the token cannot be guessed byte by byte from response times
+        if (adminToken.length == 0 || token == null
+            || !MessageDigest.isEqual(adminToken, token.getBytes(StandardCharsets.UTF_8))) {
+            throw new AdminAccessDeniedException("Admin token missing or invalid.");
+        }
+    }
+}
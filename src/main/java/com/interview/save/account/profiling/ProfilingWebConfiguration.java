@@ -0,0 +1,51 @@
+package com.interview.save.account.profiling;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Replaces the JSON message converter with one that times response serialization as a
+ * {@link ProfiledPhase#SERIALIZATION} phase. It keeps the configured {@code ObjectMapper}.
+ */
+@Configuration
+public class ProfilingWebConfiguration implements WebMvcConfigurer
+{
+    @Override
+    public void extendMessageConverters(final List<HttpMessageConverter<?>> converters)
+    {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter jackson) {
+                converters.set(i, new TimedJacksonConverter(jackson));
+            }
+        }
+    }
+
+    private static class TimedJacksonConverter extends MappingJackson2HttpMessageConverter
+    {
+        TimedJacksonConverter(final MappingJackson2HttpMessageConverter delegate)
+        {
+            super(delegate.getObjectMapper());
+            setSupportedMediaTypes(delegate.getSupportedMediaTypes());
+        }
+
+        @Override
+        protected void writeInternal(final Object object, final Type type, final HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException
+        {
+            final AccountPhaseEvent phase = AccountProfiler.startPhase(ProfiledPhase.SERIALIZATION);
+            try {
+                super.writeInternal(object, type, outputMessage);
+            } finally {
+                AccountProfiler.endPhase(phase, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.interview.save.account.profiling;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * The state of the profiling recording.
+ *
+ * @param state     NEW, RUNNING, STOPPED or CLOSED (see {@link jdk.jfr.RecordingState}), or NONE.
+ * @param startTime When the recording started, or null.
+ * @param duration  After how long the recording stops by itself.
+ * @param maxSize   The most data the recording keeps, in bytes; older data is discarded first.
+ * @param size      The data recorded so far, in bytes.
+ */
+public record RecordingStatus(String state, Instant startTime, Duration duration, long maxSize, long size)
+{
+    public static RecordingStatus none()
+    {
+        return new RecordingStatus("NONE", null, null, 0, 0);
+    }
+}
@@ -0,0 +1,368 @@
+package com.interview.save.account.readmodel;
+
+import com.interview.save.account.model.AccountResponse;
+import com.interview.save.account.model.SavingsAccount;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Compact in-memory store of accounts keyed by their numeric account number.
+ * <p>
+ * Account numbers are parsed to a {@code long} and looked up in an open-addressing hash table (linear probing,
+ * load factor at most 1/2) that maps them to a record offset. Records live in parallel primitive arrays: the id as two
+ * {@code long}s, the customer as a reference into a table of interned names, the nickname and the version. Per account this is a
+ * few dozen bytes plus the nickname, instead of an entity, its strings and a map entry.
+ * <p>
+ * Writers take a write lock; readers use an optimistic read of a {@link StampedLock} and only fall back to the read
+ * lock when a write raced with them, so lookups neither block nor allocate anything but the response.
+ */
+public class AccountIndex
+{
+    private static final long FREE = 0; // Account numbers are 10 digits with a leading '1', so never 0
+    private static final int ACCOUNT_NUMBER_LENGTH = 10;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final StampedLock lock = new StampedLock();
+
+    // Hash table: account number -> record
+    private long[] keys = new long[2 * INITIAL_CAPACITY];
+    private int[] records = new int[2 * INITIAL_CAPACITY];
+    private int size;
+
+    // Record store, indexed by record
+    private long[] idHigh = new long[INITIAL_CAPACITY];
+    private long[] idLow = new long[INITIAL_CAPACITY];
+    private int[] customerRefs = new int[INITIAL_CAPACITY];
+    private String[] nicknames = new String[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+    private int recordLimit;
+    private int[] freeRecords = new int[16];
+    private int freeRecordCount;
+
+    // Interned customer names, indexed by reference, each with the number of records using it
+    private final Map<String, Integer> customerRefsByName = new HashMap<>();
+    private String[] customerNames = new String[INITIAL_CAPACITY];
+    private int[] customerUses = new int[INITIAL_CAPACITY];
+    private int customerLimit;
+    private int[] freeCustomers = new int[16];
+    private int freeCustomerCount;
+
+    /**
+     * Adds an account, or replaces the stored one with the same account number unless that one has a newer version.
+     * Accounts whose number or id cannot be represented compactly are ignored and served by the regular path.
+     *
+     * @param account The account to store.
+     * @return Whether the account was stored.
+     */
+    public boolean put(final SavingsAccount account)
+    {
+        final long key = parseAccountNumber(account.getAccountNumber());
+        final UUID id = parseId(account.getId());
+        if (key < 0 || id == null) {
+            return false;
+        }
+        final long stamp = lock.writeLock();
+        try {
+            final int slot = slotOf(keys, key);
+            final int record;
+            if (keys[slot] == key) {
+                record = records[slot];
+                if (versions[record] > account.getVersion()) {
+                    return false;
+                }
+                releaseCustomer(customerRefs[record]);
+            } else {
+                record = allocateRecord();
+                keys[slot] = key;
+                records[slot] = record;
+                size++;
+            }
+            idHigh[record] = id.getMostSignificantBits();
+            idLow[record] = id.getLeastSignificantBits();
+            customerRefs[record] = internCustomer(account.getCustomerName());
+            nicknames[record] = account.getAccountNickname();
+            versions[record] = account.getVersion();
+            if (2 * size > keys.length) {
+                rehash(2 * keys.length);
+            }
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * @param accountNumber The account number of the account to remove.
+     * @return Whether an account was removed.
+     */
+    public boolean remove(final String accountNumber)
+    {
+        final long key = parseAccountNumber(accountNumber);
+        if (key < 0) {
+            return false;
+        }
+        final long stamp = lock.writeLock();
+        try {
+            final int slot = slotOf(keys, key);
+            if (keys[slot] != key) {
+                return false;
+            }
+            final int record = records[slot];
+            releaseCustomer(customerRefs[record]);
+            nicknames[record] = null;
+            freeRecords = push(freeRecords, freeRecordCount++, record);
+            deleteSlot(slot);
+            size--;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Looks an account up without taking a lock, unless a concurrent write forces a retry under the read lock.
+     *
+     * @param accountNumber The account number.
+     * @return The account as a response, or null if it is not stored.
+     */
+    public AccountResponse get(final String accountNumber)
+    {
+        final long key = parseAccountNumber(accountNumber);
+        if (key < 0) {
+            return null;
+        }
+        long stamp = lock.tryOptimisticRead();
+        boolean locked = false;
+        try {
+            while (true) {
+                // Under an optimistic read the fields may be torn, so everything is read into locals, bounds-checked,
+                // and only used once the stamp is validated
+                final long[] currentKeys = keys;
+                final int[] currentRecords = records;
+                final int record = find(currentKeys, currentRecords, key);
+                long high = 0;
+                long low = 0;
+                String customerName = null;
+                String nickname = null;
+                long version = 0;
+                final boolean found = record >= 0 && record < idHigh.length && record < idLow.length
+                    && record < customerRefs.length && record < nicknames.length && record < versions.length;
+                if (found) {
+                    high = idHigh[record];
+                    low = idLow[record];
+                    nickname = nicknames[record];
+                    version = versions[record];
+                    final int customerRef = customerRefs[record];
+                    final String[] names = customerNames;
+                    customerName = customerRef >= 0 && customerRef < names.length ? names[customerRef] : null;
+                }
+                if (locked || lock.validate(stamp)) {
+                    return found
+                        ? new AccountResponse(new UUID(high, low).toString(), accountNumber, customerName, nickname, version)
+                        : null;
+                }
+                stamp = lock.readLock();
+                locked = true;
+            }
+        } finally {
+            if (locked) {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    /**
+     * @return The number of stored accounts.
+     */
+    public int size()
+    {
+        final long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @return The number of distinct customers of the stored accounts.
+     */
+    public int customerCount()
+    {
+        final long stamp = lock.readLock();
+        try {
+            return customerRefsByName.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * @param accountNumber An account number.
+     * @return The account number as a {@code long}, or -1 if it is not 10 digits with a leading non-zero digit.
+     */
+    static long parseAccountNumber(final String accountNumber)
+    {
+        if (accountNumber == null || accountNumber.length() != ACCOUNT_NUMBER_LENGTH || accountNumber.charAt(0) == '0') {
+            return -1;
+        }
+        long value = 0;
+        for (int i = 0; i < ACCOUNT_NUMBER_LENGTH; i++) {
+            final char c = accountNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = 10 * value + (c - '0');
+        }
+        return value;
+    }
+
+    private static UUID parseId(final String id)
+    {
+        try {
+            return id == null ? null : UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static int hash(final long key)
+    {
+        // Fibonacci hashing; account numbers of one shard bucket share their low bits, so the high bits are used
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32);
+    }
+
+    /**
+     * @return The slot holding the key, or the free slot where it belongs.
+     */
+    private static int slotOf(final long[] keys, final long key)
+    {
+        final int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (keys[slot] != key && keys[slot] != FREE) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Lookup that tolerates torn arrays: it never throws and gives up after one round of the table.
+     *
+     * @return The record of the key, or -1.
+     */
+    private static int find(final long[] keys, final int[] records, final long key)
+    {
+        final int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        for (int probes = 0; probes < keys.length; probes++) {
+            final long candidate = keys[slot];
+            if (candidate == key) {
+                return slot < records.length ? records[slot] : -1;
+            }
+            if (candidate == FREE) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Removes a slot by shifting later entries of its probe sequence back, so that no tombstones are needed.
+     */
+    private void deleteSlot(final int slot)
+    {
+        final int mask = keys.length - 1;
+        int gap = slot;
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            final long key = keys[next];
+            if (key == FREE) {
+                break;
+            }
+            // The entry may fill the gap only if the gap lies between its home slot and its current slot
+            final int home = hash(key) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = key;
+                records[gap] = records[next];
+                gap = next;
+            }
+        }
+        keys[gap] = FREE;
+    }
+
+    private void rehash(final int capacity)
+    {
+        final long[] newKeys = new long[capacity];
+        final int[] newRecords = new int[capacity];
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                final int slot = slotOf(newKeys, keys[i]);
+                newKeys[slot] = keys[i];
+                newRecords[slot] = records[i];
+            }
+        }
+        keys = newKeys;
+        records = newRecords;
+    }
+
+    private int allocateRecord()
+    {
+        if (freeRecordCount > 0) {
+            return freeRecords[--freeRecordCount];
+        }
+        if (recordLimit == idHigh.length) {
+            final int capacity = 2 * idHigh.length;
+            idHigh = Arrays.copyOf(idHigh, capacity);
+            idLow = Arrays.copyOf(idLow, capacity);
+            customerRefs = Arrays.copyOf(customerRefs, capacity);
+            nicknames = Arrays.copyOf(nicknames, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+        }
+        return recordLimit++;
+    }
+
+    private int internCustomer(final String customerName)
+    {
+        final Integer existing = customerRefsByName.get(customerName);
+        if (existing != null) {
+            customerUses[existing]++;
+            return existing;
+        }
+        final int ref;
+        if (freeCustomerCount > 0) {
+            ref = freeCustomers[--freeCustomerCount];
+        } else {
+            if (customerLimit == customerNames.length) {
+                customerNames = Arrays.copyOf(customerNames, 2 * customerNames.length);
+                customerUses = Arrays.copyOf(customerUses, customerNames.length);
+            }
+            ref = customerLimit++;
+        }
+        customerNames[ref] = customerName;
+        customerUses[ref] = 1;
+        customerRefsByName.put(customerName, ref);
+        return ref;
+    }
+
+    private void releaseCustomer(final int ref)
+    {
+        if (--customerUses[ref] == 0) {
+            customerRefsByName.remove(customerNames[ref]);
+            customerNames[ref] = null;
+            freeCustomers = push(freeCustomers, freeCustomerCount++, ref);
+        }
+    }
+
+    private static int[] push(final int[] stack, final int index, final int value)
+    {
+        final int[] target = index < stack.length ? stack : Arrays.copyOf(stack, 2 * stack.length);
+        target[index] = value;
+        return target;
+    }
+}
@@ -0,0 +1,119 @@
+package com.interview.save.account.readmodel;
+
+import com.interview.save.account.event.AccountCreatedEvent;
+import com.interview.save.account.event.AccountDeletedEvent;
+import com.interview.save.account.event.AccountUpdatedEvent;
+import com.interview.save.account.model.AccountResponse;
+import com.interview.save.account.model.SavingsAccount;
+import com.interview.save.account.repository.SavingsAccountRepository;
+import com.interview.save.account.shard.ShardContext;
+import com.interview.save.account.shard.ShardRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Optional in-process read model serving account lookups from an {@link AccountIndex}.
+ * <p>
+ * On start-up the index is built from the table of every shard with keyset-paginated scans; this runs as an
+ * {@link ApplicationRunner}, so the readiness probe only reports UP once it is complete. Afterwards it is kept current
+ * from the created, updated and deleted events of the write paths. Until the build has finished, and for accounts it
+ * does not hold, {@link #find(String)} returns null and callers use the regular cached path.
+ * <p>
+ * The index only sees writes made by this instance, so it is meant for single-instance deployments.
+ */
+@Component
+@ConditionalOnProperty(name = "accounts.read-model.enabled", havingValue = "true")
+public class AccountReadModel implements ApplicationRunner
+{
+    private static final Logger log = LoggerFactory.getLogger(AccountReadModel.class);
+
+    private final SavingsAccountRepository accountRepository;
+    private final ShardRouter shardRouter;
+    private final int batchSize;
+    private final AccountIndex index = new AccountIndex();
+    // Deletes seen while building; the build may have read these accounts before they were deleted
+    private final Set<String> deletedWhileBuilding = ConcurrentHashMap.newKeySet();
+    private volatile boolean building = true;
+    private volatile boolean ready;
+
+    public AccountReadModel(final SavingsAccountRepository accountRepository,
+                            final ShardRouter shardRouter,
+                            @Value("${accounts.read-model.batch-size:10000}") final int batchSize)
+    {
+        this.accountRepository = accountRepository;
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(final ApplicationArguments args)
+    {
+        final long start = System.nanoTime();
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            String after = "0";
+            List<SavingsAccount> batch;
+            do {
+                final String lastAccountNumber = after;
+                batch = ShardContext.callOn(shard, () -> accountRepository.findByAccountNumberGreaterThanOrderByAccountNumber(
+                    lastAccountNumber, PageRequest.of(0, batchSize)));
+                for (SavingsAccount account : batch) {
+                    index.put(account);
+                }
+                if (!batch.isEmpty()) {
+                    after = batch.get(batch.size() - 1).getAccountNumber();
+                }
+            } while (batch.size() == batchSize);
+        }
+        building = false;
+        for (String accountNumber : deletedWhileBuilding) {
+            index.remove(accountNumber);
+        }
+        deletedWhileBuilding.clear();
+        ready = true;
+        log.info("Account read model built with {} accounts of {} customers in {} ms",
+            index.size(), index.customerCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @param accountNumber The account number.
+     * @return The account, or null if the read model is not built yet or does not hold it.
+     */
+    public AccountResponse find(final String accountNumber)
+    {
+        return ready ? index.get(accountNumber) : null;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountCreated(final AccountCreatedEvent event)
+    {
+        index.put(event.account());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountUpdated(final AccountUpdatedEvent event)
+    {
+        // The index keeps the newer version, whether the build or a concurrent update delivers the older one later
+        index.put(event.account());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountDeleted(final AccountDeletedEvent event)
+    {
+        final String accountNumber = event.account().getAccountNumber();
+        if (building) {
+            deletedWhileBuilding.add(accountNumber);
+        }
+        index.remove(accountNumber);
+    }
+}
@@ -1,25 +1,109 @@
 package com.interview.save.account.repository;
 
+import com.interview.save.account.model.CustomerAccountCount;
 import com.interview.save.account.model.SavingsAccount;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
-public interface SavingsAccountRepository extends JpaRepository<SavingsAccount, String>
+public interface SavingsAccountRepository extends JpaRepository<SavingsAccount, UUID>
 {
     /**
      * Finds an account by its unique account number.
+     * On every get that misses the cache and every account number probe, so declared as a query string: Hibernate
+     * caches the plan of a query string, while a derived query is rebuilt as a criteria query and translated anew.
      * @param accountNumber The account number to search for.
      * @return An Optional containing the found Account, or empty if not found.
      */
-    Optional<SavingsAccount> findByAccountNumber(String accountNumber);
+    @Query("select a from accounts a where a.accountNumber = :accountNumber")
+    Optional<SavingsAccount> findByAccountNumber(@Param("accountNumber") String accountNumber);
+
+    /**
+     * Finds all accounts whose account number is in the given batch (a single {@code IN} query).
+     * @param accountNumbers The account numbers to search for.
+     * @return The accounts found; unknown account numbers are simply absent.
+     */
+    List<SavingsAccount> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    /**
+     * Finds the next page of accounts in account number order (keyset pagination, no offset to skip).
+     * @param accountNumber The last account number of the previous page, or "0" for the first page.
+     * @param pageable The page size; the page number should be 0.
+     * @return The accounts following the given account number.
+     */
+    List<SavingsAccount> findByAccountNumberGreaterThanOrderByAccountNumber(String accountNumber, Pageable pageable);
+
+    /**
+     * Finds the accounts of a customer with a single range scan of the covering customer index.
+     * @param customerName The name of the customer.
+     * @return The customer's accounts in account number order; empty for unknown customers.
+     */
+    List<SavingsAccount> findByCustomerNameOrderByAccountNumber(String customerName);
+
+    /**
+     * Checks whether an account exists, with a lookup of the account number index only.
+     * @param accountNumber The account number to search for.
+     * @return Whether an account has the account number.
+     */
+    boolean existsByAccountNumber(String accountNumber);
 
     /**
      * Counts the number of accounts associated with a specific customer name.
+     * On every create (the account limit check), so declared as a query string, see {@link #findByAccountNumber}.
      * @param customerName The name of the customer.
      * @return The count of accounts for the given customer.
      */
-    long countByCustomerName(String customerName);
+    @Query("select count(a) from accounts a where a.customerName = :customerName")
+    long countByCustomerName(@Param("customerName") String customerName);
+
+    /**
+     * Counts the accounts of several customers in a single grouped query.
+     * @param customerNames The names of the customers.
+     * @return One count per customer that has at least one account.
+     */
+    @Query("select a.customerName as customerName, count(a) as accountCount from accounts a "
+        + "where a.customerName in :customerNames group by a.customerName")
+    List<CustomerAccountCount> countByCustomerNames(@Param("customerNames") Collection<String> customerNames);
+
+    /**
+     * Counts the accounts of every customer in a single grouped query.
+     * @return One count per customer that has at least one account.
+     */
+    @Query("select a.customerName as customerName, count(a) as accountCount from accounts a group by a.customerName")
+    List<CustomerAccountCount> countPerCustomer();
+
+    /**
+     * Deletes an account by its ID with a single statement.
+     * @param id The ID of the account to delete.
+     * @return The number of deleted accounts, 0 if no account has the ID (e.g. a concurrent delete won).
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from accounts a where a.id = :id")
+    int deleteAccountById(@Param("id") UUID id);
+
+    /**
+     * Sets the nickname of an account with a single conditional statement, without loading the account.
+     * @param accountNumber The account number of the account to update.
+     * @param accountNickname The new nickname, or null to remove it.
+     * @param version The version the caller read; the account is only updated if it still has this version.
+     * @return The number of updated accounts, 0 if no account has the number or its version has moved on.
+     */
+    @Transactional
+    @Modifying
+    @Query("update accounts a set a.accountNickName = :accountNickname, a.version = a.version + 1 "
+        + "where a.accountNumber = :accountNumber and a.version = :version")
+    int updateAccountNickname(@Param("accountNumber") String accountNumber,
+                              @Param("accountNickname") String accountNickname,
+                              @Param("version") long version);
 }
@@ -0,0 +1,22 @@
+package com.interview.save.account.service;
+
+import com.interview.save.account.model.SavingsAccount;
+
+/**
+ * The result of one create request within a batch: either the created account or the error for that request alone.
+ *
+ * @param account The created account, or {@code null} if the request was rejected.
+ * @param error   The reason the request was rejected, or {@code null} if the account was created.
+ */
+public record AccountCreateOutcome(SavingsAccount account, RuntimeException error)
+{
+    public static AccountCreateOutcome created(final SavingsAccount account)
+    {
+        return new AccountCreateOutcome(account, null);
+    }
+
+    public static AccountCreateOutcome rejected(final RuntimeException error)
+    {
+        return new AccountCreateOutcome(null, error);
+    }
+}
@@ -0,0 +1,289 @@
+package com.interview.save.account.service;
+
+import com.interview.save.account.deadline.AbandonedWork;
+import com.interview.save.account.deadline.RequestDeadline;
+import com.interview.save.account.model.SavingsAccount;
+import com.interview.save.account.model.SavingsAccountCreateRequest;
+import com.interview.save.account.shard.ShardRouter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Optional group-commit write path for account creation.
+ * <p>
+ * Concurrent create requests are queued and written by a single flusher thread: it collects requests for at most
+ * the configured window or until the batch is full, then writes the whole batch with
+ * {@link SavingsAccountService#createAccounts(List)} in one transaction, so many callers share one commit.
+ * A transaction spans one shard, so a batch is split into one group commit per shard.
+ * Every caller is completed with its own account or its own error. If the batch transaction fails as a whole
+ * (for example a duplicate account number inserted concurrently), its requests are retried one by one through
+ * {@link SavingsAccountService#createAccount(SavingsAccountCreateRequest)} so one bad request cannot fail the others.
+ * <p>
+ * A caller waits at most the result timeout for the flusher to pick its request up; after that it writes the request
+ * itself, unless the flusher is already writing it. Whichever of the two claims a request first writes it, so it is
+ * never written twice. Within a request the wait is also bounded by what is left of the {@link RequestDeadline}: once
+ * that has passed, the caller withdraws its request if the flusher has not claimed it yet, and gets a 504 either way.
+ */
+@Component
+@ConditionalOnProperty(name = "accounts.create.group-commit.enabled", havingValue = "true")
+public class GroupCommitAccountWriter
+{
+    private static final Logger log = LoggerFactory.getLogger(GroupCommitAccountWriter.class);
+
+    private final SavingsAccountService accountService;
+    private final ShardRouter shardRouter;
+    private final BlockingQueue<PendingCreate> queue;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final Duration resultTimeout;
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    public GroupCommitAccountWriter(final SavingsAccountService accountService,
+                                    final ShardRouter shardRouter,
+                                    @Value("${accounts.create.group-commit.window:PT0.005S}") final Duration window,
+                                    @Value("${accounts.create.group-commit.max-batch-size:64}") final int maxBatchSize,
+                                    @Value("${accounts.create.group-commit.queue-capacity:4096}") final int queueCapacity,
+                                    @Value("${accounts.create.group-commit.result-timeout:PT5S}") final Duration resultTimeout)
+    {
+        this.accountService = accountService;
+        this.shardRouter = shardRouter;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.resultTimeout = resultTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.flusher = new Thread(this::flushLoop, "account-group-commit");
+        this.flusher.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start()
+    {
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException
+    {
+        running = false;
+        flusher.interrupt();
+        flusher.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Creates an account as part of the next group commit and waits for the result.
+     * When the queue is full the request is written on its own, so callers are slowed down rather than rejected.
+     *
+     * @param request The {@link SavingsAccountCreateRequest} contains customer name and nickname.
+     * @return The created {@link SavingsAccount}.
+     */
+    public SavingsAccount create(final SavingsAccountCreateRequest request)
+    {
+        final PendingCreate pending = new PendingCreate(request, new CompletableFuture<>(), new AtomicBoolean());
+        if (!running || !queue.offer(pending)) {
+            return accountService.createAccount(request);
+        }
+        final long remaining = RequestDeadline.remainingNanos();
+        try {
+            return pending.result().get(Math.max(0, Math.min(resultTimeout.toNanos(), remaining)), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            if (remaining < resultTimeout.toNanos()) {
+                if (pending.claim()) {
+                    RequestDeadline.abandoned(AbandonedWork.QUEUED_CREATE);
+                }
+                // Otherwise the flusher is writing it, and the account may still be created, like any write whose
+                // commit outlives the deadline
+                throw RequestDeadline.exceeded("the account was created");
+            }
+            if (pending.claim()) {
+                log.warn("Group commit did not pick up a create within {}, writing it directly", resultTimeout);
+                return accountService.createAccount(request);
+            }
+            // The flusher is writing it
+            return result(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (pending.claim()) {
+                return accountService.createAccount(request);
+            }
+            return result(pending);
+        } catch (ExecutionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private static SavingsAccount result(final PendingCreate pending)
+    {
+        try {
+            return pending.result().join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    private static RuntimeException rethrow(final Throwable cause)
+    {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(cause);
+    }
+
+    private void flushLoop()
+    {
+        try {
+            flushUntilStopped();
+        } finally {
+            // Also if the flusher dies: new creates are then written directly, queued ones by their callers
+            running = false;
+        }
+    }
+
+    private void flushUntilStopped()
+    {
+        final List<PendingCreate> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                final PendingCreate first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                final long windowEnd = System.nanoTime() + window.toNanos();
+                while (batch.size() < maxBatchSize) {
+                    if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    final long remaining = windowEnd - System.nanoTime();
+                    final PendingCreate next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flushClaimed(batch);
+            } catch (InterruptedException e) {
+                // Woken up by stop(); drain what is left before exiting
+                flushRemaining(batch);
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flushRemaining(final List<PendingCreate> batch)
+    {
+        queue.drainTo(batch);
+        for (PendingCreate pending : batch) {
+            if (!pending.result().isDone() && pending.claim()) {
+                createOne(pending);
+            }
+        }
+    }
+
+    // Writes the requests their callers have not claimed after timing out; any failure fails their callers only
+    private void flushClaimed(final List<PendingCreate> batch)
+    {
+        final List<PendingCreate> claimed = new ArrayList<>(batch.size());
+        for (PendingCreate pending : batch) {
+            if (pending.claim()) {
+                claimed.add(pending);
+            }
+        }
+        if (claimed.isEmpty()) {
+            return;
+        }
+        try {
+            flushPerShard(claimed);
+        } catch (Throwable e) {
+            log.error("Group commit of {} accounts failed", claimed.size(), e);
+            for (PendingCreate pending : claimed) {
+                pending.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    private void flushPerShard(final List<PendingCreate> batch)
+    {
+        if (shardRouter.shardCount() == 1) {
+            flush(batch);
+            return;
+        }
+        final Map<Integer, List<PendingCreate>> batchPerShard = new LinkedHashMap<>();
+        for (PendingCreate pending : batch) {
+            batchPerShard.computeIfAbsent(shardRouter.shardForCustomer(pending.request().getCustomerName()),
+                shard -> new ArrayList<>()).add(pending);
+        }
+        for (List<PendingCreate> shardBatch : batchPerShard.values()) {
+            flush(shardBatch);
+        }
+    }
+
+    private void flush(final List<PendingCreate> batch)
+    {
+        final List<SavingsAccountCreateRequest> requests = new ArrayList<>(batch.size());
+        for (PendingCreate pending : batch) {
+            requests.add(pending.request());
+        }
+        final List<AccountCreateOutcome> outcomes;
+        try {
+            outcomes = accountService.createAccounts(requests);
+        } catch (RuntimeException e) {
+            log.warn("Group commit of {} accounts failed, retrying them one by one", batch.size(), e);
+            for (PendingCreate pending : batch) {
+                createOne(pending);
+            }
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            final AccountCreateOutcome outcome = outcomes.get(i);
+            if (outcome.error() != null) {
+                batch.get(i).result().completeExceptionally(outcome.error());
+            } else {
+                batch.get(i).result().complete(outcome.account());
+            }
+        }
+    }
+
+    private void createOne(final PendingCreate pending)
+    {
+        try {
+            pending.result().complete(accountService.createAccount(pending.request()));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    private record PendingCreate(SavingsAccountCreateRequest request, CompletableFuture<SavingsAccount> result,
+                                 AtomicBoolean claimed)
+    {
+        // True for the one of the flusher and the caller that writes the request
+        boolean claim()
+        {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
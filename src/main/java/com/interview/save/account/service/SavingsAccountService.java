@@ -1,76 +1,201 @@
 package com.interview.save.account.service;
 
+import com.interview.save.account.cache.SingleFlight;
+import com.interview.save.account.deadline.RequestDeadline;
+import com.interview.save.account.event.AccountCreatedEvent;
+import com.interview.save.account.event.AccountDeletedEvent;
+import com.interview.save.account.event.AccountUpdatedEvent;
+import com.interview.save.account.exception.AccountLimitExceededException;
+import com.interview.save.account.exception.AccountVersionConflictException;
 import com.interview.save.account.exception.DatabaseOperationException;
+import com.interview.save.account.exception.LoadTimeoutException;
 import com.interview.save.account.exception.ResourceNotFoundException;
+import com.interview.save.account.model.AccountNicknameUpdateRequest;
+import com.interview.save.account.model.CustomerAccountCount;
 import com.interview.save.account.model.SavingsAccount;
 import com.interview.save.account.model.SavingsAccountCreateRequest;
+import com.interview.save.account.profiling.AccountPhaseEvent;
+import com.interview.save.account.profiling.AccountProfiler;
+import com.interview.save.account.profiling.ProfiledPhase;
 import com.interview.save.account.repository.SavingsAccountRepository;
+import com.interview.save.account.shard.ShardContext;
+import com.interview.save.account.shard.ShardRouter;
+import com.interview.save.account.validation.AccountLimitValidator;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 public class SavingsAccountService
 {
+    private static final String ACCOUNTS_CACHE = "accounts";
+    private static final String ALL_ACCOUNTS_KEY = "allAccounts";
+
     private final SavingsAccountRepository accountRepository;
+    private final ShardRouter shardRouter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
     private final Random random = new Random();
+    // Cache refreshes of the same account are serialized, so an older state never overwrites a newer one. Not monitors:
+    // the refresh waits for Redis, which would pin the carrier of a virtual thread
+    private final ReentrantLock[] refreshLocks = new ReentrantLock[64];
+    // Cache misses for the same key are coalesced, so an eviction causes one query per key rather than one per caller
+    private final SingleFlight<String, Optional<SavingsAccount>> accountLoads;
+    private final SingleFlight<String, List<SavingsAccount>> allAccountsLoads;
 
     @Autowired
-    public SavingsAccountService(final SavingsAccountRepository accountRepository)
+    public SavingsAccountService(final SavingsAccountRepository accountRepository,
+                                 final ShardRouter shardRouter,
+                                 final ApplicationEventPublisher eventPublisher,
+                                 final CacheManager cacheManager,
+                                 @Value("${accounts.cache.load-timeout:PT5S}") final Duration loadTimeout)
     {
         this.accountRepository = accountRepository;
+        this.shardRouter = shardRouter;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        for (int i = 0; i < refreshLocks.length; i++) {
+            refreshLocks[i] = new ReentrantLock();
+        }
+        this.accountLoads = new SingleFlight<>(loadTimeout);
+        this.allAccountsLoads = new SingleFlight<>(loadTimeout);
     }
 
     /**
      * Creates a new savings bank account.
      * This method handles account number generation, saves the account.
+     * The account is stored on the customer's shard, and its number encodes that shard.
+     * Only the cached account list is evicted, as in {@link #createAccounts(List)}.
      *
      * @param request The {@link SavingsAccountCreateRequest} contains customer name and nickname.
      * @return The created {@link SavingsAccount}.
      * @throws DatabaseOperationException if there's an issue with database interaction.
      */
-    @CacheEvict(value = "accounts", allEntries = true)
+    @CacheEvict(value = "accounts", key = "'" + ALL_ACCOUNTS_KEY + "'")
     @Transactional
     public SavingsAccount createAccount(final SavingsAccountCreateRequest request)
     {
         try {
             // AccountLimit validation is done via @AccountLimit on customerName
             // OffensiveNickname validation is done via @OffensiveNickname on accountNickname
-            // Generate a unique 10-digit account number
-            String accountNumber;
-            do {
-                accountNumber = generateAccountNumber();
-            } while (accountRepository.findByAccountNumber(accountNumber).isPresent()); // Ensure accountNumber uniqueness
-
-            final SavingsAccount account = new SavingsAccount(accountNumber, request.getCustomerName(), request.getAccountNickname());
-            return accountRepository.save(account);
+            return ShardContext.callOn(shardRouter.shardForCustomer(request.getCustomerName()), () -> {
+                // Generate a unique 10-digit account number
+                final String accountNumber = AccountProfiler.phase(ProfiledPhase.ACCOUNT_NUMBER_PROBE, () -> {
+                    String candidate;
+                    do {
+                        candidate = generateAccountNumber(request.getCustomerName());
+                    } while (accountRepository.findByAccountNumber(candidate).isPresent()); // Ensure accountNumber uniqueness
+                    return candidate;
+                });
+                AccountProfiler.accountNumber(accountNumber);
+
+                final SavingsAccount account = AccountProfiler.phase(ProfiledPhase.DATABASE, () -> accountRepository.save(
+                    new SavingsAccount(accountNumber, request.getCustomerName(), request.getAccountNickname())));
+                eventPublisher.publishEvent(new AccountCreatedEvent(account));
+                return account;
+            });
         } catch (DataAccessException e) {
             // Catch data access exceptions and wrap them in a custom exception
             throw new DatabaseOperationException("Failed to create account due to database error.", e);
         }
     }
 
+    /**
+     * Creates several savings bank accounts in one transaction with one batched insert (group commit).
+     * Each request gets its own outcome: requests that would take a customer past the account limit,
+     * counting the other requests of the same batch, are rejected without affecting the rest of the batch.
+     * A transaction spans a single shard, so all customers of one batch must belong to the same shard.
+     * Only the cached account list is evicted: new accounts have no entry of their own, as misses are not cached, so a
+     * group commit or an import batch leaves the cached accounts in place instead of flushing the whole cache.
+     *
+     * @param requests The create requests of one batch, all for customers of the same shard.
+     * @return One {@link AccountCreateOutcome} per request, in request order.
+     * @throws DatabaseOperationException if the batch could not be written; no account of the batch is created then.
+     */
+    @CacheEvict(value = "accounts", key = "'" + ALL_ACCOUNTS_KEY + "'")
+    @Transactional
+    public List<AccountCreateOutcome> createAccounts(final List<SavingsAccountCreateRequest> requests)
+    {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return ShardContext.callOn(shardRouter.shardForCustomer(requests.get(0).getCustomerName()),
+                () -> createAccountsOnShard(requests));
+        } catch (DataAccessException e) {
+            throw new DatabaseOperationException("Failed to create accounts due to database error.", e);
+        }
+    }
+
+    private List<AccountCreateOutcome> createAccountsOnShard(final List<SavingsAccountCreateRequest> requests)
+    {
+        final Map<String, Long> accountsPerCustomer = AccountProfiler.phase(ProfiledPhase.ACCOUNT_LIMIT_CHECK,
+            () -> countAccountsPerCustomer(requests));
+        final List<AccountCreateOutcome> outcomes = new ArrayList<>(requests.size());
+        final List<SavingsAccount> accepted = new ArrayList<>(requests.size());
+        for (SavingsAccountCreateRequest request : requests) {
+            final long accounts = accountsPerCustomer.merge(request.getCustomerName(), 1L, Long::sum);
+            if (accounts > AccountLimitValidator.MAX_ACCOUNTS_PER_CUSTOMER) {
+                accountsPerCustomer.merge(request.getCustomerName(), -1L, Long::sum);
+                outcomes.add(AccountCreateOutcome.rejected(new AccountLimitExceededException(
+                    "Customer has reached the maximum allowed number of accounts (" + AccountLimitValidator.MAX_ACCOUNTS_PER_CUSTOMER + ")")));
+                continue;
+            }
+            final SavingsAccount account = new SavingsAccount(null, request.getCustomerName(), request.getAccountNickname());
+            accepted.add(account);
+            outcomes.add(AccountCreateOutcome.created(account));
+        }
+
+        AccountProfiler.phase(ProfiledPhase.ACCOUNT_NUMBER_PROBE, () -> {
+            assignUniqueAccountNumbers(accepted);
+            return null;
+        });
+        // Entities are saved in place, so the outcomes already reference the persisted accounts
+        AccountProfiler.phase(ProfiledPhase.DATABASE, () -> accountRepository.saveAllAndFlush(accepted));
+        for (SavingsAccount account : accepted) {
+            eventPublisher.publishEvent(new AccountCreatedEvent(account));
+        }
+        return outcomes;
+    }
+
     /**
      * Retrieves a savings bank account by its account number.
+     * Concurrent cache misses for the same account number share a single query.
+     * Not transactional on purpose: callers waiting for another caller's query must not hold a connection;
+     * the repository call runs in its own read-only transaction.
      *
      * @param accountNumber The unique account number.
      * @return The found {@link SavingsAccount}.
      * @throws ResourceNotFoundException if no account is found with the given account number.
+     * @throws LoadTimeoutException if the query of a concurrent caller did not complete in time.
      * @throws DatabaseOperationException if there's an issue with database interaction.
      */
     @Cacheable(value = "accounts", key = "#accountNumber")
-    @Transactional(readOnly = true)
     public SavingsAccount getAccount(final String accountNumber)
     {
         try {
-            return accountRepository.findByAccountNumber(accountNumber)
+            return accountLoads.execute(accountNumber, () -> findByAccountNumber(accountNumber))
                 .orElseThrow(() -> new ResourceNotFoundException("Account with number " + accountNumber + " not found."));
         } catch (DataAccessException e) {
             // Catch data access exceptions and wrap them in a custom exception
@@ -78,45 +203,134 @@ public class SavingsAccountService
         }
     }
 
+    /**
+     * Retrieves the savings bank accounts of one customer, from the customer's shard.
+     * Cached per customer; the entry is evicted when an account of the customer is created or deleted,
+     * see {@link com.interview.save.account.cache.CustomerAccountsCacheEvictor}.
+     *
+     * @param customerName The name of the customer.
+     * @return The customer's accounts in account number order, at most {@link AccountLimitValidator#MAX_ACCOUNTS_PER_CUSTOMER}.
+     * @throws DatabaseOperationException if there's an issue with database interaction.
+     */
+    @Cacheable(value = "customerAccounts", key = "#customerName")
+    public List<SavingsAccount> getCustomerAccounts(final String customerName)
+    {
+        try {
+            final AccountPhaseEvent phase = AccountProfiler.startPhase(ProfiledPhase.DATABASE);
+            try {
+                return ShardContext.callOn(shardRouter.shardForCustomer(customerName),
+                    () -> accountRepository.findByCustomerNameOrderByAccountNumber(customerName));
+            } finally {
+                AccountProfiler.endPhase(phase, null);
+            }
+        } catch (DataAccessException e) {
+            throw new DatabaseOperationException("Failed to retrieve customer accounts due to database error.", e);
+        }
+    }
+
     /**
      * Retrieves all savings bank accounts.
+     * Concurrent cache misses share a single scan, see {@link #getAccount(String)}.
+     * With several shards, every shard is scanned and the results are merged in account number order.
      *
      * @return A list of all {@link SavingsAccount} entities.
+     * @throws LoadTimeoutException if the query of a concurrent caller did not complete in time.
      * @throws DatabaseOperationException if there's an issue with database interaction.
      */
-    @Cacheable(value = "accounts", key = "'allAccounts'")
-    @Transactional(readOnly = true)
+    @Cacheable(value = "accounts", key = "'" + ALL_ACCOUNTS_KEY + "'")
     public List<SavingsAccount> getAllAccounts()
     {
         try {
-            return accountRepository.findAll();
+            return allAccountsLoads.execute(ALL_ACCOUNTS_KEY,
+                () -> AccountProfiler.phase(ProfiledPhase.DATABASE, this::findAllOnAllShards));
         } catch (DataAccessException e) {
             throw new DatabaseOperationException("Failed to retrieve all accounts due to database error.", e);
         }
     }
 
+    /**
+     * Sets the nickname of an account with one conditional UPDATE statement, without loading the account first.
+     * The update only applies if the account still has the version the caller read (optimistic versioning).
+     * Not transactional itself, like {@link #deleteAccountById(String)}: the statement runs in its own transaction.
+     * <p>
+     * The account's cache entry is refreshed in place rather than evicted. When the cache holds the account at the
+     * replaced version, the new state follows from it; otherwise the account is read back once. Only the
+     * "all accounts" entry is evicted, and the customer's listing through the {@link AccountUpdatedEvent}.
+     *
+     * @param accountNumber The unique account number.
+     * @param request       The new nickname and the version it replaces.
+     * @return The updated {@link SavingsAccount}.
+     * @throws ResourceNotFoundException if no account is found with the given account number.
+     * @throws AccountVersionConflictException if the account has changed since the caller read the version.
+     * @throws DatabaseOperationException if there's an issue with database interaction.
+     */
+    public SavingsAccount updateAccountNickname(final String accountNumber, final AccountNicknameUpdateRequest request)
+    {
+        final long version = request.getVersion();
+        final int routedShard = shardRouter.shardForAccountNumber(accountNumber);
+        try {
+            int shard = routedShard;
+            int updated = updateNickname(shard, accountNumber, request.getAccountNickname(), version);
+            if (updated == 0) {
+                // Rare path: only now is it worth more statements to tell a missing account from a stale version
+                shard = shardHolding(accountNumber, routedShard);
+                if (shard < 0) {
+                    throw new ResourceNotFoundException("Account with number " + accountNumber + " not found.");
+                }
+                if (shard != routedShard) {
+                    updated = updateNickname(shard, accountNumber, request.getAccountNickname(), version);
+                }
+                if (updated == 0) {
+                    throw new AccountVersionConflictException(
+                        "Account with number " + accountNumber + " has changed since version " + version + ".");
+                }
+            }
+            final int accountShard = shard;
+            // Committed: the cache and the listeners must follow even if the request deadline passes meanwhile
+            return RequestDeadline.callWithoutDeadline(() -> {
+                final SavingsAccount account = updatedAccount(accountShard, accountNumber, request.getAccountNickname(), version + 1);
+                refreshCachedAccount(accountShard, account);
+                eventPublisher.publishEvent(new AccountUpdatedEvent(account));
+                return account;
+            });
+        } catch (DataAccessException e) {
+            throw new DatabaseOperationException("Failed to update account due to database error.", e);
+        }
+    }
+
     /**
      * Deletes a savings bank account by its ID.
+     * The ID does not encode a shard, so the shards are probed in turn; not transactional itself because a
+     * transaction cannot span shards, the delete runs in its own transaction on the shard holding the account.
+     * Only the deleted account and the account list are evicted; the other cached accounts did not change.
      *
      * @param id The unique ID of the account to delete.
      * @return The ID of the deleted account.
      * @throws ResourceNotFoundException if no account is found with the given ID.
      * @throws DatabaseOperationException if there's an issue with database interaction.
      */
-    @CacheEvict(value = "accounts", allEntries = true)
-    @Transactional
+    @CacheEvict(value = "accounts", key = "'" + ALL_ACCOUNTS_KEY + "'")
     public String deleteAccountById(final String id)
     {
+        final UUID uuid = parseId(id);
         try {
-            // Check if account exists before trying to delete.
-            if (!accountRepository.existsById(id)) {
-                throw new ResourceNotFoundException("Account with ID " + id + " not found.");
+            // Look the account up before deleting it; listeners of the deleted event need its customer
+            for (int shard = 0; uuid != null && shard < shardRouter.shardCount(); shard++) {
+                final int probedShard = shard;
+                final Optional<SavingsAccount> deleted = AccountProfiler.phase(ProfiledPhase.DATABASE,
+                    () -> ShardContext.callOn(probedShard, () -> accountRepository.findById(uuid)
+                        // Only the caller whose statement removed the row reports the delete, even under concurrent deletes
+                        .filter(account -> accountRepository.deleteAccountById(uuid) == 1)));
+                if (deleted.isPresent()) {
+                    evictCachedAccount(deleted.get().getAccountNumber());
+                    eventPublisher.publishEvent(new AccountDeletedEvent(deleted.get()));
+                    return id;
+                }
             }
-            accountRepository.deleteById(id);
-            return id;
+            throw new ResourceNotFoundException("Account with ID " + id + " not found.");
         } catch (EmptyResultDataAccessException e) {
-            // This exception is thrown by deleteById if the entity doesn't exist.
-            // While we have existsById, this is a good fallback for robustness.
+            // Thrown if the account disappears between the lookup and the delete.
+            // The lookup normally catches missing accounts, so this is a fallback for robustness.
             throw new ResourceNotFoundException("Account with ID " + id + " not found.");
         } catch (DataAccessException e) {
             throw new DatabaseOperationException("Failed to delete account due to database error.", e);
@@ -124,14 +338,182 @@ public class SavingsAccountService
     }
 
     /**
-     * Generates a random 10-digit account number.
+     * @return The id as a UUID, or null if it is not one; such ids belong to no account.
+     */
+    private static UUID parseId(final String id)
+    {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private SavingsAccount updatedAccount(final int shard, final String accountNumber, final String accountNickname,
+                                          final long version)
+    {
+        final Cache cache = cacheManager.getCache(ACCOUNTS_CACHE);
+        final SavingsAccount cached = cache == null ? null : cache.get(accountNumber, SavingsAccount.class);
+        if (cached != null && cached.getVersion() == version - 1) {
+            final SavingsAccount account = new SavingsAccount(accountNumber, cached.getCustomerName(), accountNickname);
+            account.setId(cached.getId());
+            account.setVersion(version);
+            return account;
+        }
+        // Not cached, or cached at another version: the committed state is read back
+        return AccountProfiler.phase(ProfiledPhase.DATABASE, () -> ShardContext.callOn(shard,
+                () -> accountRepository.findByAccountNumber(accountNumber)))
+            .orElseThrow(() -> new ResourceNotFoundException("Account with number " + accountNumber + " not found."));
+    }
+
+    /**
+     * Replaces the cached account if the cache holds an older version of it. Accounts that are not cached are not
+     * added: a concurrent delete may already have flushed the cache, and must not be undone.
+     * <p>
+     * A delete, of this or another instance, may also flush the cache between the read and the write here. Deletes
+     * flush after their commit, so checking that the account still exists after the write is enough: either the
+     * check sees the delete and evicts the entry, or the delete's flush comes after the write.
+     */
+    private void evictCachedAccount(final String accountNumber)
+    {
+        final Cache cache = cacheManager.getCache(ACCOUNTS_CACHE);
+        if (cache != null) {
+            cache.evict(accountNumber);
+        }
+    }
+
+    private void refreshCachedAccount(final int shard, final SavingsAccount account)
+    {
+        final Cache cache = cacheManager.getCache(ACCOUNTS_CACHE);
+        if (cache == null) {
+            return;
+        }
+        final String accountNumber = account.getAccountNumber();
+        final ReentrantLock lock = refreshLocks[Math.floorMod(accountNumber.hashCode(), refreshLocks.length)];
+        lock.lock();
+        try {
+            final SavingsAccount cached = cache.get(accountNumber, SavingsAccount.class);
+            if (cached != null && cached.getVersion() < account.getVersion()) {
+                cache.put(accountNumber, account);
+                final boolean exists = AccountProfiler.phase(ProfiledPhase.DATABASE, () -> ShardContext.callOn(shard,
+                    () -> accountRepository.existsByAccountNumber(accountNumber)));
+                if (!exists) {
+                    cache.evict(accountNumber);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        cache.evict(ALL_ACCOUNTS_KEY);
+    }
+
+    /**
+     * Looks the account up on the shard its number routes to, then on the other shards. Legacy accounts, numbered
+     * before sharding, do not encode the bucket of their customer and are kept on the customer's shard, see
+     * {@link com.interview.save.account.shard.ShardRebalancer}; only misses pay for the extra lookups.
+     */
+    private Optional<SavingsAccount> findByAccountNumber(final String accountNumber)
+    {
+        final int routedShard = shardRouter.shardForAccountNumber(accountNumber);
+        final AccountPhaseEvent phase = AccountProfiler.startPhase(ProfiledPhase.DATABASE);
+        try {
+            Optional<SavingsAccount> account = ShardContext.callOn(routedShard, () -> accountRepository.findByAccountNumber(accountNumber));
+            for (int shard = 0; account.isEmpty() && shard < shardRouter.shardCount(); shard++) {
+                if (shard != routedShard) {
+                    account = ShardContext.callOn(shard, () -> accountRepository.findByAccountNumber(accountNumber));
+                }
+            }
+            return account;
+        } finally {
+            AccountProfiler.endPhase(phase, null);
+        }
+    }
+
+    /**
+     * @return The shard holding the account, trying the routed shard first as in {@link #findByAccountNumber}, or -1.
+     */
+    private int shardHolding(final String accountNumber, final int routedShard)
+    {
+        for (int i = 0; i < shardRouter.shardCount(); i++) {
+            final int shard = i == 0 ? routedShard : (i <= routedShard ? i - 1 : i);
+            final boolean exists = AccountProfiler.phase(ProfiledPhase.DATABASE, () -> ShardContext.callOn(shard,
+                () -> accountRepository.existsByAccountNumber(accountNumber)));
+            if (exists) {
+                return shard;
+            }
+        }
+        return -1;
+    }
+
+    private int updateNickname(final int shard, final String accountNumber, final String accountNickname, final long version)
+    {
+        return AccountProfiler.phase(ProfiledPhase.DATABASE, () -> ShardContext.callOn(shard,
+            () -> accountRepository.updateAccountNickname(accountNumber, accountNickname, version)));
+    }
+
+    private List<SavingsAccount> findAllOnAllShards()
+    {
+        if (shardRouter.shardCount() == 1) {
+            return accountRepository.findAll();
+        }
+        final List<SavingsAccount> accounts = new ArrayList<>();
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            accounts.addAll(ShardContext.callOn(shard, accountRepository::findAll));
+        }
+        accounts.sort(Comparator.comparing(SavingsAccount::getAccountNumber));
+        return accounts;
+    }
+
+    private Map<String, Long> countAccountsPerCustomer(final List<SavingsAccountCreateRequest> requests)
+    {
+        final Set<String> customerNames = new HashSet<>();
+        for (SavingsAccountCreateRequest request : requests) {
+            customerNames.add(request.getCustomerName());
+        }
+        final Map<String, Long> accountsPerCustomer = new HashMap<>();
+        for (CustomerAccountCount count : accountRepository.countByCustomerNames(customerNames)) {
+            accountsPerCustomer.put(count.getCustomerName(), count.getAccountCount());
+        }
+        return accountsPerCustomer;
+    }
+
+    /**
+     * Gives every account a generated account number that is unique within the batch and in the table,
+     * checking the whole batch against the table with one {@code IN} query per round.
+     */
+    private void assignUniqueAccountNumbers(final List<SavingsAccount> accounts)
+    {
+        final Set<String> used = new HashSet<>();
+        List<SavingsAccount> pending = accounts;
+        while (!pending.isEmpty()) {
+            final Map<String, SavingsAccount> candidates = new HashMap<>();
+            for (SavingsAccount account : pending) {
+                String accountNumber;
+                do {
+                    accountNumber = generateAccountNumber(account.getCustomerName());
+                } while (used.contains(accountNumber) || candidates.containsKey(accountNumber));
+                candidates.put(accountNumber, account);
+                account.setAccountNumber(accountNumber);
+            }
+            final List<SavingsAccount> collisions = new ArrayList<>();
+            for (SavingsAccount existing : accountRepository.findByAccountNumberIn(candidates.keySet())) {
+                collisions.add(candidates.remove(existing.getAccountNumber()));
+            }
+            used.addAll(candidates.keySet());
+            pending = collisions;
+        }
+    }
+
+    /**
+     * Generates a random 10-digit account number on the customer's shard.
      * In a real system, this would be more robust (e.g., UUID, sequence, check digits).
+     * @param customerName The name of the customer the account is for.
      * @return A string representing a 10-digit account number.
      */
-    private String generateAccountNumber()
+    private String generateAccountNumber(final String customerName)
     {
-        // Generate a random 9-digit number and pad with leading zeros if necessary
-        // Then add a leading '1' to ensure it's always 10 digits and looks like a bank account
-        return String.format("1%09d", random.nextInt(1_000_000_000));
+        // A random 9-digit number whose remainder encodes the customer's shard bucket, with a leading '1'
+        // to ensure it's always 10 digits and looks like a bank account
+        return shardRouter.accountNumberFor(customerName, random.nextInt(ShardRouter.NUMBERS_PER_BUCKET));
     }
 }
@@ -0,0 +1,62 @@
+package com.interview.save.account.shard;
+
+import java.util.function.Supplier;
+
+/**
+ * Holds the shard the current thread's database work is routed to.
+ * Read by {@link ShardRoutingDataSource} when a connection is actually needed; without a shard set,
+ * work goes to shard 0.
+ */
+public final class ShardContext
+{
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private ShardContext()
+    {
+    }
+
+    /**
+     * @return The shard of the current thread, or {@code null} if none is set.
+     */
+    public static Integer currentShard()
+    {
+        return CURRENT_SHARD.get();
+    }
+
+    /**
+     * Runs the action with its database work routed to the given shard.
+     * The connection is bound on the first statement, so within one transaction all work must target one shard.
+     *
+     * @param shard  The shard to route to.
+     * @param action The database work.
+     * @return The result of the action.
+     */
+    public static <T> T callOn(final int shard, final Supplier<T> action)
+    {
+        final Integer previous = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shard);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT_SHARD.remove();
+            } else {
+                CURRENT_SHARD.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Runs the action with its database work routed to the given shard, see {@link #callOn(int, Supplier)}.
+     *
+     * @param shard  The shard to route to.
+     * @param action The database work.
+     */
+    public static void runOn(final int shard, final Runnable action)
+    {
+        callOn(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+}
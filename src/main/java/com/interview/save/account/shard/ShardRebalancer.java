@@ -0,0 +1,150 @@
+package com.interview.save.account.shard;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Moves accounts between shards when buckets are reassigned, e.g. after adding a shard.
+ * <p>
+ * Run the application once with {@code accounts.sharding.rebalance-to} set to the new shard of every bucket
+ * (all shards, old and new, must be configured). Afterwards, configure the same list as
+ * {@code accounts.sharding.bucket-assignment}.
+ * <p>
+ * Rows are placed by the bucket of their customer, so all accounts of a customer end up on one shard and the
+ * account limit counts them all. For accounts created by {@link ShardRouter#accountNumberFor} this is also the bucket
+ * of the account number. Legacy accounts, numbered before sharding, do not encode the bucket of their customer: they
+ * are moved with their customer too, and lookups by account number find them by falling back to the other shards.
+ * <p>
+ * Each shard is handled in two steps. First the ids of the rows to move are collected, so no cursor on the source is
+ * open while it is written to. Then the rows are moved in batches: read by id from the source, copied to the new
+ * shard (replacing any copy left by an interrupted earlier run, so the tool can simply be run again), and deleted from
+ * the source only at the version that was copied. Instances may keep serving meanwhile: a row updated or deleted
+ * between the copy and the delete is copied again or its copy removed. Accounts created in a moving bucket while it
+ * runs stay on the old shard, where lookups still find them; running the tool again once the new assignment is
+ * configured moves them.
+ */
+@Component
+public class ShardRebalancer implements ApplicationRunner
+{
+    private static final Logger log = LoggerFactory.getLogger(ShardRebalancer.class);
+    private static final int BATCH_SIZE = 500;
+    // A row is only copied again when it changed in the short window between its copy and its delete
+    private static final int MAX_ATTEMPTS = 10;
+    private static final String COLUMNS = "id, account_number, customer_name, account_nick_name, version";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ShardRouter shardRouter;
+    private final ShardingProperties properties;
+
+    public ShardRebalancer(final JdbcTemplate jdbcTemplate, final ShardRouter shardRouter, final ShardingProperties properties)
+    {
+        this.jdbcTemplate = jdbcTemplate;
+        this.shardRouter = shardRouter;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(final ApplicationArguments args)
+    {
+        if (!properties.isEnabled() || properties.getRebalanceTo().isEmpty()) {
+            return;
+        }
+        final ShardRouter target = new ShardRouter(shardRouter.shardCount(), properties.getRebalanceTo());
+        final long moved = rebalance(target);
+        log.info("Rebalance moved {} accounts; now set accounts.sharding.bucket-assignment={}", moved,
+            properties.getRebalanceTo().stream().map(String::valueOf).collect(Collectors.joining(",")));
+    }
+
+    /**
+     * Moves every account whose customer's bucket is assigned to a different shard in the target router.
+     *
+     * @param target The router with the new bucket assignment.
+     * @return The number of accounts moved.
+     * @throws IllegalStateException if a row kept changing while it was being moved.
+     */
+    public long rebalance(final ShardRouter target)
+    {
+        long moved = 0;
+        for (int source = 0; source < shardRouter.shardCount(); source++) {
+            moved += rebalanceShard(source, target);
+        }
+        return moved;
+    }
+
+    private long rebalanceShard(final int source, final ShardRouter target)
+    {
+        final List<List<Object>> outgoing = new ArrayList<>();
+        for (int shard = 0; shard < target.shardCount(); shard++) {
+            outgoing.add(new ArrayList<>());
+        }
+        ShardContext.runOn(source, () -> jdbcTemplate.query("select id, customer_name from accounts", resultSet -> {
+            final int destination = target.shardForCustomer(resultSet.getString("customer_name"));
+            if (destination != source) {
+                outgoing.get(destination).add(resultSet.getObject("id"));
+            }
+        }));
+        long moved = 0;
+        for (int destination = 0; destination < outgoing.size(); destination++) {
+            final List<Object> ids = outgoing.get(destination);
+            for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+                moved += move(source, destination, ids.subList(from, Math.min(from + BATCH_SIZE, ids.size())));
+            }
+        }
+        return moved;
+    }
+
+    private int move(final int source, final int destination, final List<Object> ids)
+    {
+        int moved = 0;
+        List<Object> pending = ids;
+        for (int attempt = 0; !pending.isEmpty(); attempt++) {
+            if (attempt == MAX_ATTEMPTS) {
+                throw new IllegalStateException(pending.size() + " accounts kept changing while being moved from shard "
+                    + source + " to shard " + destination + "; run the rebalance again.");
+            }
+            // Rows deleted since their id was read are gone from the source; their copies, if any, are removed
+            final List<Object[]> rows = read(source, pending);
+            final List<Object[]> pendingIds = pending.stream().map(id -> new Object[] {id}).toList();
+            ShardContext.runOn(destination, () -> {
+                jdbcTemplate.batchUpdate("delete from accounts where id = ?", pendingIds);
+                jdbcTemplate.batchUpdate("insert into accounts (" + COLUMNS + ") values (?, ?, ?, ?, ?)", rows);
+            });
+            final List<Object[]> copiedVersions = rows.stream().map(row -> new Object[] {row[0], row[4]}).toList();
+            final int[] deleted = ShardContext.callOn(source,
+                () -> jdbcTemplate.batchUpdate("delete from accounts where id = ? and version = ?", copiedVersions));
+            final List<Object> changed = new ArrayList<>();
+            for (int i = 0; i < rows.size(); i++) {
+                if (deleted[i] == 1) {
+                    moved++;
+                } else {
+                    // Updated or deleted after it was read: read again and replace the copy
+                    changed.add(rows.get(i)[0]);
+                }
+            }
+            pending = changed;
+        }
+        return moved;
+    }
+
+    private List<Object[]> read(final int shard, final List<Object> ids)
+    {
+        final String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return ShardContext.callOn(shard, () -> jdbcTemplate.query(
+            "select " + COLUMNS + " from accounts where id in (" + placeholders + ")",
+            (resultSet, rowNumber) -> new Object[] {
+                resultSet.getObject("id"), resultSet.getObject("account_number"),
+                resultSet.getString("customer_name"), resultSet.getString("account_nick_name"),
+                resultSet.getLong("version")
+            },
+            ids.toArray()));
+    }
+}
@@ -0,0 +1,129 @@
+package com.interview.save.account.shard;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Maps customers and account numbers to shards.
+ * <p>
+ * Every customer hashes to one of {@link #BUCKETS} buckets, and buckets are assigned to shards.
+ * Account numbers are allocated so that the number modulo {@link #BUCKETS} is the bucket of its customer,
+ * so an account number alone routes to the shard holding it, and all accounts of a customer live on one shard.
+ * The number of buckets is fixed forever; adding shards only moves buckets, see {@link ShardRebalancer}.
+ */
+public class ShardRouter
+{
+    public static final int BUCKETS = 64;
+    // 1_000_000_000 is a multiple of BUCKETS, so "1%09d" numbers keep their bucket in the remainder
+    public static final int NUMBERS_PER_BUCKET = 1_000_000_000 / BUCKETS;
+
+    private static final int ACCOUNT_NUMBER_LENGTH = 10;
+
+    private final int shardCount;
+    private final int[] bucketToShard;
+
+    /**
+     * @param shardCount       The number of shards.
+     * @param bucketAssignment The shard of each bucket, or an empty list to spread buckets round-robin.
+     */
+    public ShardRouter(final int shardCount, final List<Integer> bucketAssignment)
+    {
+        if (!bucketAssignment.isEmpty() && bucketAssignment.size() != BUCKETS) {
+            throw new IllegalArgumentException("Bucket assignment must list a shard for each of the " + BUCKETS + " buckets.");
+        }
+        this.shardCount = shardCount;
+        this.bucketToShard = bucketAssignment.isEmpty()
+            ? IntStream.range(0, BUCKETS).map(bucket -> bucket % shardCount).toArray()
+            : bucketAssignment.stream().mapToInt(Integer::intValue).toArray();
+        for (int shard : bucketToShard) {
+            if (shard < 0 || shard >= shardCount) {
+                throw new IllegalArgumentException("Bucket assigned to unknown shard " + shard + ".");
+            }
+        }
+    }
+
+    /**
+     * @return The number of shards.
+     */
+    public int shardCount()
+    {
+        return shardCount;
+    }
+
+    /**
+     * @return The shard of every bucket, indexed by bucket.
+     */
+    public int[] bucketAssignment()
+    {
+        return bucketToShard.clone();
+    }
+
+    /**
+     * @param customerName The name of the customer.
+     * @return The bucket of the customer; {@link String#hashCode()} is specified, so this is stable across JVMs.
+     */
+    public int bucketForCustomer(final String customerName)
+    {
+        return Math.floorMod(customerName.hashCode(), BUCKETS);
+    }
+
+    /**
+     * @param accountNumber The account number.
+     * @return The bucket encoded in the account number, or -1 if it is not a 10-digit account number.
+     */
+    public int bucketForAccountNumber(final String accountNumber)
+    {
+        if (accountNumber == null || accountNumber.length() != ACCOUNT_NUMBER_LENGTH) {
+            return -1;
+        }
+        long number = 0;
+        for (int i = 0; i < ACCOUNT_NUMBER_LENGTH; i++) {
+            final char digit = accountNumber.charAt(i);
+            if (digit < '0' || digit > '9') {
+                return -1;
+            }
+            number = number * 10 + (digit - '0');
+        }
+        return (int) (number % BUCKETS);
+    }
+
+    /**
+     * @param bucket The bucket.
+     * @return The shard the bucket is assigned to.
+     */
+    public int shardForBucket(final int bucket)
+    {
+        return bucketToShard[bucket];
+    }
+
+    /**
+     * @param customerName The name of the customer.
+     * @return The shard holding all accounts of the customer.
+     */
+    public int shardForCustomer(final String customerName)
+    {
+        return bucketToShard[bucketForCustomer(customerName)];
+    }
+
+    /**
+     * @param accountNumber The account number.
+     * @return The shard holding the account; malformed account numbers go to shard 0, where they are not found.
+     */
+    public int shardForAccountNumber(final String accountNumber)
+    {
+        final int bucket = bucketForAccountNumber(accountNumber);
+        return bucket < 0 ? 0 : bucketToShard[bucket];
+    }
+
+    /**
+     * Builds an account number for the customer from a random value below {@link #NUMBERS_PER_BUCKET}.
+     *
+     * @param customerName The name of the customer.
+     * @param randomValue  A random value in {@code [0, NUMBERS_PER_BUCKET)}.
+     * @return A 10-digit account number routed to the customer's shard.
+     */
+    public String accountNumberFor(final String customerName, final int randomValue)
+    {
+        return String.format("1%09d", (long) randomValue * BUCKETS + bucketForCustomer(customerName));
+    }
+}
@@ -0,0 +1,39 @@
+package com.interview.save.account.shard;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Routes connections to the shard set in {@link ShardContext}.
+ * Must be wrapped in a {@code LazyConnectionDataSourceProxy} so the target is chosen on the first statement
+ * of a transaction rather than when the transaction begins.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean
+{
+    private final List<DataSource> shards;
+
+    public ShardRoutingDataSource(final List<DataSource> shards)
+    {
+        this.shards = shards;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey()
+    {
+        final Integer shard = ShardContext.currentShard();
+        return shard != null ? shard : 0;
+    }
+
+    @Override
+    public void destroy() throws Exception
+    {
+        for (DataSource shard : shards) {
+            if (shard instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.interview.save.account.shard;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate only creates the schema on the default shard (shard 0). When the schema is generated
+ * ({@code spring.jpa.hibernate.ddl-auto} of {@code create} or {@code create-drop}, e.g. local H2 shards),
+ * this exports it to every other shard too.
+ */
+@Component
+@ConditionalOnProperty(name = "accounts.sharding.enabled", havingValue = "true")
+public class ShardSchemaInitializer
+{
+    private final EntityManagerFactory entityManagerFactory;
+    private final ShardRouter shardRouter;
+    private final String ddlAuto;
+
+    public ShardSchemaInitializer(final EntityManagerFactory entityManagerFactory,
+                                  final ShardRouter shardRouter,
+                                  @Value("${spring.jpa.hibernate.ddl-auto:none}") final String ddlAuto)
+    {
+        this.entityManagerFactory = entityManagerFactory;
+        this.shardRouter = shardRouter;
+        this.ddlAuto = ddlAuto;
+    }
+
+    @EventListener(ContextRefreshedEvent.class)
+    public void createSchemaOnAllShards()
+    {
+        if (!"create".equals(ddlAuto) && !"create-drop".equals(ddlAuto)) {
+            return;
+        }
+        final SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        for (int shard = 1; shard < shardRouter.shardCount(); shard++) {
+            ShardContext.runOn(shard, () -> sessionFactory.getSchemaManager().exportMappedObjects(true));
+        }
+    }
+}
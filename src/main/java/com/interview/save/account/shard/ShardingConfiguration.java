@@ -0,0 +1,64 @@
+package com.interview.save.account.shard;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sharding set-up. The {@link ShardRouter} always exists (with a single shard when sharding is disabled), so
+ * callers route the same way in both modes; the routing datasource replaces the default one only when
+ * {@code accounts.sharding.enabled} is set.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfiguration
+{
+    @Bean
+    public ShardRouter shardRouter(final ShardingProperties properties)
+    {
+        if (!properties.isEnabled()) {
+            return new ShardRouter(1, List.of());
+        }
+        return new ShardRouter(properties.getShards().size(), properties.getBucketAssignment());
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "accounts.sharding.enabled", havingValue = "true")
+    public ShardRoutingDataSource shardRoutingDataSource(final ShardingProperties properties)
+    {
+        final List<DataSource> shards = new ArrayList<>();
+        final Map<Object, Object> targets = new HashMap<>();
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            final DataSource dataSource = DataSourceBuilder.create()
+                .url(shard.getUrl())
+                .username(shard.getUsername())
+                .password(shard.getPassword())
+                .build();
+            targets.put(shards.size(), dataSource);
+            shards.add(dataSource);
+        }
+        final ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource(shards);
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(shards.get(0));
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "accounts.sharding.enabled", havingValue = "true")
+    public DataSource dataSource(final ShardRoutingDataSource shardRoutingDataSource)
+    {
+        // Defers choosing the shard until the first statement, after the service has set the ShardContext
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+}
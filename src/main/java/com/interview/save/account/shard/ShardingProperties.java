@@ -0,0 +1,101 @@
+package com.interview.save.account.shard;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of the account shards ({@code accounts.sharding.*}).
+ */
+@ConfigurationProperties(prefix = "accounts.sharding")
+public class ShardingProperties
+{
+    private boolean enabled;
+
+    // One datasource per shard, the list index is the shard number
+    private List<Shard> shards = new ArrayList<>();
+
+    // Shard of each of the ShardRouter.BUCKETS buckets; empty means bucket modulo shard count
+    private List<Integer> bucketAssignment = new ArrayList<>();
+
+    // Target bucket assignment for ShardRebalancer; empty means no rebalance on start-up
+    private List<Integer> rebalanceTo = new ArrayList<>();
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    public List<Shard> getShards()
+    {
+        return shards;
+    }
+
+    public void setShards(final List<Shard> shards)
+    {
+        this.shards = shards;
+    }
+
+    public List<Integer> getBucketAssignment()
+    {
+        return bucketAssignment;
+    }
+
+    public void setBucketAssignment(final List<Integer> bucketAssignment)
+    {
+        this.bucketAssignment = bucketAssignment;
+    }
+
+    public List<Integer> getRebalanceTo()
+    {
+        return rebalanceTo;
+    }
+
+    public void setRebalanceTo(final List<Integer> rebalanceTo)
+    {
+        this.rebalanceTo = rebalanceTo;
+    }
+
+    public static class Shard
+    {
+        private String url;
+        private String username;
+        private String password;
+
+        public String getUrl()
+        {
+            return url;
+        }
+
+        public void setUrl(final String url)
+        {
+            this.url = url;
+        }
+
+        public String getUsername()
+        {
+            return username;
+        }
+
+        public void setUsername(final String username)
+        {
+            this.username = username;
+        }
+
+        public String getPassword()
+        {
+            return password;
+        }
+
+        public void setPassword(final String password)
+        {
+            this.password = password;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package com.interview.save.account.stats;
+
+import com.interview.save.account.event.AccountCreatedEvent;
+import com.interview.save.account.event.AccountDeletedEvent;
+import com.interview.save.account.model.AccountStatisticsResponse;
+import com.interview.save.account.model.CustomerAccountCount;
+import com.interview.save.account.repository.SavingsAccountRepository;
+import com.interview.save.account.shard.ShardContext;
+import com.interview.save.account.shard.ShardRouter;
+import com.interview.save.account.validation.AccountLimitValidator;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Account statistics maintained incrementally from the create and delete paths, so reading them is O(1)
+ * however many accounts exist.
+ * <p>
+ * Totals are striped {@link LongAdder}s; the per-customer count is kept only to know which "customers holding n
+ * accounts" counter a create or delete moves a customer between. The per-customer counts are checkpointed to a
+ * file so statistics are available straight after a restart, and a reconcile job periodically recomputes
+ * everything from the table with one grouped query per shard, repairing any drift (e.g. an update that raced
+ * with the previous reconcile). Creates and deletes that arrive while the shards are scanned are recorded and
+ * replayed onto the recomputed statistics, so they are not lost when those replace the incremental ones.
+ */
+@Component
+public class AccountStatistics
+{
+    private static final Logger log = LoggerFactory.getLogger(AccountStatistics.class);
+    private static final int LIMIT = AccountLimitValidator.MAX_ACCOUNTS_PER_CUSTOMER;
+
+    private final SavingsAccountRepository accountRepository;
+    private final ShardRouter shardRouter;
+    private final Path checkpointFile;
+    private volatile Counters counters = new Counters();
+    // Set while reconcile scans the shards
+    private volatile Journal journal;
+    private volatile Instant lastReconciledAt;
+
+    public AccountStatistics(final SavingsAccountRepository accountRepository,
+                             final ShardRouter shardRouter,
+                             @Value("${accounts.statistics.checkpoint-file:./data/account-statistics.bin}") final String checkpointFile)
+    {
+        this.accountRepository = accountRepository;
+        this.shardRouter = shardRouter;
+        this.checkpointFile = checkpointFile.isBlank() ? null : Path.of(checkpointFile);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountCreated(final AccountCreatedEvent event)
+    {
+        adjust(event.account().getCustomerName(), 1);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountDeleted(final AccountDeletedEvent event)
+    {
+        adjust(event.account().getCustomerName(), -1);
+    }
+
+    private void adjust(final String customerName, final int delta)
+    {
+        // The journal is read first: if it is already gone, the counters read next are the recomputed ones
+        final Journal current = journal;
+        final Counters target = counters;
+        target.adjust(customerName, delta);
+        if (current != null && target != current.recomputed) {
+            current.record(customerName, delta);
+        }
+    }
+
+    /**
+     * @return The current statistics, read from the counters in constant time.
+     */
+    public AccountStatisticsResponse snapshot()
+    {
+        final Counters current = counters;
+        final Map<Integer, Long> customersByAccountCount = new LinkedHashMap<>();
+        long totalCustomers = 0;
+        for (int accounts = 1; accounts <= LIMIT; accounts++) {
+            final long customers = current.customersWithAccounts[accounts].sum();
+            customersByAccountCount.put(accounts, customers);
+            totalCustomers += customers;
+        }
+        return new AccountStatisticsResponse(
+            current.totalAccounts.sum(),
+            totalCustomers,
+            customersByAccountCount,
+            customersByAccountCount.get(LIMIT - 1) + customersByAccountCount.get(LIMIT),
+            customersByAccountCount.get(LIMIT),
+            lastReconciledAt);
+    }
+
+    /**
+     * @param customerName The name of the customer.
+     * @return The number of accounts the customer holds.
+     */
+    public int accountsOf(final String customerName)
+    {
+        return counters.perCustomer.getOrDefault(customerName, 0);
+    }
+
+    /**
+     * Recomputes the statistics from the table and replaces the incrementally maintained ones.
+     * <p>
+     * Events arriving during the scan are replayed onto the recomputed statistics. An event whose commit the scan of
+     * its shard already saw is counted twice, but only if its listener ran after the scan started, which leaves a
+     * window of the time between a commit and its listener; the next reconcile repairs that.
+     */
+    @Scheduled(fixedDelayString = "${accounts.statistics.reconcile-interval:PT1H}")
+    public void reconcile()
+    {
+        final Counters recomputed = new Counters();
+        final Journal scanJournal = new Journal(recomputed);
+        journal = scanJournal;
+        try {
+            for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+                for (CustomerAccountCount count : ShardContext.callOn(shard, accountRepository::countPerCustomer)) {
+                    recomputed.adjust(count.getCustomerName(), (int) count.getAccountCount());
+                }
+            }
+        } catch (RuntimeException e) {
+            journal = null;
+            log.warn("Account statistics reconcile failed, keeping the incremental statistics", e);
+            return;
+        }
+        final Counters previous = counters;
+        counters = recomputed;
+        scanJournal.replay();
+        journal = null;
+        final long drift = recomputed.totalAccounts.sum() - previous.totalAccounts.sum();
+        if (drift != 0) {
+            log.info("Account statistics reconcile corrected the total by {}", drift);
+        }
+        lastReconciledAt = Instant.now();
+    }
+
+    /**
+     * Writes the per-customer counts to the checkpoint file, replacing it atomically.
+     */
+    @Scheduled(fixedDelayString = "${accounts.statistics.checkpoint-interval:PT1M}",
+        initialDelayString = "${accounts.statistics.checkpoint-interval:PT1M}")
+    public void checkpoint()
+    {
+        if (checkpointFile == null) {
+            return;
+        }
+        try {
+            final Path parent = checkpointFile.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            final Path tempFile = Files.createTempFile(parent, "account-statistics", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                final Map<String, Integer> perCustomer = counters.perCustomer;
+                for (Map.Entry<String, Integer> entry : perCustomer.entrySet()) {
+                    out.writeBoolean(true);
+                    out.writeUTF(entry.getKey());
+                    out.writeInt(entry.getValue());
+                }
+                out.writeBoolean(false);
+            }
+            Files.move(tempFile, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to checkpoint account statistics to {}", checkpointFile, e);
+        }
+    }
+
+    @PostConstruct
+    void loadCheckpoint()
+    {
+        if (checkpointFile == null || !Files.isReadable(checkpointFile)) {
+            return;
+        }
+        final Counters restored = new Counters();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpointFile)))) {
+            while (in.readBoolean()) {
+                restored.adjust(in.readUTF(), in.readInt());
+            }
+            counters = restored;
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable account statistics checkpoint {}, waiting for the reconcile", checkpointFile, e);
+        }
+    }
+
+    /**
+     * The adjustments made to the previous counters while reconcile scans the shards. Once replayed, further
+     * adjustments, from listeners that still read the previous counters, go straight to the recomputed ones.
+     */
+    private static final class Journal
+    {
+        private final Counters recomputed;
+        private final List<Adjustment> adjustments = new ArrayList<>();
+        private boolean replayed;
+
+        Journal(final Counters recomputed)
+        {
+            this.recomputed = recomputed;
+        }
+
+        synchronized void record(final String customerName, final int delta)
+        {
+            if (replayed) {
+                recomputed.adjust(customerName, delta);
+            } else {
+                adjustments.add(new Adjustment(customerName, delta));
+            }
+        }
+
+        synchronized void replay()
+        {
+            replayed = true;
+            for (Adjustment adjustment : adjustments) {
+                recomputed.adjust(adjustment.customerName(), adjustment.delta());
+            }
+            adjustments.clear();
+        }
+    }
+
+    private record Adjustment(String customerName, int delta)
+    {
+    }
+
+    private static class Counters
+    {
+        private final Map<String, Integer> perCustomer = new ConcurrentHashMap<>();
+        private final LongAdder totalAccounts = new LongAdder();
+        // Index n counts the customers holding n accounts; counts above the limit (legacy data) are kept at the limit
+        private final LongAdder[] customersWithAccounts = new LongAdder[LIMIT + 1];
+
+        Counters()
+        {
+            for (int i = 0; i < customersWithAccounts.length; i++) {
+                customersWithAccounts[i] = new LongAdder();
+            }
+        }
+
+        void adjust(final String customerName, final int delta)
+        {
+            // compute is atomic per customer, so concurrent updates of one customer move it between buckets correctly
+            perCustomer.compute(customerName, (name, before) -> {
+                final int previous = before == null ? 0 : before;
+                final int updated = Math.max(0, previous + delta);
+                if (previous > 0) {
+                    customersWithAccounts[Math.min(previous, LIMIT)].decrement();
+                }
+                if (updated > 0) {
+                    customersWithAccounts[Math.min(updated, LIMIT)].increment();
+                }
+                totalAccounts.add(updated - previous);
+                return updated == 0 ? null : updated;
+            });
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.interview.save.account.validation;
 
+import com.interview.save.account.profiling.AccountPhaseEvent;
+import com.interview.save.account.profiling.AccountProfiler;
+import com.interview.save.account.profiling.ProfiledPhase;
 import com.interview.save.account.repository.SavingsAccountRepository;
+import com.interview.save.account.shard.ShardContext;
+import com.interview.save.account.shard.ShardRouter;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,12 +14,16 @@ import org.springframework.stereotype.Component;
 @Component
 public class AccountLimitValidator implements ConstraintValidator<AccountLimit, String>
 {
-    private static final int MAX_ACCOUNTS_PER_CUSTOMER = 5;
+    public static final int MAX_ACCOUNTS_PER_CUSTOMER = 5;
 
     // Autowired to access the repository for counting accounts
     @Autowired
     private SavingsAccountRepository accountRepository;
 
+    // All accounts of a customer live on the customer's shard
+    @Autowired
+    private ShardRouter shardRouter;
+
     @Override
     public void initialize(final AccountLimit constraintAnnotation)
     {
@@ -29,7 +38,14 @@ public class AccountLimitValidator implements ConstraintValidator<AccountLimit,
         }
 
         // Count existing accounts for the customer
-        long existingAccountsCount = accountRepository.countByCustomerName(customerName);
+        final long existingAccountsCount;
+        final AccountPhaseEvent phase = AccountProfiler.startPhase(ProfiledPhase.ACCOUNT_LIMIT_CHECK);
+        try {
+            existingAccountsCount = ShardContext.callOn(shardRouter.shardForCustomer(customerName),
+                () -> accountRepository.countByCustomerName(customerName));
+        } finally {
+            AccountProfiler.endPhase(phase, null);
+        }
 
         // Check if adding a new account would exceed the limit
         return existingAccountsCount < MAX_ACCOUNTS_PER_CUSTOMER;
@@ -1,5 +1,8 @@
 package com.interview.save.account.validation;
 
+import com.interview.save.account.profiling.AccountPhaseEvent;
+import com.interview.save.account.profiling.AccountProfiler;
+import com.interview.save.account.profiling.ProfiledPhase;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import java.util.Arrays;
@@ -24,7 +27,16 @@ public class OffensiveNicknameValidator implements ConstraintValidator<Offensive
             return true; // Null or empty nicknames are handled by @NotBlank or @Size
         }
         // Check if the nickname, case-insensitively, is in the offensive list
-        return OFFENSIVE_NICKNAMES.stream()
-            .noneMatch(offensive -> nickname.equalsIgnoreCase(offensive));
+        final AccountPhaseEvent phase = AccountProfiler.startPhase(ProfiledPhase.NICKNAME_CHECK);
+        try {
+            for (String offensive : OFFENSIVE_NICKNAMES) {
+                if (nickname.equalsIgnoreCase(offensive)) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            AccountProfiler.endPhase(phase, null);
+        }
     }
 }
@@ -0,0 +1,13 @@
+-- Adds the optimistic-locking version of PATCH /api/v1/accounts/{accountNumber} to an existing accounts table
+-- (PostgreSQL) and extends the covering index of the per-customer listing with it, so the listing stays index-only.
+-- Adding a column with a constant default does not rewrite the table. CONCURRENTLY builds the new index without
+-- blocking writes; it cannot run inside a transaction block. Run it on every shard.
+
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_accounts_customer_listing_versioned
+    ON accounts (customer_name, account_number, account_nick_name, id, version);
+DROP INDEX CONCURRENTLY IF EXISTS idx_accounts_customer_listing;
+ALTER INDEX idx_accounts_customer_listing_versioned RENAME TO idx_accounts_customer_listing;
+
+VACUUM ANALYZE accounts;
@@ -0,0 +1,18 @@
+-- Migrates an existing accounts table (PostgreSQL) to the compact schema of SavingsAccount:
+--   id             varchar(255) holding a textual UUID  ->  uuid   (16 bytes instead of 37)
+--   account_number varchar(255) holding 10 digits       ->  bigint (8 bytes instead of 11)
+--
+-- Run it on every shard with the application stopped: ALTER ... TYPE rewrites the table and rebuilds the primary key
+-- and the unique index on account_number under an exclusive lock. Existing ids keep their random (version 4)
+-- values; ids created afterwards are time-ordered (version 7), see TimeOrderedUuid.
+-- The serialized form of cached accounts changes as well, so flush the 'accounts' Redis cache before restarting.
+
+BEGIN;
+
+ALTER TABLE accounts ALTER COLUMN id TYPE uuid USING id::uuid;
+ALTER TABLE accounts ALTER COLUMN account_number TYPE bigint USING account_number::bigint;
+
+COMMIT;
+
+-- Reclaims the space of the old index pages and refreshes the planner statistics
+VACUUM ANALYZE accounts;
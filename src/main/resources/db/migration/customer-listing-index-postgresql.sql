@@ -0,0 +1,9 @@
+-- Adds the covering index of the per-customer account listing (GET /api/v1/customers/{customerName}/accounts)
+-- to an existing accounts table (PostgreSQL). CONCURRENTLY builds it without blocking writes; it cannot run inside a
+-- transaction block. Run it on every shard.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_accounts_customer_listing
+    ON accounts (customer_name, account_number, account_nick_name, id);
+
+-- Index-only scans need the visibility map to be current
+VACUUM ANALYZE accounts;
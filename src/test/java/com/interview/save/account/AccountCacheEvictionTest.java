@@ -0,0 +1,121 @@
+package com.interview.save.account;
+
+import com.interview.save.account.model.SavingsAccount;
+import com.interview.save.account.model.SavingsAccountCreateRequest;
+import com.interview.save.account.repository.SavingsAccountRepository;
+import com.interview.save.account.service.SavingsAccountService;
+import com.interview.save.account.shard.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class AccountCacheEvictionTest
+{
+    // Through the caching proxy, so the @CacheEvict of the service applies
+    private final AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(CachingConfiguration.class);
+    private final SavingsAccountService accountService = context.getBean(SavingsAccountService.class);
+    private final SavingsAccountRepository accountRepository = context.getBean(SavingsAccountRepository.class);
+    private final Cache cache = context.getBean(CacheManager.class).getCache("accounts");
+
+    @AfterEach
+    void tearDown()
+    {
+        context.close();
+    }
+
+    @Test
+    void createAccounts_ShouldEvictOnlyAccountList()
+    {
+        cache.put("1234567890", new SavingsAccount("1234567890", "John Doe", "MySavings"));
+        cache.put("allAccounts", List.of());
+        when(accountRepository.countByCustomerNames(anyCollection())).thenReturn(List.of());
+        when(accountRepository.findByAccountNumberIn(anyCollection())).thenReturn(List.of());
+
+        accountService.createAccounts(List.of(request("Jane Doe")));
+
+        assertNull(cache.get("allAccounts"), "The account list no longer holds every account");
+        assertNotNull(cache.get("1234567890"), "Existing accounts did not change and stay cached");
+    }
+
+    @Test
+    void createAccount_ShouldEvictOnlyAccountList()
+    {
+        cache.put("1234567890", new SavingsAccount("1234567890", "John Doe", "MySavings"));
+        cache.put("allAccounts", List.of());
+        when(accountRepository.save(any(SavingsAccount.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        accountService.createAccount(request("Jane Doe"));
+
+        assertNull(cache.get("allAccounts"));
+        assertNotNull(cache.get("1234567890"));
+    }
+
+    @Test
+    void deleteAccountById_ShouldEvictOnlyDeletedAccountAndAccountList()
+    {
+        final SavingsAccount deleted = new SavingsAccount("1234567890", "John Doe", "MySavings");
+        final UUID id = UUID.randomUUID();
+        cache.put("1234567890", deleted);
+        cache.put("1987654321", new SavingsAccount("1987654321", "Jane Doe", "MySavings"));
+        cache.put("allAccounts", List.of());
+        when(accountRepository.findById(id)).thenReturn(Optional.of(deleted));
+        when(accountRepository.deleteAccountById(id)).thenReturn(1);
+
+        accountService.deleteAccountById(id.toString());
+
+        assertNull(cache.get("1234567890"));
+        assertNull(cache.get("allAccounts"));
+        assertNotNull(cache.get("1987654321"), "Other accounts did not change and stay cached");
+    }
+
+    private static SavingsAccountCreateRequest request(final String customerName)
+    {
+        final SavingsAccountCreateRequest request = new SavingsAccountCreateRequest();
+        request.setCustomerName(customerName);
+        request.setAccountNickname("MySavings");
+        return request;
+    }
+
+    @Configuration
+    @EnableCaching
+    static class CachingConfiguration
+    {
+        @Bean
+        CacheManager cacheManager()
+        {
+            return new ConcurrentMapCacheManager();
+        }
+
+        @Bean
+        SavingsAccountRepository accountRepository()
+        {
+            return mock(SavingsAccountRepository.class);
+        }
+
+        @Bean
+        SavingsAccountService accountService(final SavingsAccountRepository accountRepository,
+                                             final ApplicationEventPublisher eventPublisher,
+                                             final CacheManager cacheManager)
+        {
+            return new SavingsAccountService(accountRepository, new ShardRouter(1, List.of()), eventPublisher, cacheManager,
+                Duration.ofSeconds(5));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.interview.save.account;
+
+import com.interview.save.account.cache.AccountCacheWarmer;
+import com.interview.save.account.controller.SavingsAccountController;
+import com.interview.save.account.exception.ResourceNotFoundException;
+import com.interview.save.account.hotkey.HotAccountDetector;
+import com.interview.save.account.model.SavingsAccount;
+import com.interview.save.account.readmodel.AccountReadModel;
+import com.interview.save.account.repository.SavingsAccountRepository;
+import com.interview.save.account.service.GroupCommitAccountWriter;
+import com.interview.save.account.service.SavingsAccountService;
+import com.interview.save.account.shard.ShardRouter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AccountCacheWarmerTest
+{
+    @TempDir
+    Path directory;
+
+    private final SavingsAccountRepository accountRepository = mock(SavingsAccountRepository.class);
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    private final HotAccountDetector hotAccounts = new HotAccountDetector(100, 1024, false, Duration.ofMinutes(1),
+        beanFactory.getBeanProvider(MeterRegistry.class));
+
+    @Test
+    void writeSnapshot_ShouldBeReadBackToWarmCache_HottestFirst() throws Exception
+    {
+        final Path snapshotFile = directory.resolve("snapshot").resolve("hot-accounts.txt");
+        // Nothing tracked yet: no snapshot rather than an empty one
+        warmer(snapshotFile, Duration.ofSeconds(10)).writeSnapshot();
+        assertFalse(Files.exists(snapshotFile));
+
+        for (int i = 0; i < 3; i++) {
+            hotAccounts.record("1000000003");
+        }
+        hotAccounts.record("1000000001");
+        hotAccounts.record("1000000001");
+        hotAccounts.record("1000000002");
+
+        warmer(snapshotFile, Duration.ofSeconds(10)).writeSnapshot();
+
+        assertEquals(List.of("1000000003", "1000000001", "1000000002"), Files.readAllLines(snapshotFile, StandardCharsets.UTF_8));
+
+        when(accountRepository.findByAccountNumberIn(anyList())).thenAnswer(invocation -> {
+            final List<String> accountNumbers = invocation.getArgument(0);
+            return accountNumbers.stream().map(number -> new SavingsAccount(number, "John Doe", "Savings")).toList();
+        });
+        warmer(snapshotFile, Duration.ofSeconds(10)).run(null);
+
+        final Cache cache = cacheManager.getCache("accounts");
+        for (String accountNumber : List.of("1000000001", "1000000002", "1000000003")) {
+            final SavingsAccount cached = cache.get(accountNumber, SavingsAccount.class);
+            assertNotNull(cached, accountNumber + " should have been warmed");
+            assertEquals(accountNumber, cached.getAccountNumber());
+        }
+    }
+
+    @Test
+    void writeSnapshot_ShouldHoldOnlyAccountsThatWereFound() throws Exception
+    {
+        final Path snapshotFile = directory.resolve("hot-accounts.txt");
+        final SavingsAccountService accountService = mock(SavingsAccountService.class);
+        when(accountService.getAccount("1000000001")).thenReturn(new SavingsAccount("1000000001", "John Doe", "Savings"));
+        when(accountService.getAccount("1999999999")).thenThrow(new ResourceNotFoundException("Not found"));
+        beanFactory.registerSingleton("hotAccountDetector", hotAccounts);
+        final SavingsAccountController controller = new SavingsAccountController(accountService,
+            beanFactory.getBeanProvider(GroupCommitAccountWriter.class), beanFactory.getBeanProvider(AccountReadModel.class),
+            beanFactory.getBeanProvider(HotAccountDetector.class));
+
+        controller.getAccount("1000000001");
+        // Far more requests for an unknown account than for the existing one
+        for (int i = 0; i < 10; i++) {
+            assertThrows(ResourceNotFoundException.class, () -> controller.getAccount("1999999999"));
+        }
+        warmer(snapshotFile, Duration.ofSeconds(10)).writeSnapshot();
+
+        assertEquals(List.of("1000000001"), Files.readAllLines(snapshotFile, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void run_ShouldReturnWithinTimeBudget_WhenDatabaseIsSlow() throws Exception
+    {
+        final Path snapshotFile = directory.resolve("hot-accounts.txt");
+        Files.write(snapshotFile, List.of("1000000001", "1000000002", "1000000003"), StandardCharsets.UTF_8);
+        final CountDownLatch released = new CountDownLatch(1);
+        when(accountRepository.findByAccountNumberIn(anyList())).thenAnswer(invocation -> {
+            // A query that outlives the budget and ignores interrupts
+            while (true) {
+                try {
+                    released.await();
+                    return List.of();
+                } catch (InterruptedException e) {
+                    // Not cancellable, like a statement without a query timeout
+                }
+            }
+        });
+
+        final long start = System.nanoTime();
+        try {
+            warmer(snapshotFile, Duration.ofMillis(200)).run(null);
+        } finally {
+            released.countDown();
+        }
+
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis >= 200 && elapsedMillis < 1000, "Warm-up should stop at its budget, took " + elapsedMillis + " ms");
+        // One batch at a time: the batches queued behind the slow one are not started
+        verify(accountRepository, times(1)).findByAccountNumberIn(anyList());
+    }
+
+    private AccountCacheWarmer warmer(final Path snapshotFile, final Duration timeBudget)
+    {
+        final DefaultListableBeanFactory detectors = new DefaultListableBeanFactory();
+        detectors.registerSingleton("hotAccountDetector", hotAccounts);
+        return new AccountCacheWarmer(accountRepository, new ShardRouter(1, List.of()), cacheManager,
+            detectors.getBeanProvider(HotAccountDetector.class), true, snapshotFile.toString(), 100, 1, 1, timeBudget);
+    }
+}
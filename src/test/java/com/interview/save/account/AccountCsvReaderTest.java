@@ -0,0 +1,80 @@
+package com.interview.save.account;
+
+import com.interview.save.account.importer.AccountCsvReader;
+import com.interview.save.account.importer.ImportRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountCsvReaderTest
+{
+    @TempDir
+    Path directory;
+
+    @Test
+    void next_ShouldSkipHeaderAndBlankLines() throws IOException
+    {
+        try (AccountCsvReader reader = reader("customerName,accountNickname\r\nJohn Doe,My Savings\r\n\r\nJane Doe,Holiday Fund", 64)) {
+            assertRow(reader.next(), 2, "John Doe", "My Savings");
+            assertRow(reader.next(), 4, "Jane Doe", "Holiday Fund");
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void next_ShouldParseQuotedFieldsAcrossBufferBoundaries() throws IOException
+    {
+        // A 4-byte buffer splits every record, including the escaped quotes and the embedded line break
+        final String csv = "\"Doe, John\",\"The \"\"Big\"\" One\"\n\"Jane\nDoe\",Rainy Day\nJos\u00e9,\u00c9pargne\n";
+        try (AccountCsvReader reader = reader(csv, 4)) {
+            assertRow(reader.next(), 1, "Doe, John", "The \"Big\" One");
+            assertRow(reader.next(), 2, "Jane\nDoe", "Rainy Day");
+            assertRow(reader.next(), 4, "Jos\u00e9", "\u00c9pargne");
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void next_ShouldTreatEmptyNicknameAsMissing() throws IOException
+    {
+        try (AccountCsvReader reader = reader("John Doe,\n", 64)) {
+            assertRow(reader.next(), 1, "John Doe", null);
+        }
+    }
+
+    @Test
+    void next_ShouldReportMalformedRecordsAndContinue() throws IOException
+    {
+        final String csv = "John Doe\nJane Doe,Rainy Day,extra\n" + "X".repeat(40) + ",Too Long\nJim Doe,Savings\n\"Open,Nick";
+        try (AccountCsvReader reader = reader(csv, 16)) {
+            assertEquals("Expected 2 fields but found 1", reader.next().error());
+            assertEquals("Expected 2 fields but found 3", reader.next().error());
+            assertEquals("Field longer than 32 bytes", reader.next().error());
+            assertRow(reader.next(), 4, "Jim Doe", "Savings");
+            assertEquals("Unterminated quoted field", reader.next().error());
+            assertNull(reader.next());
+        }
+    }
+
+    private AccountCsvReader reader(final String content, final int bufferSize) throws IOException
+    {
+        final Path file = directory.resolve("accounts.csv");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return new AccountCsvReader(file, bufferSize, 32);
+    }
+
+    private static void assertRow(final ImportRow row, final long lineNumber, final String customerName, final String nickname)
+    {
+        assertNotNull(row);
+        assertNull(row.error());
+        assertEquals(lineNumber, row.lineNumber());
+        assertEquals(customerName, row.customerName());
+        assertEquals(nickname, row.accountNickname());
+    }
+}
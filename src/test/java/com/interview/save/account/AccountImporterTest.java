@@ -0,0 +1,57 @@
+package com.interview.save.account;
+
+import com.interview.save.account.importer.AccountImportReport;
+import com.interview.save.account.importer.AccountImporter;
+import com.interview.save.account.model.SavingsAccountCreateRequest;
+import com.interview.save.account.service.SavingsAccountService;
+import com.interview.save.account.shard.ShardRouter;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class AccountImporterTest
+{
+    @TempDir
+    Path directory;
+
+    @Test
+    void importAccounts_ShouldRejectEveryRowOfBatchThatFails() throws IOException, InterruptedException
+    {
+        final SavingsAccountService accountService = mock(SavingsAccountService.class);
+        final Validator validator = mock(Validator.class);
+        when(validator.validateProperty(any(SavingsAccountCreateRequest.class), eq("accountNickname"))).thenAnswer(invocation -> {
+            final SavingsAccountCreateRequest request = invocation.getArgument(0);
+            if ("Broken".equals(request.getAccountNickname())) {
+                throw new IllegalStateException("Validator failed");
+            }
+            return Set.of();
+        });
+        final AccountImporter importer = new AccountImporter(accountService, new ShardRouter(1, List.of()), validator, 1, 10, 4096);
+        final Path file = directory.resolve("accounts.csv");
+        Files.writeString(file, "customerName,accountNickname\n,No Customer\nJohn Doe,My Savings\nJane Doe,Broken\n",
+            StandardCharsets.UTF_8);
+        final Path errorFile = directory.resolve("accounts.errors.csv");
+
+        final AccountImportReport report = importer.importAccounts(file, errorFile);
+
+        assertEquals(3, report.rows());
+        assertEquals(0, report.imported());
+        assertEquals(3, report.rejected(), "Rows of the failed batch should be rejected, the invalid one only once");
+        final List<String> errors = Files.readAllLines(errorFile, StandardCharsets.UTF_8);
+        assertEquals(4, errors.size());
+        assertEquals("3,\"Validator failed\",\"John Doe\",\"My Savings\"", errors.get(2));
+        verify(accountService, never()).createAccounts(any());
+    }
+}
@@ -0,0 +1,136 @@
+package com.interview.save.account;
+
+import com.interview.save.account.model.AccountResponse;
+import com.interview.save.account.model.SavingsAccount;
+import com.interview.save.account.readmodel.AccountIndex;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountIndexTest
+{
+    private final AccountIndex index = new AccountIndex();
+
+    @Test
+    void get_ShouldReturnStoredAccount()
+    {
+        final SavingsAccount account = account(1234567890L, "John Doe", "My Savings");
+        assertTrue(index.put(account));
+
+        final AccountResponse response = index.get("1234567890");
+        assertNotNull(response);
+        assertEquals(account.getId(), response.getId());
+        assertEquals("1234567890", response.getAccountNumber());
+        assertEquals("John Doe", response.getCustomerName());
+        assertEquals("My Savings", response.getAccountNickname());
+    }
+
+    @Test
+    void get_ShouldReturnNullForUnknownOrMalformedAccountNumbers()
+    {
+        index.put(account(1234567890L, "John Doe", "My Savings"));
+
+        assertNull(index.get("1234567891"));
+        assertNull(index.get("nonExistentAccount"));
+        assertNull(index.get("12345"));
+        assertNull(index.get("0234567890"));
+        assertNull(index.get(null));
+    }
+
+    @Test
+    void put_ShouldReplaceAccountWithSameAccountNumber()
+    {
+        index.put(account(1234567890L, "John Doe", "My Savings"));
+        index.put(account(1234567890L, "John Doe", "Holiday Fund"));
+
+        assertEquals(1, index.size());
+        assertEquals("Holiday Fund", index.get("1234567890").getAccountNickname());
+    }
+
+    @Test
+    void put_ShouldKeepNewerVersion()
+    {
+        final SavingsAccount updated = account(1234567890L, "John Doe", "Holiday Fund");
+        updated.setVersion(2);
+        final SavingsAccount older = new SavingsAccount("1234567890", "John Doe", "My Savings");
+        older.setId(updated.getId());
+        older.setVersion(1);
+
+        assertTrue(index.put(updated));
+        assertFalse(index.put(older));
+
+        final AccountResponse response = index.get("1234567890");
+        assertEquals("Holiday Fund", response.getAccountNickname());
+        assertEquals(2, response.getVersion());
+    }
+
+    @Test
+    void put_ShouldIgnoreAccountsThatCannotBeStoredCompactly()
+    {
+        // Not persisted yet, so without an id
+        final SavingsAccount account = new SavingsAccount("1234567890", "John Doe", "My Savings");
+
+        assertFalse(index.put(account));
+        assertFalse(index.put(new SavingsAccount("12345", "John Doe", "My Savings")));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void customerNames_ShouldBeSharedAndReleasedWithTheirLastAccount()
+    {
+        index.put(account(1000000001L, "John Doe", "First Savings"));
+        index.put(account(1000000002L, "John Doe", "Second Savings"));
+        index.put(account(1000000003L, "Jane Doe", "Third Savings"));
+        assertEquals(2, index.customerCount());
+
+        index.remove("1000000001");
+        assertEquals(2, index.customerCount());
+        index.remove("1000000002");
+        assertEquals(1, index.customerCount());
+        assertEquals("Jane Doe", index.get("1000000003").getCustomerName());
+    }
+
+    @Test
+    void putAndRemove_ShouldMatchHashMapUnderRandomOperations()
+    {
+        // Enough operations to grow the table several times and exercise deletes within probe sequences
+        final Map<Long, SavingsAccount> expected = new HashMap<>();
+        final Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            final long accountNumber = 1_000_000_000L + random.nextInt(20_000) * 64L;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(accountNumber) != null, index.remove(Long.toString(accountNumber)));
+            } else {
+                final SavingsAccount account = account(accountNumber, "Customer" + random.nextInt(1000), "Nickname" + i);
+                index.put(account);
+                expected.put(accountNumber, account);
+            }
+        }
+
+        assertEquals(expected.size(), index.size());
+        for (long accountNumber = 1_000_000_000L; accountNumber < 1_000_000_000L + 20_000 * 64L; accountNumber += 64) {
+            final SavingsAccount account = expected.get(accountNumber);
+            final AccountResponse response = index.get(Long.toString(accountNumber));
+            if (account == null) {
+                assertNull(response);
+            } else {
+                assertNotNull(response, "Account " + accountNumber + " should be found");
+                assertEquals(account.getId(), response.getId());
+                assertEquals(account.getCustomerName(), response.getCustomerName());
+                assertEquals(account.getAccountNickname(), response.getAccountNickname());
+            }
+        }
+    }
+
+    private static SavingsAccount account(final long accountNumber, final String customerName, final String nickname)
+    {
+        final SavingsAccount account = new SavingsAccount(Long.toString(accountNumber), customerName, nickname);
+        account.setId(UUID.randomUUID().toString());
+        return account;
+    }
+}
@@ -1,16 +1,20 @@
 package com.interview.save.account;
 
 import com.interview.save.account.repository.SavingsAccountRepository;
+import com.interview.save.account.shard.ShardRouter;
 import com.interview.save.account.validation.AccountLimitValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.when;
 
@@ -22,6 +26,9 @@ class AccountLimitValidatorTest {
     @Mock
     private SavingsAccountRepository accountRepository;
 
+    @Spy
+    private ShardRouter shardRouter = new ShardRouter(1, List.of()); // Single shard, as when sharding is disabled
+
     @InjectMocks
     private AccountLimitValidator validator;
 
@@ -0,0 +1,34 @@
+package com.interview.save.account;
+
+import com.interview.save.account.model.AccountNumberConverter;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountNumberConverterTest
+{
+    private final AccountNumberConverter converter = new AccountNumberConverter();
+
+    @Test
+    void convertToDatabaseColumn_ShouldConvertCanonicalAccountNumber()
+    {
+        assertEquals(1234567890L, converter.convertToDatabaseColumn("1234567890"));
+        assertEquals(1000000000L, converter.convertToDatabaseColumn("1000000000"));
+        assertEquals(9999999999L, converter.convertToDatabaseColumn("9999999999"));
+        assertEquals("1234567890", converter.convertToEntityAttribute(1234567890L));
+        assertNull(converter.convertToDatabaseColumn(null));
+    }
+
+    @Test
+    void convertToDatabaseColumn_ShouldMatchNoAccount_WhenNotCanonical()
+    {
+        // Each of these would parse to, or close to, the number of a real account
+        for (String accountNumber : Arrays.asList("01234567890", "001234567890", "0123456789", "+1234567890",
+            " 1234567890", "1234567890 ", "123456789", "12345678901", "1234-67890", "", "nonExistentAccount")) {
+            assertEquals(-1L, converter.convertToDatabaseColumn(accountNumber),
+                "Should not resolve to an account: '" + accountNumber + "'");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.interview.save.account;
+
+import com.interview.save.account.event.AccountCreatedEvent;
+import com.interview.save.account.model.AccountStatisticsResponse;
+import com.interview.save.account.model.CustomerAccountCount;
+import com.interview.save.account.model.SavingsAccount;
+import com.interview.save.account.repository.SavingsAccountRepository;
+import com.interview.save.account.shard.ShardRouter;
+import com.interview.save.account.stats.AccountStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AccountStatisticsTest
+{
+    private final SavingsAccountRepository accountRepository = mock(SavingsAccountRepository.class);
+    private final AccountStatistics statistics = new AccountStatistics(accountRepository, new ShardRouter(1, List.of()), "");
+
+    @Test
+    void reconcile_ShouldKeepAccountsCreatedDuringScan()
+    {
+        when(accountRepository.countPerCustomer()).thenAnswer(invocation -> {
+            // Committed after the scan's snapshot, so not in its result
+            statistics.onAccountCreated(new AccountCreatedEvent(new SavingsAccount("1234567891", "Jane Doe", "Rainy Day")));
+            return List.of(count("John Doe", 2));
+        });
+
+        statistics.reconcile();
+
+        final AccountStatisticsResponse snapshot = statistics.snapshot();
+        assertEquals(3, snapshot.getTotalAccounts());
+        assertEquals(1, statistics.accountsOf("Jane Doe"));
+        assertEquals(2, statistics.accountsOf("John Doe"));
+
+        // Later events go to the recomputed statistics
+        statistics.onAccountCreated(new AccountCreatedEvent(new SavingsAccount("1234567892", "Jane Doe", "Holiday Fund")));
+        assertEquals(2, statistics.accountsOf("Jane Doe"));
+    }
+
+    private static CustomerAccountCount count(final String customerName, final long accountCount)
+    {
+        return new CustomerAccountCount()
+        {
+            @Override
+            public String getCustomerName()
+            {
+                return customerName;
+            }
+
+            @Override
+            public long getAccountCount()
+            {
+                return accountCount;
+            }
+        };
+    }
+}
@@ -0,0 +1,104 @@
+package com.interview.save.account;
+
+import com.interview.save.account.logging.AccessLogEvent;
+import com.interview.save.account.logging.AsyncLogPipeline;
+import com.interview.save.account.logging.LogEventType;
+import com.interview.save.account.logging.SqlLogEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncLogPipelineTest
+{
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void log_ShouldWriteEventsAsJsonLinesPerType() throws Exception
+    {
+        final AsyncLogPipeline pipeline = pipeline(1024, DataSize.ofMegabytes(1), 1.0, 1.0);
+        pipeline.start();
+        pipeline.log(new AccessLogEvent(0, "http-nio-1", "GET", "/api/v1/accounts/{accountNumber}", 200, 1500));
+        pipeline.log(new SqlLogEvent(0, "http-nio-1", "select a1_0.id from accounts a1_0 where a1_0.account_number=?"));
+        pipeline.log(new SqlLogEvent(0, "http-nio-1", "insert into accounts (\"name\")\nvalues (?)"));
+        pipeline.stop();
+
+        assertEquals(List.of("{\"time\":\"1970-01-01T00:00:00Z\",\"type\":\"access\",\"thread\":\"http-nio-1\",\"method\":\"GET\","
+            + "\"route\":\"/api/v1/accounts/{accountNumber}\",\"status\":200,\"durationMicros\":1500}"),
+            Files.readAllLines(directory.resolve("access.log")));
+        final List<String> sql = Files.readAllLines(directory.resolve("sql.log"));
+        assertEquals(2, sql.size());
+        assertTrue(sql.get(1).endsWith("\"sql\":\"insert into accounts (\\\"name\\\")\\nvalues (?)\"}"), sql.get(1));
+        assertEquals(2, pipeline.written(LogEventType.SQL));
+        assertEquals(1, meterRegistry.get("accounts.log.events").tag("type", "access").tag("outcome", "written")
+            .functionCounter().count());
+    }
+
+    @Test
+    void log_ShouldDropAndCountEvents_WhenBufferIsFull() throws Exception
+    {
+        final AsyncLogPipeline pipeline = pipeline(8, DataSize.ofMegabytes(1), 1.0, 1.0);
+        // Writer not started yet, so nothing drains the buffer
+        for (int i = 0; i < 20; i++) {
+            pipeline.log(new AccessLogEvent(i, "http-nio-1", "GET", "/api/v1/accounts", 200, 100));
+        }
+        assertEquals(12, pipeline.dropped(LogEventType.ACCESS));
+        assertEquals(12, meterRegistry.get("accounts.log.events").tag("type", "access").tag("outcome", "dropped")
+            .functionCounter().count());
+
+        pipeline.start();
+        pipeline.stop();
+        assertEquals(8, pipeline.written(LogEventType.ACCESS));
+        assertEquals(8, Files.readAllLines(directory.resolve("access.log")).size());
+    }
+
+    @Test
+    void sampled_ShouldFollowTheRateOfEachType()
+    {
+        final AsyncLogPipeline pipeline = pipeline(8, DataSize.ofMegabytes(1), 1.0, 0.0);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(pipeline.sampled(LogEventType.ACCESS));
+            assertFalse(pipeline.sampled(LogEventType.SQL));
+        }
+        assertEquals(100, meterRegistry.get("accounts.log.events").tag("type", "sql").tag("outcome", "unsampled")
+            .functionCounter().count());
+    }
+
+    @Test
+    void log_ShouldRollFilesAndKeepAtMostMaxFiles() throws Exception
+    {
+        final AsyncLogPipeline pipeline = pipeline(4096, DataSize.ofBytes(1000), 1.0, 1.0);
+        pipeline.start();
+        for (int i = 0; i < 1000; i++) {
+            pipeline.log(new SqlLogEvent(i, "http-nio-1", "select a1_0.id from accounts a1_0 where a1_0.account_number=?"));
+        }
+        pipeline.stop();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of("sql.log", "sql.log.1", "sql.log.2"), files.map(file -> file.getFileName().toString()).sorted().toList());
+        }
+        assertTrue(Files.size(directory.resolve("sql.log.1")) <= 1000);
+    }
+
+    private AsyncLogPipeline pipeline(final int bufferSize, final DataSize maxFileSize, final double accessSampleRate,
+                                      final double sqlSampleRate)
+    {
+        final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+        return new AsyncLogPipeline(directory.toString(), bufferSize, 64, maxFileSize, 3, accessSampleRate, sqlSampleRate,
+            beanFactory.getBeanProvider(MeterRegistry.class));
+    }
+}
@@ -0,0 +1,85 @@
+package com.interview.save.account;
+
+import com.interview.save.account.deadline.AbandonedWork;
+import com.interview.save.account.deadline.DeadlineDataSource;
+import com.interview.save.account.deadline.RequestDeadline;
+import com.interview.save.account.exception.DeadlineExceededException;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineDataSourceTest
+{
+    private final DeadlineDataSource dataSource = new DeadlineDataSource(h2());
+
+    @Test
+    void prepareStatement_ShouldApplyRemainingBudgetAsQueryTimeout() throws SQLException
+    {
+        try (Connection connection = dataSource.getConnection()) {
+            final int timeout = RequestDeadline.callWithin(Duration.ofMillis(1500), () -> queryTimeout(connection));
+            // Whole seconds, rounded up
+            assertEquals(2, timeout);
+            assertEquals(0, queryTimeout(connection), "Without a deadline statements are not bounded");
+        }
+    }
+
+    @Test
+    void prepareStatement_ShouldNotSendStatement_WhenDeadlineHasPassed() throws SQLException
+    {
+        final long skipped = RequestDeadline.abandonedCount(AbandonedWork.STATEMENT_SKIPPED);
+        try (Connection connection = dataSource.getConnection()) {
+            assertThrows(DeadlineExceededException.class, () -> RequestDeadline.callWithin(Duration.ZERO,
+                () -> queryTimeout(connection)));
+            // A nested budget cannot extend the outer deadline
+            assertThrows(DeadlineExceededException.class, () -> RequestDeadline.callWithin(Duration.ZERO,
+                () -> RequestDeadline.callWithin(Duration.ofSeconds(10), () -> queryTimeout(connection))));
+        }
+        assertEquals(skipped + 2, RequestDeadline.abandonedCount(AbandonedWork.STATEMENT_SKIPPED));
+    }
+
+    @Test
+    void execute_ShouldCancelStatement_WhenDeadlinePasses() throws SQLException
+    {
+        final long cancelled = RequestDeadline.abandonedCount(AbandonedWork.STATEMENT_CANCELLED);
+        try (Connection connection = dataSource.getConnection()) {
+            final long start = System.nanoTime();
+            assertThrows(DeadlineExceededException.class, () -> RequestDeadline.callWithin(Duration.ofMillis(200), () -> {
+                // Ten billion rows: runs far longer than the deadline unless cancelled
+                try (PreparedStatement statement = connection.prepareStatement(
+                    "select count(*) from system_range(1, 100000) a, system_range(1, 100000) b where a.x + b.x = 7");
+                     ResultSet resultSet = statement.executeQuery()) {
+                    return resultSet.next();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+        }
+        assertEquals(cancelled + 1, RequestDeadline.abandonedCount(AbandonedWork.STATEMENT_CANCELLED));
+    }
+
+    private static int queryTimeout(final Connection connection)
+    {
+        try (PreparedStatement statement = connection.prepareStatement("select 1")) {
+            return statement.getQueryTimeout();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static JdbcDataSource h2()
+    {
+        final JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:deadline;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+}
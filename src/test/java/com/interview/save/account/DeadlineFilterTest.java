@@ -0,0 +1,73 @@
+package com.interview.save.account;
+
+import com.interview.save.account.deadline.DeadlineFilter;
+import com.interview.save.account.deadline.DeadlineProperties;
+import com.interview.save.account.deadline.RequestDeadline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineFilterTest
+{
+    private final DeadlineFilter filter = new DeadlineFilter(properties(), new SimpleMeterRegistry());
+
+    @Test
+    void doFilter_ShouldApplyHeaderTimeout_CappedAtMaximum() throws Exception
+    {
+        assertBudget(1500, "1500");
+        assertBudget(30_000, "3600000");
+    }
+
+    @Test
+    void doFilter_ShouldApplyEndpointTimeout_WhenHeaderIsNotPositive() throws Exception
+    {
+        for (String requested : List.of("0", "-1", "-5000", " 0 ")) {
+            assertBudget(2000, requested);
+        }
+        // Same as a header that is not a number
+        assertBudget(2000, "soon");
+    }
+
+    @Test
+    void doFilter_ShouldApplyDefaultTimeout_WhenNoEndpointMatches() throws Exception
+    {
+        final MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/accounts");
+        request.addHeader("X-Request-Timeout", "0");
+        assertEquals(5000, budgetMillis(request), 50);
+    }
+
+    private void assertBudget(final long expectedMillis, final String requested) throws Exception
+    {
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/accounts/1234567890");
+        request.addHeader("X-Request-Timeout", requested);
+        assertEquals(expectedMillis, budgetMillis(request), 50, "Budget for header '" + requested + "'");
+    }
+
+    private long budgetMillis(final MockHttpServletRequest request) throws Exception
+    {
+        final AtomicLong remaining = new AtomicLong();
+        filter.doFilter(request, new MockHttpServletResponse(),
+            (servletRequest, servletResponse) -> remaining.set(RequestDeadline.remainingNanos()));
+        assertFalse(RequestDeadline.remainingNanos() < Long.MAX_VALUE, "The deadline should end with the request");
+        return TimeUnit.NANOSECONDS.toMillis(remaining.get());
+    }
+
+    private static DeadlineProperties properties()
+    {
+        final DeadlineProperties.Endpoint endpoint = new DeadlineProperties.Endpoint();
+        endpoint.setMethod("GET");
+        endpoint.setPath("/api/v1/accounts/{accountNumber}");
+        endpoint.setTimeout(Duration.ofSeconds(2));
+        final DeadlineProperties properties = new DeadlineProperties();
+        properties.setEndpoints(List.of(endpoint));
+        return properties;
+    }
+}
@@ -0,0 +1,237 @@
+package com.interview.save.account;
+
+import com.interview.save.account.deadline.AbandonedWork;
+import com.interview.save.account.deadline.RequestDeadline;
+import com.interview.save.account.exception.AccountLimitExceededException;
+import com.interview.save.account.exception.DatabaseOperationException;
+import com.interview.save.account.exception.DeadlineExceededException;
+import com.interview.save.account.model.SavingsAccount;
+import com.interview.save.account.model.SavingsAccountCreateRequest;
+import com.interview.save.account.service.AccountCreateOutcome;
+import com.interview.save.account.service.GroupCommitAccountWriter;
+import com.interview.save.account.service.SavingsAccountService;
+import com.interview.save.account.shard.ShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class GroupCommitAccountWriterTest
+{
+    private final SavingsAccountService accountService = mock(SavingsAccountService.class);
+    private final CountDownLatch released = new CountDownLatch(1);
+    private GroupCommitAccountWriter writer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException
+    {
+        released.countDown();
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void create_ShouldCompleteEachCallerWithItsOwnOutcome() throws Exception
+    {
+        when(accountService.createAccounts(anyList())).thenAnswer(invocation -> {
+            final List<SavingsAccountCreateRequest> requests = invocation.getArgument(0);
+            final List<AccountCreateOutcome> outcomes = new ArrayList<>();
+            for (SavingsAccountCreateRequest request : requests) {
+                outcomes.add("Over Limit".equals(request.getCustomerName())
+                    ? AccountCreateOutcome.rejected(new AccountLimitExceededException("Limit reached"))
+                    : AccountCreateOutcome.created(account(accountNumberOf(request.getCustomerName()), request.getCustomerName())));
+            }
+            return outcomes;
+        });
+        // A long window: the batch is written once it is full
+        start(3, Duration.ofSeconds(5), Duration.ofSeconds(10));
+
+        final CompletableFuture<SavingsAccount> john = CompletableFuture.supplyAsync(() -> writer.create(request("John Doe")));
+        final CompletableFuture<SavingsAccount> overLimit = CompletableFuture.supplyAsync(() -> writer.create(request("Over Limit")));
+        final CompletableFuture<SavingsAccount> jane = CompletableFuture.supplyAsync(() -> writer.create(request("Jane Doe")));
+
+        assertEquals(accountNumberOf("John Doe"), john.get(5, TimeUnit.SECONDS).getAccountNumber());
+        assertEquals(accountNumberOf("Jane Doe"), jane.get(5, TimeUnit.SECONDS).getAccountNumber());
+        final Exception e = assertThrows(Exception.class, () -> overLimit.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AccountLimitExceededException.class, e.getCause());
+        // One group commit for all three
+        verify(accountService, times(1)).createAccounts(anyList());
+        verify(accountService, never()).createAccount(any());
+    }
+
+    @Test
+    void create_ShouldRetryOneByOne_WhenBatchFailsOnDuplicate() throws Exception
+    {
+        when(accountService.createAccounts(anyList())).thenThrow(new DatabaseOperationException(
+            "Failed to create accounts due to database error.", new DataIntegrityViolationException("Duplicate account number")));
+        when(accountService.createAccount(any())).thenAnswer(invocation -> {
+            final SavingsAccountCreateRequest request = invocation.getArgument(0);
+            if ("Duplicate".equals(request.getCustomerName())) {
+                throw new DatabaseOperationException("Failed to create account due to database error.",
+                    new DataIntegrityViolationException("Duplicate account number"));
+            }
+            return account(accountNumberOf(request.getCustomerName()), request.getCustomerName());
+        });
+        start(3, Duration.ofSeconds(5), Duration.ofSeconds(10));
+
+        final CompletableFuture<SavingsAccount> john = CompletableFuture.supplyAsync(() -> writer.create(request("John Doe")));
+        final CompletableFuture<SavingsAccount> duplicate = CompletableFuture.supplyAsync(() -> writer.create(request("Duplicate")));
+        final CompletableFuture<SavingsAccount> jane = CompletableFuture.supplyAsync(() -> writer.create(request("Jane Doe")));
+
+        assertEquals(accountNumberOf("John Doe"), john.get(5, TimeUnit.SECONDS).getAccountNumber());
+        assertEquals(accountNumberOf("Jane Doe"), jane.get(5, TimeUnit.SECONDS).getAccountNumber());
+        final Exception e = assertThrows(Exception.class, () -> duplicate.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DatabaseOperationException.class, e.getCause());
+        verify(accountService, times(1)).createAccounts(anyList());
+        verify(accountService, times(3)).createAccount(any());
+    }
+
+    @Test
+    void create_ShouldWriteDirectly_WhenResultTimeoutPassesInQueue() throws Exception
+    {
+        final CountDownLatch flushing = new CountDownLatch(1);
+        when(accountService.createAccounts(anyList())).thenAnswer(invocation -> {
+            flushing.countDown();
+            released.await();
+            return List.of(AccountCreateOutcome.created(account("1000000001", "Slow Writer")));
+        });
+        when(accountService.createAccount(any())).thenReturn(account("1000000002", "Jane Doe"));
+        start(1, Duration.ofMillis(200));
+        final CompletableFuture<SavingsAccount> first = CompletableFuture.supplyAsync(() -> writer.create(request("Slow Writer")));
+        assertTrue(flushing.await(5, TimeUnit.SECONDS));
+
+        // Still queued behind the slow batch when its timeout passes, so the caller claims and writes it
+        assertEquals("1000000002", writer.create(request("Jane Doe")).getAccountNumber());
+
+        released.countDown();
+        assertEquals("1000000001", first.get(5, TimeUnit.SECONDS).getAccountNumber());
+        // The flusher finds the request claimed and does not write it again
+        verify(accountService, after(300).times(1)).createAccounts(anyList());
+        verify(accountService, times(1)).createAccount(any());
+    }
+
+    @Test
+    void create_ShouldWaitForFlusher_WhenResultTimeoutPassesWhileFlusherWrites() throws Exception
+    {
+        final CountDownLatch flushing = new CountDownLatch(1);
+        when(accountService.createAccounts(anyList())).thenAnswer(invocation -> {
+            flushing.countDown();
+            released.await();
+            return List.of(AccountCreateOutcome.created(account("1000000001", "Jane Doe")));
+        });
+        start(1, Duration.ofMillis(100));
+
+        final CompletableFuture<SavingsAccount> created = CompletableFuture.supplyAsync(() -> writer.create(request("Jane Doe")));
+        assertTrue(flushing.await(5, TimeUnit.SECONDS));
+        Thread.sleep(400);
+        assertFalse(created.isDone(), "The caller should wait for the flusher that claimed its request");
+
+        released.countDown();
+        assertEquals("1000000001", created.get(5, TimeUnit.SECONDS).getAccountNumber());
+        verify(accountService, never()).createAccount(any());
+    }
+
+    @Test
+    void create_ShouldFailOnlyItsBatch_WhenFlusherFails() throws Exception
+    {
+        when(accountService.createAccounts(anyList()))
+            .thenThrow(new LinkageError("Broken batch"))
+            .thenReturn(List.of(AccountCreateOutcome.created(account("1000000002", "Jane Doe"))));
+        start(1, Duration.ofSeconds(5));
+
+        assertThrows(LinkageError.class, () -> writer.create(request("John Doe")));
+        // The flusher survives and writes the next batch
+        assertEquals("1000000002", writer.create(request("Jane Doe")).getAccountNumber());
+        verify(accountService, times(2)).createAccounts(anyList());
+        verify(accountService, never()).createAccount(any());
+    }
+
+    @Test
+    void create_ShouldReturn504AndWithdrawRequest_WhenDeadlinePassesInQueue() throws Exception
+    {
+        final CountDownLatch flushing = new CountDownLatch(1);
+        when(accountService.createAccounts(anyList())).thenAnswer(invocation -> {
+            flushing.countDown();
+            released.await();
+            return List.of(AccountCreateOutcome.created(account("1000000001", "Slow Writer")));
+        });
+        start(1, Duration.ofSeconds(5));
+        // Occupies the flusher, so the next create waits in the queue
+        final CompletableFuture<SavingsAccount> first = CompletableFuture.supplyAsync(() -> writer.create(request("Slow Writer")));
+        assertTrue(flushing.await(5, TimeUnit.SECONDS));
+
+        final long withdrawn = RequestDeadline.abandonedCount(AbandonedWork.QUEUED_CREATE);
+        final long start = System.nanoTime();
+        assertThrows(DeadlineExceededException.class,
+            () -> RequestDeadline.callWithin(Duration.ofMillis(200), () -> writer.create(request("Jane Doe"))));
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis < 1000, "The wait should end at the deadline, took " + elapsedMillis + " ms");
+        assertEquals(withdrawn + 1, RequestDeadline.abandonedCount(AbandonedWork.QUEUED_CREATE));
+
+        released.countDown();
+        assertEquals("1000000001", first.get(5, TimeUnit.SECONDS).getAccountNumber());
+        // The withdrawn request is never written
+        verify(accountService, timeout(1000).times(1)).createAccounts(anyList());
+        verify(accountService, never()).createAccount(any());
+    }
+
+    @Test
+    void create_ShouldReturn504_WhenDeadlinePassesWhileFlusherWrites() throws Exception
+    {
+        when(accountService.createAccounts(anyList())).thenAnswer(invocation -> {
+            released.await();
+            return List.of(AccountCreateOutcome.created(account("1000000001", "Jane Doe")));
+        });
+        start(64, Duration.ofSeconds(5));
+
+        final long start = System.nanoTime();
+        assertThrows(DeadlineExceededException.class,
+            () -> RequestDeadline.callWithin(Duration.ofMillis(200), () -> writer.create(request("Jane Doe"))));
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis < 1000, "The wait should end at the deadline, took " + elapsedMillis + " ms");
+        // Already claimed by the flusher, so not written a second time by the caller
+        verify(accountService, never()).createAccount(any());
+    }
+
+    private void start(final int maxBatchSize, final Duration resultTimeout)
+    {
+        start(maxBatchSize, resultTimeout, Duration.ofMillis(5));
+    }
+
+    private void start(final int maxBatchSize, final Duration resultTimeout, final Duration window)
+    {
+        writer = new GroupCommitAccountWriter(accountService, new ShardRouter(1, List.of()), window, maxBatchSize, 16,
+            resultTimeout);
+        writer.start();
+    }
+
+    private static String accountNumberOf(final String customerName)
+    {
+        return "1" + String.format("%09d", Math.floorMod(customerName.hashCode(), 1_000_000_000));
+    }
+
+    private static SavingsAccountCreateRequest request(final String customerName)
+    {
+        final SavingsAccountCreateRequest request = new SavingsAccountCreateRequest();
+        request.setCustomerName(customerName);
+        request.setAccountNickname("Savings");
+        return request;
+    }
+
+    private static SavingsAccount account(final String accountNumber, final String customerName)
+    {
+        return new SavingsAccount(accountNumber, customerName, "Savings");
+    }
+}
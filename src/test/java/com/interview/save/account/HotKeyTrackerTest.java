@@ -0,0 +1,81 @@
+package com.interview.save.account;
+
+import com.interview.save.account.hotkey.HotKey;
+import com.interview.save.account.hotkey.HotKeyTracker;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotKeyTrackerTest
+{
+    private static final Set<String> HOT_KEYS = Set.of("hot-0", "hot-1", "hot-2", "hot-3", "hot-4");
+
+    @Test
+    void hottest_ShouldFindHotKeysAmongManyColdKeys() throws Exception
+    {
+        final HotKeyTracker tracker = new HotKeyTracker(20, 4096);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                final Random random = new Random(thread);
+                futures.add(executor.submit(() -> {
+                    // 30% of the accesses go to 5 keys, the rest to a million others
+                    for (int i = 0; i < 200_000; i++) {
+                        tracker.record(random.nextInt(10) < 3 ? "hot-" + random.nextInt(5) : "cold-" + random.nextInt(1_000_000));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        final List<HotKey> hottest = tracker.hottest(5);
+        assertEquals(HOT_KEYS, hottest.stream().map(HotKey::key).collect(Collectors.toSet()));
+        assertTrue(hottest.get(0).estimatedCount() >= hottest.get(4).estimatedCount());
+        HOT_KEYS.forEach(key -> assertTrue(tracker.isHot(key)));
+        assertEquals(20, tracker.trackedKeys());
+        assertTrue(tracker.topShare() > 0.2 && tracker.topShare() <= 1, "Top share was " + tracker.topShare());
+    }
+
+    @Test
+    void hottest_ShouldFollowRecentTraffic()
+    {
+        final HotKeyTracker tracker = new HotKeyTracker(5, 1024);
+        final Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            tracker.record(random.nextBoolean() ? "old-" + random.nextInt(5) : "cold-" + random.nextInt(100_000));
+        }
+        assertTrue(tracker.isHot("old-0"));
+
+        // Several sketch periods (10 * width additions each) of a different skew
+        for (int i = 0; i < 100_000; i++) {
+            tracker.record(random.nextBoolean() ? "hot-" + random.nextInt(5) : "cold-" + random.nextInt(100_000));
+        }
+        assertEquals(HOT_KEYS, tracker.hottest(5).stream().map(HotKey::key).collect(Collectors.toSet()));
+        assertFalse(tracker.isHot("old-0"));
+        assertEquals(0, tracker.dropped());
+    }
+
+    @Test
+    void hottest_ShouldReturnNothing_WhenNothingWasRecorded()
+    {
+        final HotKeyTracker tracker = new HotKeyTracker(5, 1024);
+
+        assertTrue(tracker.hottest(5).isEmpty());
+        assertFalse(tracker.isHot("hot-0"));
+        assertEquals(0, tracker.topShare());
+    }
+}
@@ -0,0 +1,99 @@
+package com.interview.save.account;
+
+import com.interview.save.account.exception.GlobalExceptionHandler;
+import com.interview.save.account.profiling.FlightRecordingService;
+import com.interview.save.account.profiling.ProfilingController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ProfilingControllerTest
+{
+    private static final String TOKEN = "s3cret-admin-token";
+
+    private final FlightRecordingService recordingService = new FlightRecordingService(Duration.ofMinutes(1), DataSize.ofMegabytes(10));
+
+    @AfterEach
+    void tearDown()
+    {
+        if ("RUNNING".equals(recordingService.status().state())) {
+            recordingService.stop();
+        }
+    }
+
+    @Test
+    void endpoints_ShouldBeDisabled_WhenNoTokenIsConfigured() throws Exception
+    {
+        final MockMvc mockMvc = mockMvc("");
+
+        mockMvc.perform(post("/admin/profiling/recording")).andExpect(status().isUnauthorized());
+        // Not even an empty token matches an empty configuration
+        mockMvc.perform(post("/admin/profiling/recording").header("X-Admin-Token", "")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/admin/profiling/recording").header("X-Admin-Token", TOKEN)).andExpect(status().isUnauthorized());
+        assertEquals("NONE", recordingService.status().state());
+    }
+
+    @Test
+    void endpoints_ShouldReturn401_WhenTokenIsWrongOrMissing() throws Exception
+    {
+        final MockMvc mockMvc = mockMvc(TOKEN);
+
+        mockMvc.perform(post("/admin/profiling/recording").header("X-Admin-Token", TOKEN + "x"))
+            .andExpect(status().isUnauthorized())
+            .andExpect(jsonPath("$.status").value(401));
+        mockMvc.perform(post("/admin/profiling/recording").header("X-Admin-Token", TOKEN.substring(1)))
+            .andExpect(status().isUnauthorized());
+        mockMvc.perform(post("/admin/profiling/recording/stop")).andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/admin/profiling/recording/download").header("X-Admin-Token", "wrong"))
+            .andExpect(status().isUnauthorized());
+        assertEquals("NONE", recordingService.status().state());
+    }
+
+    @Test
+    void startStopDownload_ShouldRecordAndReturnJfrFile_WhenTokenIsValid() throws Exception
+    {
+        final MockMvc mockMvc = mockMvc(TOKEN);
+
+        mockMvc.perform(post("/admin/profiling/recording").header("X-Admin-Token", TOKEN)
+                .param("duration", "PT1H").param("settings", "default"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.state").value("RUNNING"));
+        // Capped at the configured maximum
+        assertEquals(Duration.ofMinutes(1), recordingService.status().duration());
+        mockMvc.perform(post("/admin/profiling/recording/stop").header("X-Admin-Token", TOKEN))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.state").value("STOPPED"));
+
+        final MvcResult download = mockMvc.perform(get("/admin/profiling/recording/download").header("X-Admin-Token", TOKEN))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        final byte[] recording = mockMvc.perform(asyncDispatch(download))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsByteArray();
+        // Every JFR file starts with the magic bytes "FLR\0"
+        assertTrue(recording.length > 4);
+        assertArrayEquals("FLR\0".getBytes(StandardCharsets.US_ASCII), Arrays.copyOf(recording, 4));
+    }
+
+    private MockMvc mockMvc(final String adminToken)
+    {
+        return MockMvcBuilders.standaloneSetup(new ProfilingController(recordingService, adminToken))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+    }
+}
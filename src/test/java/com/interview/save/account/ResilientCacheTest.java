@@ -0,0 +1,170 @@
+package com.interview.save.account;
+
+import com.interview.save.account.cache.CacheCircuitBreaker;
+import com.interview.save.account.cache.CacheResilienceSettings;
+import com.interview.save.account.cache.ResilientCacheManager;
+import com.interview.save.account.support.FakeRedisServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilientCacheTest
+{
+    private FaultyRedisServer redis;
+    private LettuceConnectionFactory connectionFactory;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() throws IOException
+    {
+        redis = FakeRedisServer.start(new FaultyRedisServer());
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", redis.getPort()));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException
+    {
+        redis.stallMillis = 0;
+        connectionFactory.destroy();
+        redis.close();
+    }
+
+    @Test
+    void get_ShouldMissWithinBudgetAndOpenBreaker_WhenRedisIsSlow() throws Exception
+    {
+        final ResilientCacheManager cacheManager = cacheManager(3, Duration.ofMinutes(1));
+        final Cache cache = cacheManager.getCache("accounts");
+        cache.put("1234567890", "cached");
+        assertEquals("cached", cache.get("1234567890", String.class));
+
+        redis.stallMillis = 500;
+        for (int i = 0; i < 3; i++) {
+            final long start = System.nanoTime();
+            assertNull(cache.get("1234567890"));
+            assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(400), "Read should give up after its budget");
+        }
+        assertEquals(CacheCircuitBreaker.State.OPEN, cacheManager.breakerState());
+        assertEquals(1, meterRegistry.get("accounts.cache.redis.breaker.state").tag("state", "open").gauge().value());
+        assertEquals(3, meterRegistry.get("accounts.cache.redis.calls").tag("operation", "get").tag("outcome", "timeout").counter().count());
+
+        // Open: Redis is not called at all
+        redis.stallMillis = 0;
+        Thread.sleep(100);
+        final int commands = redis.dataCommands.get();
+        final long start = System.nanoTime();
+        assertNull(cache.get("1234567890"));
+        cache.put("1234567891", "cached");
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(1, meterRegistry.get("accounts.cache.redis.calls").tag("operation", "get").tag("outcome", "skipped").counter().count());
+        assertEquals(1, meterRegistry.get("accounts.cache.redis.calls").tag("operation", "put").tag("outcome", "skipped").counter().count());
+        assertEquals(commands, redis.dataCommands.get());
+    }
+
+    @Test
+    void evict_ShouldBeReplayedBeforeBreakerCloses_WhenRedisRecovers() throws Exception
+    {
+        final ResilientCacheManager cacheManager = cacheManager(1, Duration.ofMillis(100));
+        final Cache cache = cacheManager.getCache("accounts");
+        cache.put("1234567890", "stale");
+        assertEquals(1, redis.size());
+
+        redis.stallMillis = 300;
+        assertNull(cache.get("1234567890"));
+        assertEquals(CacheCircuitBreaker.State.OPEN, cacheManager.breakerState());
+
+        // Recorded while open, without calling Redis
+        cache.evict("1234567890");
+        assertEquals(1, meterRegistry.get("accounts.cache.redis.pending.evictions").tag("cache", "accounts").gauge().value());
+        assertEquals(1, redis.size());
+
+        redis.stallMillis = 0;
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (cacheManager.breakerState() != CacheCircuitBreaker.State.CLOSED && System.nanoTime() < deadline) {
+            cache.get("1234567891");
+            Thread.sleep(20);
+        }
+        assertEquals(CacheCircuitBreaker.State.CLOSED, cacheManager.breakerState());
+        assertEquals(0, redis.size(), "The eviction should have been replayed");
+        assertEquals(0, meterRegistry.get("accounts.cache.redis.pending.evictions").tag("cache", "accounts").gauge().value());
+        assertTrue(meterRegistry.get("accounts.cache.redis.breaker.opened").counter().count() >= 1);
+    }
+
+    @Test
+    void get_ShouldMissWhileEvictionIsPending() throws Exception
+    {
+        final ResilientCacheManager cacheManager = cacheManager(5, Duration.ofMinutes(1));
+        final Cache cache = cacheManager.getCache("accounts");
+        cache.put("1234567890", "stale");
+        cache.put("1234567891", "other");
+
+        redis.stallMillis = 100;
+        final long start = System.nanoTime();
+        cache.clear();
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(50), "Clear should not wait for Redis");
+        assertNull(cache.get("1234567891"), "A pending clear should hide every entry");
+
+        redis.stallMillis = 0;
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (redis.size() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, redis.size());
+        assertEquals(CacheCircuitBreaker.State.CLOSED, cacheManager.breakerState());
+    }
+
+    private ResilientCacheManager cacheManager(final int failureThreshold, final Duration openDuration)
+    {
+        final RedisCacheManager redisCacheManager = RedisCacheManager.create(connectionFactory);
+        redisCacheManager.afterPropertiesSet();
+        return new ResilientCacheManager(redisCacheManager, new CacheResilienceSettings(Duration.ofMillis(50),
+            Duration.ofMillis(100), Duration.ofMillis(500), failureThreshold, openDuration, 100), meterRegistry);
+    }
+
+    // Stalls data commands on demand, like a Redis that is overloaded or behind a bad network
+    private static final class FaultyRedisServer extends FakeRedisServer
+    {
+        private static final Set<String> DATA_COMMANDS = Set.of("GET", "SET", "DEL", "UNLINK", "KEYS", "EXISTS", "PEXPIRE");
+
+        private final AtomicInteger dataCommands = new AtomicInteger();
+        private volatile long stallMillis;
+
+        private FaultyRedisServer() throws IOException
+        {
+            super();
+        }
+
+        @Override
+        protected void beforeCommand(final String name) throws IOException
+        {
+            if (!DATA_COMMANDS.contains(name)) {
+                return;
+            }
+            dataCommands.incrementAndGet();
+            // Stalled commands are released as soon as the stall is lifted
+            final long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(stallMillis);
+            while (stallMillis > 0 && System.nanoTime() < end) {
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException(e);
+                }
+            }
+        }
+    }
+}
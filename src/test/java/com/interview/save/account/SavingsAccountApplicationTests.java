@@ -1,24 +1,50 @@
 package com.interview.save.account;
 
+import com.interview.save.account.event.AccountCreatedEvent;
+import com.interview.save.account.event.AccountUpdatedEvent;
+import com.interview.save.account.exception.AccountLimitExceededException;
+import com.interview.save.account.exception.AccountVersionConflictException;
 import com.interview.save.account.exception.DatabaseOperationException;
 import com.interview.save.account.exception.ResourceNotFoundException;
+import com.interview.save.account.model.AccountNicknameUpdateRequest;
+import com.interview.save.account.model.CustomerAccountCount;
 import com.interview.save.account.model.SavingsAccount;
 import com.interview.save.account.model.SavingsAccountCreateRequest;
 import com.interview.save.account.repository.SavingsAccountRepository;
+import com.interview.save.account.service.AccountCreateOutcome;
 import com.interview.save.account.service.SavingsAccountService;
+import com.interview.save.account.shard.ShardContext;
+import com.interview.save.account.shard.ShardRouter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessResourceFailureException;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,8 +53,12 @@ class SavingsAccountApplicationTests {
     @Mock
     private SavingsAccountRepository accountRepository; // Mock the repository
 
-    @InjectMocks
-    private SavingsAccountService accountService; // Inject mocks into the service
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    private SavingsAccountService accountService;
 
     private SavingsAccount testAccount;
     private SavingsAccountCreateRequest testRequest;
@@ -36,8 +66,10 @@ class SavingsAccountApplicationTests {
 
     @BeforeEach
     void setUp() {
+        accountService = new SavingsAccountService(accountRepository, new ShardRouter(1, List.of()), eventPublisher, cacheManager, Duration.ofSeconds(5));
+
         testAccount = new SavingsAccount("1234567890", "John Doe", "MySavings");
-        testAccount.setId("some-uuid"); // Simulate ID generation for retrieved account
+        testAccount.setId(UUID.randomUUID().toString()); // Simulate ID generation for retrieved account
 
         testRequest = new SavingsAccountCreateRequest();
         testRequest.setCustomerName("John Doe");
@@ -77,6 +109,69 @@ class SavingsAccountApplicationTests {
         verify(accountRepository, times(1)).save(any(SavingsAccount.class));
     }
 
+    @Test
+    void testCreateAccounts_RejectsOnlyRequestsOverLimitWithinBatch() {
+        // John Doe holds four accounts: the first of his two requests in the batch takes him to the limit
+        when(accountRepository.countByCustomerNames(anyCollection())).thenReturn(List.of(accountCount("John Doe", 4)));
+        when(accountRepository.findByAccountNumberIn(anyCollection())).thenReturn(List.of());
+
+        List<AccountCreateOutcome> outcomes = accountService.createAccounts(
+            List.of(createRequest("John Doe", "Rainy Day"), createRequest("John Doe", "Holiday Fund"), createRequest("Jane Doe", "MySavings")));
+
+        assertEquals(3, outcomes.size());
+        assertNull(outcomes.get(0).error());
+        assertEquals("Rainy Day", outcomes.get(0).account().getAccountNickname());
+        assertNull(outcomes.get(1).account());
+        assertInstanceOf(AccountLimitExceededException.class, outcomes.get(1).error());
+        assertNull(outcomes.get(2).error());
+        assertEquals("Jane Doe", outcomes.get(2).account().getCustomerName());
+        assertNotEquals(outcomes.get(0).account().getAccountNumber(), outcomes.get(2).account().getAccountNumber());
+        for (AccountCreateOutcome outcome : List.of(outcomes.get(0), outcomes.get(2))) {
+            assertTrue(ACCOUNT_NUMBER_PATTERN.matcher(outcome.account().getAccountNumber()).matches());
+        }
+        // One batched insert of the accepted accounts, one event each
+        verify(accountRepository, times(1)).saveAllAndFlush(anyList());
+        verify(accountRepository, never()).save(any(SavingsAccount.class));
+        verify(eventPublisher, times(2)).publishEvent(any(AccountCreatedEvent.class));
+    }
+
+    @Test
+    void testCreateAccounts_RedrawsAccountNumbersTakenInTable() {
+        when(accountRepository.countByCustomerNames(anyCollection())).thenReturn(List.of());
+        // Every number of the first round is taken
+        when(accountRepository.findByAccountNumberIn(anyCollection()))
+            .thenAnswer(invocation -> {
+                final List<SavingsAccount> taken = new ArrayList<>();
+                for (Object accountNumber : (Iterable<?>) invocation.getArgument(0)) {
+                    taken.add(new SavingsAccount((String) accountNumber, "Someone Else", "Taken"));
+                }
+                return taken;
+            })
+            .thenReturn(List.of());
+
+        List<AccountCreateOutcome> outcomes = accountService.createAccounts(
+            List.of(createRequest("John Doe", "Rainy Day"), createRequest("Jane Doe", "MySavings")));
+
+        final Set<String> accountNumbers = new HashSet<>();
+        for (AccountCreateOutcome outcome : outcomes) {
+            assertNull(outcome.error());
+            accountNumbers.add(outcome.account().getAccountNumber());
+        }
+        assertEquals(2, accountNumbers.size());
+        verify(accountRepository, times(2)).findByAccountNumberIn(anyCollection());
+    }
+
+    @Test
+    void testCreateAccounts_DatabaseDown() {
+        when(accountRepository.countByCustomerNames(anyCollection())).thenReturn(List.of());
+        when(accountRepository.findByAccountNumberIn(anyCollection())).thenReturn(List.of());
+        when(accountRepository.saveAllAndFlush(anyList())).thenThrow(new DataAccessResourceFailureException("DB connection lost"));
+
+        // The whole batch fails, so the group-commit writer retries its requests one by one
+        assertThrows(DatabaseOperationException.class,
+            () -> accountService.createAccounts(List.of(createRequest("John Doe", "Rainy Day"))));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
 
     @Test
     void testGetAccount_Success() {
@@ -103,6 +198,23 @@ class SavingsAccountApplicationTests {
         verify(accountRepository, times(1)).findByAccountNumber("nonExistentAccount");
     }
 
+    @Test
+    void testGetCustomerAccounts_Success() {
+        when(accountRepository.findByCustomerNameOrderByAccountNumber("John Doe")).thenReturn(List.of(testAccount));
+
+        List<SavingsAccount> accounts = accountService.getCustomerAccounts("John Doe");
+
+        assertEquals(List.of(testAccount), accounts);
+        verify(accountRepository, times(1)).findByCustomerNameOrderByAccountNumber("John Doe");
+    }
+
+    @Test
+    void testGetCustomerAccounts_DatabaseDown() {
+        when(accountRepository.findByCustomerNameOrderByAccountNumber(anyString())).thenThrow(new DataAccessResourceFailureException("DB connection lost"));
+
+        assertThrows(DatabaseOperationException.class, () -> accountService.getCustomerAccounts("John Doe"));
+    }
+
     @Test
     void testGetAccount_DatabaseDown() {
         // Simulate database access failure during find operation
@@ -113,4 +225,243 @@ class SavingsAccountApplicationTests {
 
         verify(accountRepository, times(1)).findByAccountNumber(anyString());
     }
+
+    @Test
+    void testUpdateAccountNickname_RefreshesCachedAccountInPlace() {
+        final Cache cache = cacheManager.getCache("accounts");
+        cache.put(testAccount.getAccountNumber(), testAccount);
+        cache.put("allAccounts", List.of(testAccount));
+        when(accountRepository.updateAccountNickname(testAccount.getAccountNumber(), "HolidayFund", 0L)).thenReturn(1);
+        when(accountRepository.existsByAccountNumber(testAccount.getAccountNumber())).thenReturn(true);
+
+        SavingsAccount updated = accountService.updateAccountNickname(testAccount.getAccountNumber(), nicknameUpdate("HolidayFund", 0L));
+
+        assertEquals("HolidayFund", updated.getAccountNickname());
+        assertEquals(1, updated.getVersion());
+        assertEquals(testAccount.getId(), updated.getId());
+        assertEquals(testAccount.getCustomerName(), updated.getCustomerName());
+        // The new state follows from the cached account: no read, and the entry is replaced rather than evicted
+        verify(accountRepository, never()).findByAccountNumber(anyString());
+        final SavingsAccount cached = cache.get(testAccount.getAccountNumber(), SavingsAccount.class);
+        assertNotNull(cached);
+        assertEquals("HolidayFund", cached.getAccountNickname());
+        assertEquals(1, cached.getVersion());
+        assertNull(cache.get("allAccounts"));
+        verify(eventPublisher, times(1)).publishEvent(any(AccountUpdatedEvent.class));
+    }
+
+    @Test
+    void testUpdateAccountNickname_DoesNotRestoreAccountDeletedMeanwhile() {
+        final Cache cache = cacheManager.getCache("accounts");
+        cache.put(testAccount.getAccountNumber(), testAccount);
+        when(accountRepository.updateAccountNickname(testAccount.getAccountNumber(), "HolidayFund", 0L)).thenReturn(1);
+        // Deleted, and the cache flushed, before the refreshed entry was written
+        when(accountRepository.existsByAccountNumber(testAccount.getAccountNumber())).thenReturn(false);
+
+        accountService.updateAccountNickname(testAccount.getAccountNumber(), nicknameUpdate("HolidayFund", 0L));
+
+        assertNull(cache.get(testAccount.getAccountNumber()));
+    }
+
+    @Test
+    void testUpdateAccountNickname_ReadsBackUncachedAccount() {
+        final SavingsAccount stored = new SavingsAccount(testAccount.getAccountNumber(), "John Doe", "HolidayFund");
+        stored.setId(testAccount.getId());
+        stored.setVersion(1);
+        when(accountRepository.updateAccountNickname(testAccount.getAccountNumber(), "HolidayFund", 0L)).thenReturn(1);
+        when(accountRepository.findByAccountNumber(testAccount.getAccountNumber())).thenReturn(Optional.of(stored));
+
+        SavingsAccount updated = accountService.updateAccountNickname(testAccount.getAccountNumber(), nicknameUpdate("HolidayFund", 0L));
+
+        assertEquals(1, updated.getVersion());
+        // Accounts that were not cached are not added
+        assertNull(cacheManager.getCache("accounts").get(testAccount.getAccountNumber()));
+    }
+
+    @Test
+    void testUpdateAccountNickname_VersionConflict() {
+        when(accountRepository.updateAccountNickname(testAccount.getAccountNumber(), "HolidayFund", 0L)).thenReturn(0);
+        when(accountRepository.existsByAccountNumber(testAccount.getAccountNumber())).thenReturn(true);
+
+        assertThrows(AccountVersionConflictException.class,
+            () -> accountService.updateAccountNickname(testAccount.getAccountNumber(), nicknameUpdate("HolidayFund", 0L)));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testUpdateAccountNickname_NotFound() {
+        when(accountRepository.updateAccountNickname("1999999999", "HolidayFund", 0L)).thenReturn(0);
+        when(accountRepository.existsByAccountNumber("1999999999")).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class,
+            () -> accountService.updateAccountNickname("1999999999", nicknameUpdate("HolidayFund", 0L)));
+    }
+
+    @Test
+    void testGetAccount_LegacyNumberOnCustomerShard() {
+        // Numbered before sharding: the number routes to shard 0, the rebalancer kept it with its customer on shard 1
+        useShards(2);
+        when(accountRepository.findByAccountNumber(testAccount.getAccountNumber()))
+            .thenAnswer(invocation -> ShardContext.currentShard() == 1 ? Optional.of(testAccount) : Optional.empty());
+
+        assertEquals(testAccount, accountService.getAccount(testAccount.getAccountNumber()));
+        verify(accountRepository, times(2)).findByAccountNumber(testAccount.getAccountNumber());
+    }
+
+    @Test
+    void testUpdateAccountNickname_LegacyNumberOnCustomerShard() {
+        useShards(2);
+        when(accountRepository.updateAccountNickname(testAccount.getAccountNumber(), "HolidayFund", 0L))
+            .thenAnswer(invocation -> ShardContext.currentShard() == 1 ? 1 : 0);
+        when(accountRepository.existsByAccountNumber(testAccount.getAccountNumber()))
+            .thenAnswer(invocation -> ShardContext.currentShard() == 1);
+        when(accountRepository.findByAccountNumber(testAccount.getAccountNumber()))
+            .thenAnswer(invocation -> ShardContext.currentShard() == 1 ? Optional.of(testAccount) : Optional.empty());
+
+        assertEquals(testAccount, accountService.updateAccountNickname(testAccount.getAccountNumber(), nicknameUpdate("HolidayFund", 0L)));
+        verify(accountRepository, times(2)).updateAccountNickname(testAccount.getAccountNumber(), "HolidayFund", 0L);
+    }
+
+    @Test
+    void testUpdateAccountNickname_LegacyNumberVersionConflict() {
+        useShards(2);
+        when(accountRepository.updateAccountNickname(testAccount.getAccountNumber(), "HolidayFund", 0L)).thenReturn(0);
+        when(accountRepository.existsByAccountNumber(testAccount.getAccountNumber()))
+            .thenAnswer(invocation -> ShardContext.currentShard() == 1);
+
+        assertThrows(AccountVersionConflictException.class,
+            () -> accountService.updateAccountNickname(testAccount.getAccountNumber(), nicknameUpdate("HolidayFund", 0L)));
+    }
+
+    @Test
+    void testUpdateAccountNickname_NotFoundOnAnyShard() {
+        useShards(2);
+        when(accountRepository.updateAccountNickname("1999999999", "HolidayFund", 0L)).thenReturn(0);
+        when(accountRepository.existsByAccountNumber("1999999999")).thenReturn(false);
+
+        assertThrows(ResourceNotFoundException.class,
+            () -> accountService.updateAccountNickname("1999999999", nicknameUpdate("HolidayFund", 0L)));
+        verify(accountRepository, times(2)).existsByAccountNumber("1999999999");
+    }
+
+    @Test
+    void testGetAccount_ConcurrentMissesShareOneQuery() throws Exception {
+        final int callers = 16;
+        final CountDownLatch releaseQuery = new CountDownLatch(1);
+        // The first query blocks until every caller has joined it
+        when(accountRepository.findByAccountNumber(testAccount.getAccountNumber())).thenAnswer(invocation -> {
+            releaseQuery.await(5, TimeUnit.SECONDS);
+            return Optional.of(testAccount);
+        });
+
+        final List<Thread> callerThreads = new ArrayList<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(callers, callerThreadFactory(callerThreads));
+        try {
+            final List<Future<SavingsAccount>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> accountService.getAccount(testAccount.getAccountNumber())));
+            }
+            waitForBlockedCallers(callerThreads, callers);
+            releaseQuery.countDown();
+
+            for (Future<SavingsAccount> result : results) {
+                assertEquals(testAccount.getAccountNumber(), result.get(5, TimeUnit.SECONDS).getAccountNumber());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(accountRepository, times(1)).findByAccountNumber(testAccount.getAccountNumber());
+    }
+
+    @Test
+    void testGetAccount_ConcurrentMissesShareOneError() throws Exception {
+        final int callers = 8;
+        final CountDownLatch releaseQuery = new CountDownLatch(1);
+        when(accountRepository.findByAccountNumber(anyString())).thenAnswer(invocation -> {
+            releaseQuery.await(5, TimeUnit.SECONDS);
+            throw new DataAccessResourceFailureException("DB connection lost");
+        });
+
+        final List<Thread> callerThreads = new ArrayList<>();
+        final ExecutorService executor = Executors.newFixedThreadPool(callers, callerThreadFactory(callerThreads));
+        try {
+            final List<Future<SavingsAccount>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> accountService.getAccount("anyAccount")));
+            }
+            waitForBlockedCallers(callerThreads, callers);
+            releaseQuery.countDown();
+
+            for (Future<SavingsAccount> result : results) {
+                final Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(DatabaseOperationException.class, e.getCause());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(accountRepository, times(1)).findByAccountNumber(anyString());
+    }
+
+    private static SavingsAccountCreateRequest createRequest(final String customerName, final String nickname) {
+        final SavingsAccountCreateRequest request = new SavingsAccountCreateRequest();
+        request.setCustomerName(customerName);
+        request.setAccountNickname(nickname);
+        return request;
+    }
+
+    private static CustomerAccountCount accountCount(final String customerName, final long accountCount) {
+        return new CustomerAccountCount() {
+            @Override
+            public String getCustomerName() {
+                return customerName;
+            }
+
+            @Override
+            public long getAccountCount() {
+                return accountCount;
+            }
+        };
+    }
+
+    private static AccountNicknameUpdateRequest nicknameUpdate(final String nickname, final long version) {
+        final AccountNicknameUpdateRequest request = new AccountNicknameUpdateRequest();
+        request.setAccountNickname(nickname);
+        request.setVersion(version);
+        return request;
+    }
+
+    private ThreadFactory callerThreadFactory(final List<Thread> callerThreads) {
+        return runnable -> {
+            final Thread thread = new Thread(runnable);
+            synchronized (callerThreads) {
+                callerThreads.add(thread);
+            }
+            return thread;
+        };
+    }
+
+    // Waits until one caller is inside the query and all others are waiting for its result
+    private void waitForBlockedCallers(final List<Thread> callerThreads, final int callers) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            final long blocked;
+            synchronized (callerThreads) {
+                blocked = callerThreads.stream()
+                    .filter(thread -> thread.getState() == Thread.State.WAITING || thread.getState() == Thread.State.TIMED_WAITING)
+                    .count();
+            }
+            if (blocked >= callers) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private void useShards(final int shardCount) {
+        // Every bucket on shard 0, so legacy numbers route there
+        accountService = new SavingsAccountService(accountRepository, new ShardRouter(shardCount, Collections.nCopies(ShardRouter.BUCKETS, 0)),
+            eventPublisher, cacheManager, Duration.ofSeconds(5));
+    }
 }
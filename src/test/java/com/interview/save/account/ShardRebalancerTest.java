@@ -0,0 +1,158 @@
+package com.interview.save.account;
+
+import com.interview.save.account.shard.ShardContext;
+import com.interview.save.account.shard.ShardRebalancer;
+import com.interview.save.account.shard.ShardRouter;
+import com.interview.save.account.shard.ShardRoutingDataSource;
+import com.interview.save.account.shard.ShardingProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardRebalancerTest
+{
+    private static final int SHARDS = 3;
+
+    private final String databasePrefix = "rebalance-" + UUID.randomUUID();
+    private final ShardRoutingDataSource dataSource = routingDataSource();
+    private Runnable beforeSourceDelete = () -> { };
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource)
+    {
+        @Override
+        public int[] batchUpdate(final String sql, final List<Object[]> batchArgs)
+        {
+            if (sql.contains("and version")) {
+                beforeSourceDelete.run();
+                beforeSourceDelete = () -> { };
+            }
+            return super.batchUpdate(sql, batchArgs);
+        }
+    };
+
+    @AfterEach
+    void tearDown() throws Exception
+    {
+        for (int shard = 0; shard < SHARDS; shard++) {
+            ShardContext.runOn(shard, () -> jdbcTemplate.execute("shutdown"));
+        }
+        dataSource.destroy();
+    }
+
+    @Test
+    void rebalance_ShouldMoveAccountsWithTheirCustomer_IncludingLegacyNumbers()
+    {
+        // Sharding enabled on an existing database: every account is still on shard 0
+        final ShardRouter current = new ShardRouter(SHARDS, Collections.nCopies(ShardRouter.BUCKETS, 0));
+        final ShardRouter target = new ShardRouter(SHARDS, List.of());
+        final Map<String, List<Long>> accountsPerCustomer = new HashMap<>();
+        for (int i = 0; i < 40; i++) {
+            final String customerName = "Customer " + i;
+            final long accountNumber = Long.parseLong(current.accountNumberFor(customerName, i));
+            // Numbered before sharding: the number does not encode the bucket of the customer
+            final long legacyNumber = 1_500_000_000L + 64L * i + Math.floorMod(current.bucketForCustomer(customerName) + 1, 64);
+            insert(0, accountNumber, customerName, 0);
+            insert(0, legacyNumber, customerName, 3);
+            accountsPerCustomer.put(customerName, List.of(accountNumber, legacyNumber));
+        }
+
+        final long moved = rebalancer(current).rebalance(target);
+
+        long expectedMoves = 0;
+        for (Map.Entry<String, List<Long>> customer : accountsPerCustomer.entrySet()) {
+            final int shard = target.shardForCustomer(customer.getKey());
+            expectedMoves += shard == 0 ? 0 : 2;
+            assertEquals(customer.getValue(), accountNumbers(shard, customer.getKey()),
+                "All accounts of " + customer.getKey() + " should be on its shard, where the account limit counts them");
+        }
+        assertEquals(expectedMoves, moved);
+        assertEquals(80, count(0) + count(1) + count(2));
+        assertEquals(3L, ShardContext.callOn(target.shardForCustomer("Customer 1"), () -> jdbcTemplate.queryForObject(
+            "select version from accounts where customer_name = 'Customer 1' and version > 0", Long.class)),
+            "The version should be copied");
+        // Nothing left to move: running it again is a no-op
+        assertEquals(0, rebalancer(target).rebalance(target));
+    }
+
+    @Test
+    void rebalance_ShouldKeepUpdatesAndDeletesMadeWhileMoving()
+    {
+        final ShardRouter current = new ShardRouter(SHARDS, Collections.nCopies(ShardRouter.BUCKETS, 0));
+        final ShardRouter target = new ShardRouter(SHARDS, Collections.nCopies(ShardRouter.BUCKETS, 1));
+        insert(0, Long.parseLong(current.accountNumberFor("Updated", 1)), "Updated", 0);
+        insert(0, Long.parseLong(current.accountNumberFor("Deleted", 2)), "Deleted", 0);
+        insert(0, Long.parseLong(current.accountNumberFor("Unchanged", 3)), "Unchanged", 0);
+        // Other instances write to shard 0 after the rows were copied and before they are deleted there
+        beforeSourceDelete = () -> ShardContext.runOn(0, () -> {
+            jdbcTemplate.update("update accounts set account_nick_name = 'Renamed', version = version + 1 where customer_name = 'Updated'");
+            jdbcTemplate.update("delete from accounts where customer_name = 'Deleted'");
+        });
+
+        assertEquals(2, rebalancer(current).rebalance(target));
+
+        assertEquals(0, count(0));
+        assertEquals(2, count(1));
+        final Map<String, Object> updated = ShardContext.callOn(1, () -> jdbcTemplate.queryForMap(
+            "select account_nick_name, version from accounts where customer_name = 'Updated'"));
+        assertEquals("Renamed", updated.get("account_nick_name"), "The update made during the move should not be lost");
+        assertEquals(1L, ((Number) updated.get("version")).longValue());
+        assertEquals(0L, ShardContext.callOn(1, () -> jdbcTemplate.queryForObject(
+            "select count(*) from accounts where customer_name = 'Deleted'", Long.class)),
+            "The account deleted during the move should not come back");
+    }
+
+    private ShardRebalancer rebalancer(final ShardRouter current)
+    {
+        final ShardingProperties properties = new ShardingProperties();
+        properties.setEnabled(true);
+        return new ShardRebalancer(jdbcTemplate, current, properties);
+    }
+
+    private void insert(final int shard, final long accountNumber, final String customerName, final long version)
+    {
+        ShardContext.runOn(shard, () -> jdbcTemplate.update(
+            "insert into accounts (id, account_number, customer_name, account_nick_name, version) values (?, ?, ?, ?, ?)",
+            UUID.randomUUID(), accountNumber, customerName, "Savings", version));
+    }
+
+    private List<Long> accountNumbers(final int shard, final String customerName)
+    {
+        return ShardContext.callOn(shard, () -> jdbcTemplate.queryForList(
+            "select account_number from accounts where customer_name = ? order by version", Long.class, customerName));
+    }
+
+    private long count(final int shard)
+    {
+        return ShardContext.callOn(shard, () -> jdbcTemplate.queryForObject("select count(*) from accounts", Long.class));
+    }
+
+    private ShardRoutingDataSource routingDataSource()
+    {
+        final List<DataSource> shards = new ArrayList<>();
+        final Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            final DataSource shardDataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + databasePrefix + "-" + shard + ";DB_CLOSE_DELAY=-1", "sa", "");
+            new JdbcTemplate(shardDataSource).execute("create table accounts (id uuid primary key, "
+                + "account_number bigint not null unique, customer_name varchar(255) not null, "
+                + "account_nick_name varchar(255), version bigint not null)");
+            targets.put(shard, shardDataSource);
+            shards.add(shardDataSource);
+        }
+        final ShardRoutingDataSource routing = new ShardRoutingDataSource(shards);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(shards.get(0));
+        routing.afterPropertiesSet();
+        return routing;
+    }
+}
@@ -0,0 +1,56 @@
+package com.interview.save.account;
+
+import com.interview.save.account.shard.ShardRouter;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardRouterTest
+{
+    private static final Pattern ACCOUNT_NUMBER_PATTERN = Pattern.compile("^1\\d{9}$");
+
+    private final ShardRouter router = new ShardRouter(3, List.of());
+
+    @Test
+    void accountNumberFor_ShouldRouteToCustomerShard()
+    {
+        for (String customerName : List.of("John Doe", "Jane Doe", "CustomerA", "CustomerB", "X")) {
+            for (int randomValue : new int[] {0, 1, 12345, ShardRouter.NUMBERS_PER_BUCKET - 1}) {
+                final String accountNumber = router.accountNumberFor(customerName, randomValue);
+                assertTrue(ACCOUNT_NUMBER_PATTERN.matcher(accountNumber).matches(),
+                    "Account number should stay '1' followed by 9 digits: " + accountNumber);
+                assertEquals(router.shardForCustomer(customerName), router.shardForAccountNumber(accountNumber),
+                    "Account number should route to the shard of its customer");
+            }
+        }
+    }
+
+    @Test
+    void shardForAccountNumber_ShouldRouteMalformedNumbersToFirstShard()
+    {
+        assertEquals(0, router.shardForAccountNumber("nonExistentAccount"));
+        assertEquals(0, router.shardForAccountNumber("12345"));
+        assertEquals(0, router.shardForAccountNumber(null));
+    }
+
+    @Test
+    void bucketAssignment_ShouldSpreadBucketsRoundRobinByDefault()
+    {
+        final int[] assignment = router.bucketAssignment();
+        assertEquals(ShardRouter.BUCKETS, assignment.length);
+        for (int bucket = 0; bucket < assignment.length; bucket++) {
+            assertEquals(bucket % 3, assignment[bucket]);
+        }
+    }
+
+    @Test
+    void constructor_ShouldRejectAssignmentToUnknownShard()
+    {
+        final List<Integer> assignment = Collections.nCopies(ShardRouter.BUCKETS, 3);
+        assertThrows(IllegalArgumentException.class, () -> new ShardRouter(3, assignment));
+    }
+}
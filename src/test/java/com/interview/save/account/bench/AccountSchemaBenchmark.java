@@ -0,0 +1,142 @@
+package com.interview.save.account.bench;
+
+import com.interview.save.account.model.TimeOrderedUuid;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Compares the textual account schema (random UUID as VARCHAR id, VARCHAR account number) with the compact one
+ * (time-ordered native UUID id, BIGINT account number) at millions of rows.
+ * <p>
+ * Not a unit test: run the {@code main} method, optionally with the number of rows as argument (default 5,000,000).
+ * Each schema gets its own file-backed H2 database under {@code target/bench}. For each schema one CSV line is printed:
+ * schema, rows, inserts per second, lookups by account number per second, the disk space used by the table with
+ * its indexes, and the size of the database file. The file also holds pages that were rewritten and not compacted
+ * yet, so the difference between the two shows how many pages the inserts rewrote.
+ */
+public final class AccountSchemaBenchmark
+{
+    private static final int BATCH_SIZE = 1000;
+    private static final int LOOKUPS = 500_000;
+
+    private AccountSchemaBenchmark()
+    {
+    }
+
+    public static void main(final String[] args) throws Exception
+    {
+        final int rows = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        System.out.println("schema,rows,inserts_per_second,lookups_per_second,table_and_index_bytes,file_bytes");
+        run("textual", rows,
+            "create table accounts (id varchar(255) primary key, account_number varchar(255) not null unique, "
+                + "customer_name varchar(255) not null, account_nick_name varchar(255))",
+            false);
+        run("compact", rows,
+            "create table accounts (id uuid primary key, account_number bigint not null unique, "
+                + "customer_name varchar(255) not null, account_nick_name varchar(255))",
+            true);
+    }
+
+    private static void run(final String schema, final int rows, final String ddl, final boolean compact) throws Exception
+    {
+        final Path directory = Path.of("target", "bench");
+        Files.createDirectories(directory);
+        final Path file = directory.resolve("schema-" + schema + ".mv.db");
+        Files.deleteIfExists(file);
+        try (Connection connection = DriverManager.getConnection(
+            "jdbc:h2:file:./target/bench/schema-" + schema, "sa", "")) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute(ddl);
+            }
+            connection.setAutoCommit(false);
+
+            final long[] accountNumbers = accountNumbers(rows);
+            final long insertStart = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement(
+                "insert into accounts (id, account_number, customer_name, account_nick_name) values (?, ?, ?, ?)")) {
+                for (int i = 0; i < rows; i++) {
+                    if (compact) {
+                        insert.setObject(1, TimeOrderedUuid.next());
+                        insert.setLong(2, accountNumbers[i]);
+                    } else {
+                        insert.setString(1, UUID.randomUUID().toString());
+                        insert.setString(2, Long.toString(accountNumbers[i]));
+                    }
+                    insert.setString(3, "Customer " + i / 3);
+                    insert.setString(4, "Savings " + i % 1000);
+                    insert.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+                insert.executeBatch();
+                connection.commit();
+            }
+            final double insertSeconds = (System.nanoTime() - insertStart) / 1e9;
+
+            final Random random = new Random(7);
+            long found = 0;
+            final long lookupStart = System.nanoTime();
+            try (PreparedStatement lookup = connection.prepareStatement(
+                "select id, customer_name, account_nick_name from accounts where account_number = ?")) {
+                for (int i = 0; i < LOOKUPS; i++) {
+                    final long accountNumber = accountNumbers[random.nextInt(rows)];
+                    if (compact) {
+                        lookup.setLong(1, accountNumber);
+                    } else {
+                        lookup.setString(1, Long.toString(accountNumber));
+                    }
+                    try (ResultSet resultSet = lookup.executeQuery()) {
+                        found += resultSet.next() ? 1 : 0;
+                    }
+                }
+            }
+            final double lookupSeconds = (System.nanoTime() - lookupStart) / 1e9;
+            if (found != LOOKUPS) {
+                throw new IllegalStateException("Only " + found + " of " + LOOKUPS + " lookups found their account");
+            }
+
+            System.out.printf("%s,%d,%.0f,%.0f,%d,%d%n", schema, rows, rows / insertSeconds, LOOKUPS / lookupSeconds,
+                diskSpaceUsed(connection), Files.size(file));
+        }
+    }
+
+    // Random 10-digit account numbers as the service generates them, unique within the run
+    private static long[] accountNumbers(final int rows)
+    {
+        final long[] accountNumbers = new long[rows];
+        final int step = 999_999_937 / rows;
+        final long offset = new Random(42).nextInt(step);
+        for (int i = 0; i < rows; i++) {
+            accountNumbers[i] = 1_000_000_000L + offset + (long) i * step;
+        }
+        // Shuffle, so that inserts arrive in random account number order
+        final Random random = new Random(42);
+        for (int i = rows - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final long swap = accountNumbers[i];
+            accountNumbers[i] = accountNumbers[j];
+            accountNumbers[j] = swap;
+        }
+        return accountNumbers;
+    }
+
+    private static long diskSpaceUsed(final Connection connection) throws SQLException
+    {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select disk_space_used('ACCOUNTS')")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
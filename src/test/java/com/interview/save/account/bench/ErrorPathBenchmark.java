@@ -0,0 +1,112 @@
+package com.interview.save.account.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.interview.save.account.exception.GlobalExceptionHandler;
+import com.interview.save.account.exception.ResourceNotFoundException;
+import com.interview.save.account.model.ErrorResponse;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * Measures the throughput of the 404 error path: raising the exception, building the error body and serializing it.
+ * <p>
+ * Not a unit test: run the {@code main} method. "before" reproduces the previous error path (an exception with a
+ * captured stack trace, thrown a few frames deep, and a {@code HashMap} body), "after" runs the current one through
+ * {@link GlobalExceptionHandler}. Prints operations per second for each after a warm-up round.
+ */
+public final class ErrorPathBenchmark
+{
+    private static final long MEASURE_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private static final GlobalExceptionHandler HANDLER = new GlobalExceptionHandler();
+
+    private ErrorPathBenchmark()
+    {
+    }
+
+    public static void main(final String[] args) throws Exception
+    {
+        for (int round = 0; round < 2; round++) {
+            final boolean warmUp = round == 0;
+            report("before", ErrorPathBenchmark::before, warmUp);
+            report("after", ErrorPathBenchmark::after, warmUp);
+        }
+    }
+
+    private static void report(final String name, final IntSupplier errorPath, final boolean warmUp)
+    {
+        long operations = 0;
+        int sink = 0;
+        final long end = System.nanoTime() + MEASURE_NANOS;
+        while (System.nanoTime() < end) {
+            sink += errorPath.getAsInt();
+            operations++;
+        }
+        if (!warmUp) {
+            System.out.printf("%s: %.0f errors/s (%d)%n", name, operations / (MEASURE_NANOS / 1e9), sink & 1);
+        }
+    }
+
+    private static int before()
+    {
+        try {
+            lookup(8, true);
+            return 0;
+        } catch (LegacyNotFoundException e) {
+            final Map<String, Object> body = new HashMap<>();
+            body.put("timestamp", LocalDateTime.now());
+            body.put("status", HttpStatus.NOT_FOUND.value());
+            body.put("error", "Not Found");
+            body.put("message", e.getMessage());
+            return serialize(body);
+        }
+    }
+
+    private static int after()
+    {
+        try {
+            lookup(8, false);
+            return 0;
+        } catch (ResourceNotFoundException e) {
+            final ErrorResponse body = HANDLER.handleResourceNotFoundException(e).getBody();
+            return serialize(body);
+        }
+    }
+
+    // A few frames of depth, as a request has between the controller and the repository
+    private static void lookup(final int depth, final boolean legacy)
+    {
+        if (depth > 0) {
+            lookup(depth - 1, legacy);
+            return;
+        }
+        final String message = "Account with number 1000000000 not found.";
+        throw legacy ? new LegacyNotFoundException(message) : new ResourceNotFoundException(message);
+    }
+
+    private static int serialize(final Object body)
+    {
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(body).length;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class LegacyNotFoundException extends RuntimeException
+    {
+        LegacyNotFoundException(final String message)
+        {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.interview.save.account.bench;
+
+import com.interview.save.account.SaveAccountApplication;
+import com.interview.save.account.model.SavingsAccountCreateRequest;
+import com.interview.save.account.service.GroupCommitAccountWriter;
+import com.interview.save.account.service.SavingsAccountService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Compares account creation throughput and latency with and without group commit.
+ * <p>
+ * Not a unit test: run the {@code main} method from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.interview.save.account.bench.GroupCommitBenchmark}.
+ * A file-backed H2 database is used so that every commit really reaches the disk.
+ * For each mode and concurrency level one CSV line is printed: mode, threads, creates per second, p50, p99 and max in microseconds.
+ */
+public final class GroupCommitBenchmark
+{
+    private static final int[] CONCURRENCY_LEVELS = {1, 2, 4, 8, 16, 32, 64};
+    private static final long WARMUP_SECONDS = 3;
+    private static final long MEASURE_SECONDS = 10;
+
+    private GroupCommitBenchmark()
+    {
+    }
+
+    public static void main(final String[] args) throws Exception
+    {
+        System.out.println("mode,threads,creates_per_second,p50_us,p99_us,max_us");
+        run(false);
+        run(true);
+    }
+
+    private static void run(final boolean groupCommit) throws Exception
+    {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SaveAccountApplication.class)
+            .web(WebApplicationType.NONE)
+            // Command-line arguments, so they take precedence over application.properties
+            .run("--spring.datasource.url=jdbc:h2:file:./target/bench/group-commit-" + groupCommit,
+                "--spring.jpa.show-sql=false",
+                "--spring.cache.type=simple",
+                "--accounts.create.group-commit.enabled=" + groupCommit)) {
+            final Consumer<SavingsAccountCreateRequest> create = groupCommit
+                ? context.getBean(GroupCommitAccountWriter.class)::create
+                : context.getBean(SavingsAccountService.class)::createAccount;
+            for (int threads : CONCURRENCY_LEVELS) {
+                measure(create, threads, WARMUP_SECONDS);
+                final long[] latencies = measure(create, threads, MEASURE_SECONDS);
+                Arrays.sort(latencies);
+                System.out.printf("%s,%d,%.0f,%d,%d,%d%n",
+                    groupCommit ? "group-commit" : "per-request", threads,
+                    latencies.length / (double) MEASURE_SECONDS,
+                    percentile(latencies, 0.50), percentile(latencies, 0.99), latencies[latencies.length - 1] / 1000);
+            }
+        }
+    }
+
+    private static long[] measure(final Consumer<SavingsAccountCreateRequest> create, final int threads, final long seconds)
+        throws InterruptedException
+    {
+        final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        final long[][] perThread = new long[threads][];
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            final int index = t;
+            executor.execute(() -> {
+                long[] latencies = new long[1 << 12];
+                int count = 0;
+                while (System.nanoTime() < end) {
+                    final SavingsAccountCreateRequest request = new SavingsAccountCreateRequest();
+                    // A fresh customer per request keeps the account limit out of the measurement
+                    request.setCustomerName(UUID.randomUUID().toString());
+                    request.setAccountNickname("Benchmark");
+                    final long start = System.nanoTime();
+                    create.accept(request);
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - start;
+                }
+                perThread[index] = Arrays.copyOf(latencies, count);
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 60, TimeUnit.SECONDS);
+        return Arrays.stream(perThread).flatMapToLong(Arrays::stream).toArray();
+    }
+
+    private static long percentile(final long[] sortedLatencies, final double percentile)
+    {
+        final int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(index, 0)] / 1000;
+    }
+}
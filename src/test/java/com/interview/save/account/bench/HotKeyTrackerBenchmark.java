@@ -0,0 +1,105 @@
+package com.interview.save.account.bench;
+
+import com.interview.save.account.hotkey.HotKey;
+import com.interview.save.account.hotkey.HotKeyTracker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures the cost of {@link HotKeyTracker#record(String)} per access, with 1 to 2 x cores threads recording a
+ * Zipf-like stream (a few keys get most accesses, as on the account endpoint), and how many of the true 10 hottest
+ * keys it reports.
+ * <p>
+ * Not a unit test: run the {@code main} method, optionally with the number of distinct keys as argument
+ * (default 1,000,000). The tracker's memory does not depend on it.
+ */
+public final class HotKeyTrackerBenchmark
+{
+    private static final int RECORDS_PER_THREAD = 5_000_000;
+    private static final int STREAM_LENGTH = 1 << 20;
+
+    private HotKeyTrackerBenchmark()
+    {
+    }
+
+    public static void main(final String[] args) throws Exception
+    {
+        final int keys = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        final String[] stream = zipfStream(keys);
+
+        System.out.println("threads,keys,ns_per_record,dropped_pct,top10_found");
+        final int maxThreads = 2 * Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            // Warm-up run for the JIT, then the measured run
+            run(stream, threads);
+            final HotKeyTracker tracker = new HotKeyTracker(100, 65536);
+            final long elapsed = run(tracker, stream, threads);
+            int found = 0;
+            for (HotKey hotKey : tracker.hottest(10)) {
+                // The i-th hottest key of the stream is "key-i"
+                if (Integer.parseInt(hotKey.key().substring(4)) < 10) {
+                    found++;
+                }
+            }
+            final long records = (long) threads * RECORDS_PER_THREAD;
+            System.out.printf("%d,%d,%.1f,%.1f,%d%n", threads, keys, (double) elapsed * threads / records,
+                100.0 * tracker.dropped() / records, found);
+        }
+    }
+
+    private static void run(final String[] stream, final int threads) throws Exception
+    {
+        run(new HotKeyTracker(100, 65536), stream, threads);
+    }
+
+    private static long run(final HotKeyTracker tracker, final String[] stream, final int threads) throws Exception
+    {
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            final long start = System.nanoTime();
+            for (int thread = 0; thread < threads; thread++) {
+                final int offset = thread * (STREAM_LENGTH / threads);
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < RECORDS_PER_THREAD; i++) {
+                        tracker.record(stream[(offset + i) & (STREAM_LENGTH - 1)]);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - start;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    // Key i is drawn with a probability proportional to 1 / (i + 1)
+    private static String[] zipfStream(final int keys)
+    {
+        final double[] cumulative = new double[keys];
+        double sum = 0;
+        for (int i = 0; i < keys; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        final String[] names = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            names[i] = "key-" + i;
+        }
+        final Random random = new Random(7);
+        final String[] stream = new String[STREAM_LENGTH];
+        for (int i = 0; i < STREAM_LENGTH; i++) {
+            final int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            stream[i] = names[index >= 0 ? index : Math.min(keys - 1, -index - 1)];
+        }
+        return stream;
+    }
+}
@@ -0,0 +1,208 @@
+package com.interview.save.account.bench;
+
+import com.interview.save.account.SaveAccountApplication;
+import com.interview.save.account.profiling.AccountPhaseEvent;
+import com.interview.save.account.profiling.AccountProfiler;
+import com.interview.save.account.profiling.AccountRequestEvent;
+import com.interview.save.account.profiling.ProfiledPhase;
+import com.interview.save.account.support.FakeRedisServer;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures the overhead of the account JFR events on {@code GET /api/v1/accounts/{accountNumber}}.
+ * <p>
+ * Not a unit test: run the {@code main} method. The application runs with the Redis cache against
+ * {@link FakeRedisServer}; a closed loop of HTTP clients is measured without a recording, with a recording of only the
+ * account events, and with the JDK's "default" settings plus the account events. The modes are measured in turns over
+ * several rounds (10, or the first argument) to even out drift, in a rotating order so no mode always follows another.
+ * A recording is started a few seconds before its round is measured, as starting one is a one-off cost. One CSV line
+ * is printed per mode: the median requests per second of the rounds with their lowest and highest, p50 and p99 in
+ * microseconds over all rounds, and the throughput overhead relative to no recording. The overhead is the median of
+ * the per-round ratios to the no-recording run of the same round, as the throughput drifts more between rounds than
+ * between the modes of one round.
+ * <p>
+ * Before the application starts, the cost of one phase timed with {@link AccountProfiler#startPhase} and
+ * {@link AccountProfiler#endPhase} is printed, in nanoseconds and allocated bytes per call, without and with a
+ * recording.
+ */
+public final class JfrOverheadBenchmark
+{
+    private static final int THREADS = 16;
+    private static final int ACCOUNTS = 1000;
+    private static final int ROUNDS = 10;
+    private static final long WARMUP_SECONDS = 20;
+    private static final long SETTLE_SECONDS = 2;
+    private static final long MEASURE_SECONDS = 10;
+    private static final int PHASE_CALLS = 10_000_000;
+    private static final Pattern ACCOUNT_NUMBER = Pattern.compile("\"accountNumber\":\"(\\d+)\"");
+    private static final String[] MODES = {"no-recording", "account-events", "default+account-events"};
+
+    private JfrOverheadBenchmark()
+    {
+    }
+
+    public static void main(final String[] args) throws Exception
+    {
+        final int rounds = args.length > 0 ? Integer.parseInt(args[0]) : ROUNDS;
+        System.out.println("recording,phase_ns,phase_bytes");
+        for (int mode = 0; mode < 2; mode++) {
+            try (Recording recording = recording(mode)) {
+                phaseCost(MODES[mode], PHASE_CALLS);
+                phaseCost(MODES[mode], PHASE_CALLS);
+            }
+        }
+
+        try (FakeRedisServer redis = FakeRedisServer.start();
+             // Arguments, not default properties: application.properties would override those
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(SaveAccountApplication.class)
+                 .run("--server.port=0",
+                     "--spring.jpa.show-sql=false",
+                     "--spring.jpa.properties.hibernate.format_sql=false",
+                     "--spring.data.redis.host=127.0.0.1",
+                     "--spring.data.redis.port=" + redis.getPort())) {
+            final String baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+            final HttpClient client = HttpClient.newHttpClient();
+            final List<String> accountNumbers = seed(client, baseUrl);
+
+            measure(client, baseUrl, accountNumbers, WARMUP_SECONDS);
+            final double[][] throughput = new double[MODES.length][rounds];
+            final List<List<long[]>> latencies = new ArrayList<>();
+            for (int mode = 0; mode < MODES.length; mode++) {
+                latencies.add(new ArrayList<>());
+            }
+            for (int round = 0; round < rounds; round++) {
+                for (int turn = 0; turn < MODES.length; turn++) {
+                    final int mode = (round + turn) % MODES.length;
+                    try (Recording recording = recording(mode)) {
+                        measure(client, baseUrl, accountNumbers, SETTLE_SECONDS);
+                        final long[] roundLatencies = measure(client, baseUrl, accountNumbers, MEASURE_SECONDS);
+                        throughput[mode][round] = roundLatencies.length / (double) MEASURE_SECONDS;
+                        latencies.get(mode).add(roundLatencies);
+                    }
+                }
+            }
+
+            System.out.println("mode,requests_per_second,lowest,highest,p50_us,p99_us,throughput_overhead_percent");
+            for (int mode = 0; mode < MODES.length; mode++) {
+                final long[] all = latencies.get(mode).stream().flatMapToLong(Arrays::stream).sorted().toArray();
+                final double[] sorted = throughput[mode].clone();
+                Arrays.sort(sorted);
+                final double[] overheads = new double[rounds];
+                for (int round = 0; round < rounds; round++) {
+                    overheads[round] = 1 - throughput[mode][round] / throughput[0][round];
+                }
+                System.out.printf("%s,%.0f,%.0f,%.0f,%d,%d,%.2f%n", MODES[mode], median(sorted), sorted[0],
+                    sorted[sorted.length - 1], all[all.length / 2] / 1000, all[(int) (all.length * 0.99)] / 1000,
+                    100 * median(overheads));
+            }
+        }
+    }
+
+    private static void phaseCost(final String mode, final int calls)
+    {
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        final long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+        final long start = System.nanoTime();
+        for (int i = 0; i < calls; i++) {
+            final AccountPhaseEvent phase = AccountProfiler.startPhase(ProfiledPhase.CACHE_GET);
+            AccountProfiler.endPhase(phase, null);
+        }
+        final long nanos = System.nanoTime() - start;
+        final long bytes = threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+        System.out.printf("%s,%.1f,%.1f%n", mode, nanos / (double) calls, bytes / (double) calls);
+    }
+
+    private static double median(final double[] values)
+    {
+        final double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted.length % 2 == 1
+            ? sorted[sorted.length / 2]
+            : (sorted[sorted.length / 2 - 1] + sorted[sorted.length / 2]) / 2;
+    }
+
+    private static Recording recording(final int mode) throws Exception
+    {
+        if (mode == 0) {
+            return null;
+        }
+        // Mode 1 starts from empty settings, so only the account events are recorded and their own cost is isolated
+        final Recording recording = mode == 1
+            ? new Recording()
+            : new Recording(Configuration.getConfiguration("default"));
+        recording.enable(AccountRequestEvent.class);
+        recording.enable(AccountPhaseEvent.class);
+        recording.setToDisk(true);
+        recording.start();
+        return recording;
+    }
+
+    private static List<String> seed(final HttpClient client, final String baseUrl) throws Exception
+    {
+        final List<String> accountNumbers = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            final HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/accounts"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                    "{\"customerName\":\"Benchmark Customer " + i + "\",\"accountNickname\":\"Benchmark\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+            final Matcher matcher = ACCOUNT_NUMBER.matcher(response.body());
+            if (!matcher.find()) {
+                throw new IllegalStateException("Unexpected create response: " + response.body());
+            }
+            accountNumbers.add(matcher.group(1));
+        }
+        return accountNumbers;
+    }
+
+    private static long[] measure(final HttpClient client, final String baseUrl, final List<String> accountNumbers,
+                                  final long seconds) throws InterruptedException
+    {
+        final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        final long[][] perThread = new long[THREADS][];
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            final int index = t;
+            executor.execute(() -> {
+                long[] latencies = new long[1 << 14];
+                int count = 0;
+                while (System.nanoTime() < end) {
+                    final String accountNumber = accountNumbers.get(ThreadLocalRandom.current().nextInt(accountNumbers.size()));
+                    final HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/v1/accounts/" + accountNumber)).build();
+                    final long start = System.nanoTime();
+                    try {
+                        client.send(request, HttpResponse.BodyHandlers.discarding());
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - start;
+                }
+                perThread[index] = Arrays.copyOf(latencies, count);
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 60, TimeUnit.SECONDS);
+        return Arrays.stream(perThread).flatMapToLong(Arrays::stream).toArray();
+    }
+}
@@ -0,0 +1,160 @@
+package com.interview.save.account.bench;
+
+import com.interview.save.account.model.AccountResponse;
+import com.interview.save.account.model.SavingsAccount;
+import com.interview.save.account.readmodel.AccountIndex;
+import com.interview.save.account.support.FakeRedisServer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Compares the per-account memory footprint and the lookup latency of the {@link AccountIndex} read model with the
+ * account caches: an in-process {@link ConcurrentMapCache} (what {@code spring.cache.type=simple} uses) and the
+ * Redis cache, here against {@link FakeRedisServer} on loopback.
+ * <p>
+ * Not a unit test: run the {@code main} method, optionally with the number of accounts as argument (default 1,000,000).
+ * Heap footprints are measured as the growth of the used heap after full GCs, so run it with a fixed heap and the
+ * serial collector (e.g. {@code -Xms4g -Xmx4g -XX:+UseSerialGC}), whose used heap is exact after a full GC.
+ * Lookups from the caches include building the {@link AccountResponse}, which the read model returns directly. Redis holds its entries out of process; the serialized size per entry is printed instead.
+ */
+public final class ReadModelBenchmark
+{
+    private static final int LOOKUPS = 2_000_000;
+    private static final int REDIS_ACCOUNTS = 50_000;
+    private static final int REDIS_LOOKUPS = 100_000;
+
+    private ReadModelBenchmark()
+    {
+    }
+
+    public static void main(final String[] args) throws Exception
+    {
+        final int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        final String[] accountNumbers = accountNumbers(accounts);
+
+        final long baseline = usedHeap();
+        final AccountIndex index = new AccountIndex();
+        for (String accountNumber : accountNumbers) {
+            index.put(account(accountNumber));
+        }
+        final long indexBytes = usedHeap() - baseline;
+
+        final Cache mapCache = new ConcurrentMapCache("accounts");
+        for (String accountNumber : accountNumbers) {
+            mapCache.put(accountNumber, account(accountNumber));
+        }
+        final long mapCacheBytes = usedHeap() - baseline - indexBytes;
+
+        System.out.println("store,accounts,bytes_per_account,p50_ns,p99_ns,max_ns");
+        report("read-model", accounts, indexBytes, measure(accountNumbers, LOOKUPS, index::get));
+        report("in-process-cache", accounts, mapCacheBytes, measure(accountNumbers, LOOKUPS, accountNumber -> response(mapCache, accountNumber)));
+        // Keep both stores reachable until here, so neither footprint is collected early
+        System.out.printf("(%d accounts indexed, %s cached)%n", index.size(), mapCache.getNativeCache().getClass().getSimpleName());
+
+        measureRedis(Arrays.copyOf(accountNumbers, Math.min(accounts, REDIS_ACCOUNTS)));
+    }
+
+    private static void measureRedis(final String[] accountNumbers) throws Exception
+    {
+        try (FakeRedisServer redis = FakeRedisServer.start()) {
+            final LettuceConnectionFactory connectionFactory =
+                new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", redis.getPort()));
+            connectionFactory.afterPropertiesSet();
+            connectionFactory.start();
+            try {
+                final RedisCacheManager cacheManager = RedisCacheManager.create(connectionFactory);
+                cacheManager.afterPropertiesSet();
+                final Cache redisCache = cacheManager.getCache("accounts");
+                for (String accountNumber : accountNumbers) {
+                    redisCache.put(accountNumber, account(accountNumber));
+                }
+                // Same value serialization as the application's cache
+                final int entryBytes = new JdkSerializationRedisSerializer().serialize(account(accountNumbers[0])).length
+                    + ("accounts::" + accountNumbers[0]).length();
+                report("redis-cache (serialized entry)", accountNumbers.length, (long) entryBytes * accountNumbers.length,
+                    measure(accountNumbers, REDIS_LOOKUPS, accountNumber -> response(redisCache, accountNumber)));
+            } finally {
+                connectionFactory.destroy();
+            }
+        }
+    }
+
+    // A cached entity still has to be turned into the response, as SavingsAccountController#getAccount does
+    private static AccountResponse response(final Cache cache, final String accountNumber)
+    {
+        final SavingsAccount account = cache.get(accountNumber, SavingsAccount.class);
+        return account != null
+            ? new AccountResponse(account.getId(), account.getAccountNumber(), account.getCustomerName(),
+                account.getAccountNickname(), account.getVersion())
+            : null;
+    }
+
+    private static long[] measure(final String[] accountNumbers, final int lookups, final Function<String, Object> lookup)
+    {
+        final Random random = new Random(7);
+        // Warm-up round for the JIT, then the measured round
+        for (int round = 0; round < 2; round++) {
+            final long[] latencies = new long[lookups];
+            for (int i = 0; i < lookups; i++) {
+                final String accountNumber = accountNumbers[random.nextInt(accountNumbers.length)];
+                final long start = System.nanoTime();
+                final Object found = lookup.apply(accountNumber);
+                latencies[i] = System.nanoTime() - start;
+                if (found == null) {
+                    throw new IllegalStateException("Account " + accountNumber + " not found");
+                }
+            }
+            if (round == 1) {
+                Arrays.sort(latencies);
+                return latencies;
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private static void report(final String store, final int accounts, final long bytes, final long[] latencies)
+    {
+        System.out.printf("%s,%d,%d,%d,%d,%d%n", store, accounts, bytes / accounts,
+            latencies[latencies.length / 2], latencies[(int) (latencies.length * 0.99)], latencies[latencies.length - 1]);
+    }
+
+    private static String[] accountNumbers(final int accounts)
+    {
+        final String[] accountNumbers = new String[accounts];
+        for (int i = 0; i < accounts; i++) {
+            accountNumbers[i] = Long.toString(1_000_000_000L + 37L * i);
+        }
+        return accountNumbers;
+    }
+
+    // Names repeat as they would for customers with several accounts; each account gets its own strings, as loaded ones do
+    private static SavingsAccount account(final String accountNumber)
+    {
+        final long number = Long.parseLong(accountNumber);
+        // Three consecutive accounts per customer; numbers are 37 apart, see accountNumbers
+        final long customer = (number - 1_000_000_000L) / 37 / 3;
+        final SavingsAccount account = new SavingsAccount(new String(accountNumber),
+            "Customer " + customer, "Savings " + number % 1000);
+        account.setId(UUID.randomUUID().toString());
+        return account;
+    }
+
+    private static long usedHeap() throws InterruptedException
+    {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
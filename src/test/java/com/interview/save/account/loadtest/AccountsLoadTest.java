@@ -0,0 +1,427 @@
+package com.interview.save.account.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.interview.save.account.support.FakeRedisServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load test of {@code /api/v1/accounts}: starts the application on H2 with an in-process Redis stand-in and drives
+ * a weighted mix of create, get, list and delete requests over HTTP, once open-loop and once closed-loop.
+ * <p>
+ * Tagged "load" and excluded from the normal build; run with {@code mvn test -Ploadtest}.
+ * Settings and SLOs are in {@code loadtest.properties}. Latencies are coordinated-omission corrected: open-loop
+ * latencies are measured from the time a request was scheduled to be sent, closed-loop latencies are back-filled
+ * with {@link LatencyHistogram#recordWithExpectedInterval(long, long)}.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "spring.jpa.show-sql=false",
+    "spring.jpa.properties.hibernate.format_sql=false",
+    // Nothing is written to the working tree
+    "accounts.logging.directory=${java.io.tmpdir}/accounts-loadtest/logs",
+    "accounts.statistics.checkpoint-file=",
+    "accounts.cache.warmup.snapshot-file=${java.io.tmpdir}/accounts-loadtest/hot-accounts.txt"
+})
+class AccountsLoadTest
+{
+    private static final FakeRedisServer REDIS = startRedis();
+    private static final LoadTestSettings SETTINGS = new LoadTestSettings();
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private enum Operation { CREATE, GET, LIST, DELETE }
+
+    @DynamicPropertySource
+    static void redisProperties(final DynamicPropertyRegistry registry)
+    {
+        registry.add("spring.data.redis.host", () -> "127.0.0.1");
+        registry.add("spring.data.redis.port", REDIS::getPort);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException
+    {
+        REDIS.close();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private AccountPool accounts;
+    private Operation[] mix;
+
+    @BeforeEach
+    void setUp()
+    {
+        clientExecutor = Executors.newFixedThreadPool(64);
+        client = HttpClient.newBuilder().executor(clientExecutor).connectTimeout(Duration.ofSeconds(5)).build();
+        accounts = new AccountPool(SETTINGS.getInt("loadtest.seed-accounts") * 4);
+        mix = buildMix();
+        for (int i = 0; i < SETTINGS.getInt("loadtest.seed-accounts"); i++) {
+            send(Operation.CREATE).join();
+        }
+    }
+
+    @AfterEach
+    void tearDown()
+    {
+        clientExecutor.shutdownNow();
+    }
+
+    @Test
+    void openLoop()
+    {
+        final double rate = SETTINGS.getDouble("loadtest.open-loop.rate");
+        runOpenLoop(rate, SETTINGS.getDuration("loadtest.warmup"));
+        final Recorder recorder = runOpenLoop(rate, SETTINGS.getDuration("loadtest.duration"));
+        recorder.report("open-loop at " + rate + " req/s");
+        recorder.assertSlos(rate);
+    }
+
+    @Test
+    void closedLoop()
+    {
+        final int workers = SETTINGS.getInt("loadtest.closed-loop.workers");
+        final double workerRate = SETTINGS.getDouble("loadtest.closed-loop.worker-rate");
+        runClosedLoop(workers, workerRate, SETTINGS.getDuration("loadtest.warmup"));
+        final Recorder recorder = runClosedLoop(workers, workerRate, SETTINGS.getDuration("loadtest.duration"));
+        recorder.report("closed-loop with " + workers + " workers at " + workerRate + " req/s each");
+        recorder.assertSlos(workers * workerRate);
+    }
+
+    private Recorder runOpenLoop(final double rate, final Duration duration)
+    {
+        final Recorder recorder = new Recorder(duration);
+        final AtomicInteger outstanding = new AtomicInteger();
+        final long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        final long start = System.nanoTime();
+        final long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            final long intendedStart = start + i * interval;
+            if (intendedStart >= end) {
+                break;
+            }
+            parkUntil(intendedStart);
+            final Operation operation = nextOperation();
+            outstanding.incrementAndGet();
+            send(operation).whenComplete((success, failure) -> {
+                // Measured from the scheduled start, so a slow server cannot hide its queueing delay
+                recorder.record(operation, (System.nanoTime() - intendedStart) / 1000, 0, failure == null && success);
+                outstanding.decrementAndGet();
+            });
+        }
+        final long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(60);
+        while (outstanding.get() > 0 && System.nanoTime() < drainDeadline) {
+            parkUntil(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        return recorder;
+    }
+
+    private Recorder runClosedLoop(final int workers, final double workerRate, final Duration duration)
+    {
+        final Recorder recorder = new Recorder(duration);
+        final long interval = (long) (TimeUnit.SECONDS.toNanos(1) / workerRate);
+        final long start = System.nanoTime();
+        final long end = start + duration.toNanos();
+        final ExecutorService workerPool = Executors.newFixedThreadPool(workers);
+        for (int w = 0; w < workers; w++) {
+            // Staggered over one interval; workers started together would send in bursts and queue behind each other
+            final long firstStart = start + interval * w / workers;
+            workerPool.execute(() -> {
+                long next = firstStart;
+                while (next < end) {
+                    parkUntil(next);
+                    final Operation operation = nextOperation();
+                    final long sent = System.nanoTime();
+                    boolean success;
+                    try {
+                        success = send(operation).join();
+                    } catch (RuntimeException e) {
+                        success = false;
+                    }
+                    final long completed = System.nanoTime();
+                    recorder.record(operation, (completed - sent) / 1000, interval / 1000, success);
+                    // Requests missed while this one was slow are back-filled by the recorder, not sent late
+                    next = Math.max(next + interval, completed);
+                }
+            });
+        }
+        workerPool.shutdown();
+        try {
+            workerPool.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return recorder;
+    }
+
+    private CompletableFuture<Boolean> send(final Operation operation)
+    {
+        final String baseUrl = "http://127.0.0.1:" + port + "/api/v1/accounts";
+        switch (operation) {
+            case GET -> {
+                final Account account = accounts.any();
+                if (account == null) {
+                    return send(Operation.CREATE);
+                }
+                // A get racing a delete of the same account may see 404; that is a valid answer, not an error
+                return exchange(HttpRequest.newBuilder(URI.create(baseUrl + "/" + account.accountNumber())).GET().build())
+                    .thenApply(response -> response.statusCode() == 200 || response.statusCode() == 404);
+            }
+            case LIST -> {
+                return exchange(HttpRequest.newBuilder(URI.create(baseUrl)).GET().build())
+                    .thenApply(response -> response.statusCode() == 200);
+            }
+            case DELETE -> {
+                final Account account = accounts.take();
+                if (account == null) {
+                    return send(Operation.CREATE);
+                }
+                return exchange(HttpRequest.newBuilder(URI.create(baseUrl + "/" + account.id())).DELETE().build())
+                    .thenApply(response -> response.statusCode() == 200);
+            }
+            default -> {
+                final String body = "{\"customerName\":\"load-" + UUID.randomUUID() + "\",\"accountNickname\":\"LoadTest\"}";
+                return exchange(HttpRequest.newBuilder(URI.create(baseUrl))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build())
+                    .thenApply(response -> {
+                        if (response.statusCode() != 201) {
+                            return false;
+                        }
+                        accounts.add(parseAccount(response.body()));
+                        return true;
+                    });
+            }
+        }
+    }
+
+    private CompletableFuture<HttpResponse<String>> exchange(final HttpRequest request)
+    {
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static Account parseAccount(final String body)
+    {
+        try {
+            final JsonNode json = JSON.readTree(body);
+            return new Account(json.get("id").asText(), json.get("accountNumber").asText());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Operation nextOperation()
+    {
+        return mix[ThreadLocalRandom.current().nextInt(mix.length)];
+    }
+
+    private static Operation[] buildMix()
+    {
+        final List<Operation> weighted = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            final int weight = SETTINGS.getInt("loadtest.mix." + operation.name().toLowerCase());
+            for (int i = 0; i < weight; i++) {
+                weighted.add(operation);
+            }
+        }
+        return weighted.toArray(new Operation[0]);
+    }
+
+    private static void parkUntil(final long nanoTime)
+    {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static FakeRedisServer startRedis()
+    {
+        try {
+            return FakeRedisServer.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Account(String id, String accountNumber)
+    {
+    }
+
+    /**
+     * Lock-free pool of live accounts, so picking one to read or delete does not contend in the load generator.
+     */
+    private static class AccountPool
+    {
+        private static final int ATTEMPTS = 16;
+
+        private final AtomicReferenceArray<Account> slots;
+
+        AccountPool(final int capacity)
+        {
+            this.slots = new AtomicReferenceArray<>(capacity);
+        }
+
+        void add(final Account account)
+        {
+            for (int i = 0; i < ATTEMPTS; i++) {
+                if (slots.compareAndSet(ThreadLocalRandom.current().nextInt(slots.length()), null, account)) {
+                    return;
+                }
+            }
+        }
+
+        Account any()
+        {
+            for (int i = 0; i < ATTEMPTS; i++) {
+                final Account account = slots.get(ThreadLocalRandom.current().nextInt(slots.length()));
+                if (account != null) {
+                    return account;
+                }
+            }
+            return null;
+        }
+
+        Account take()
+        {
+            for (int i = 0; i < ATTEMPTS; i++) {
+                final Account account = slots.getAndSet(ThreadLocalRandom.current().nextInt(slots.length()), null);
+                if (account != null) {
+                    return account;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Latencies and errors of one run, per operation.
+     */
+    private static class Recorder
+    {
+        private final Duration duration;
+        private final Map<Operation, LatencyHistogram> histograms = new EnumMap<>(Operation.class);
+        private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+        // Requests actually sent; the histograms also hold back-filled samples
+        private final Map<Operation, LongAdder> requests = new EnumMap<>(Operation.class);
+
+        Recorder(final Duration duration)
+        {
+            this.duration = duration;
+            for (Operation operation : Operation.values()) {
+                histograms.put(operation, new LatencyHistogram());
+                errors.put(operation, new LongAdder());
+                requests.put(operation, new LongAdder());
+            }
+        }
+
+        void record(final Operation operation, final long micros, final long expectedIntervalMicros, final boolean success)
+        {
+            histograms.get(operation).recordWithExpectedInterval(micros, expectedIntervalMicros);
+            requests.get(operation).increment();
+            if (!success) {
+                errors.get(operation).increment();
+            }
+        }
+
+        LatencyHistogram total()
+        {
+            final LatencyHistogram total = new LatencyHistogram();
+            histograms.values().forEach(total::add);
+            return total;
+        }
+
+        long totalErrors()
+        {
+            return errors.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+
+        long totalRequests()
+        {
+            return requests.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+
+        void report(final String title)
+        {
+            System.out.println("=== " + title + " over " + duration.toSeconds() + " s");
+            System.out.printf("%-8s %10s %10s %8s %10s %10s %10s %10s%n",
+                "op", "requests", "req/s", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+            for (Operation operation : Operation.values()) {
+                print(operation.name().toLowerCase(), histograms.get(operation), requests.get(operation).sum(), errors.get(operation).sum());
+            }
+            print("all", total(), totalRequests(), totalErrors());
+        }
+
+        private void print(final String name, final LatencyHistogram histogram, final long requestCount, final long errorCount)
+        {
+            System.out.printf("%-8s %10d %10.1f %8d %10.2f %10.2f %10.2f %10.2f%n",
+                name, requestCount, requestCount / (double) duration.toSeconds(), errorCount,
+                histogram.percentileMicros(50) / 1000.0, histogram.percentileMicros(99) / 1000.0,
+                histogram.percentileMicros(99.9) / 1000.0, histogram.maxMicros() / 1000.0);
+        }
+
+        void assertSlos(final double offeredRate)
+        {
+            final LatencyHistogram total = total();
+            final List<String> missed = new ArrayList<>();
+            checkLatency(missed, "p50", total.percentileMicros(50), SETTINGS.getDuration("loadtest.slo.p50"));
+            checkLatency(missed, "p99", total.percentileMicros(99), SETTINGS.getDuration("loadtest.slo.p99"));
+            checkLatency(missed, "p99.9", total.percentileMicros(99.9), SETTINGS.getDuration("loadtest.slo.p999"));
+
+            final double errorRate = totalRequests() == 0 ? 1.0 : totalErrors() / (double) totalRequests();
+            if (errorRate > SETTINGS.getDouble("loadtest.slo.max-error-rate")) {
+                missed.add(String.format("error rate %.4f above %s", errorRate, SETTINGS.get("loadtest.slo.max-error-rate")));
+            }
+            final double throughput = totalRequests() / (double) duration.toSeconds();
+            final double minThroughput = offeredRate * SETTINGS.getDouble("loadtest.slo.min-throughput-ratio");
+            if (throughput < minThroughput) {
+                missed.add(String.format("throughput %.1f req/s below %.1f req/s", throughput, minThroughput));
+            }
+            assertTrue(missed.isEmpty(), "SLOs missed: " + String.join("; ", missed));
+        }
+
+        private static void checkLatency(final List<String> missed, final String name, final long micros, final Duration slo)
+        {
+            if (micros > slo.toNanos() / 1000) {
+                missed.add(String.format("%s %.2f ms above %d ms", name, micros / 1000.0, slo.toMillis()));
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.interview.save.account.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free log-linear latency histogram in microseconds, accurate to within 1/64 (about 1.6%) of the value.
+ * <p>
+ * {@link #recordWithExpectedInterval(long, long)} corrects for coordinated omission the same way HdrHistogram does:
+ * when a request took longer than the interval at which requests were supposed to be issued, the requests that
+ * the load generator failed to send meanwhile are recorded with the latencies they would have seen.
+ */
+public class LatencyHistogram
+{
+    private static final int LINEAR_BUCKETS = 128;
+    private static final int SUB_BUCKETS = 64;
+    private static final int MAX_EXPONENT = 42;
+
+    private final AtomicLongArray counts = new AtomicLongArray(LINEAR_BUCKETS + (MAX_EXPONENT - 6) * SUB_BUCKETS);
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * @param micros A latency in microseconds.
+     */
+    public void record(final long micros)
+    {
+        final long value = Math.max(0, micros);
+        counts.incrementAndGet(indexOf(value));
+        maxValue.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Records a latency and back-fills the samples coordinated omission would otherwise hide.
+     *
+     * @param micros                 A latency in microseconds.
+     * @param expectedIntervalMicros The interval at which requests were supposed to be issued, or 0 for none.
+     */
+    public void recordWithExpectedInterval(final long micros, final long expectedIntervalMicros)
+    {
+        record(micros);
+        if (expectedIntervalMicros <= 0) {
+            return;
+        }
+        for (long missed = micros - expectedIntervalMicros; missed >= expectedIntervalMicros; missed -= expectedIntervalMicros) {
+            record(missed);
+        }
+    }
+
+    public long totalCount()
+    {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    public long maxMicros()
+    {
+        return maxValue.get();
+    }
+
+    /**
+     * @param percentile A percentile between 0 and 100.
+     * @return The highest value of the bucket holding the percentile, in microseconds; 0 if nothing was recorded.
+     */
+    public long percentileMicros(final double percentile)
+    {
+        final long total = totalCount();
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(highestValueOf(i), maxMicros());
+            }
+        }
+        return maxMicros();
+    }
+
+    /**
+     * Adds all samples of another histogram to this one.
+     *
+     * @param other The histogram to add.
+     */
+    public void add(final LatencyHistogram other)
+    {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.addAndGet(i, other.counts.get(i));
+        }
+        maxValue.accumulateAndGet(other.maxMicros(), Math::max);
+    }
+
+    private static int indexOf(final long value)
+    {
+        if (value < LINEAR_BUCKETS) {
+            return (int) value;
+        }
+        final int exponent = Math.min(63 - Long.numberOfLeadingZeros(value), MAX_EXPONENT - 1);
+        final int shift = exponent - 6;
+        final int subBucket = (int) Math.min(value >> shift, 2 * SUB_BUCKETS - 1) - SUB_BUCKETS;
+        return LINEAR_BUCKETS + (exponent - 7) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long highestValueOf(final int index)
+    {
+        if (index < LINEAR_BUCKETS) {
+            return index;
+        }
+        final int exponent = 7 + (index - LINEAR_BUCKETS) / SUB_BUCKETS;
+        final int shift = exponent - 6;
+        final long subBucket = SUB_BUCKETS + (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
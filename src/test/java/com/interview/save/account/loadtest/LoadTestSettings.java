@@ -0,0 +1,50 @@
+package com.interview.save.account.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * Settings of a load test run, read from {@code loadtest.properties} on the test classpath.
+ * System properties with the same key take precedence, so a run can be tuned from the command line.
+ */
+public class LoadTestSettings
+{
+    private final Properties properties = new Properties();
+
+    public LoadTestSettings()
+    {
+        try (InputStream in = LoadTestSettings.class.getResourceAsStream("/loadtest.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read loadtest.properties", e);
+        }
+    }
+
+    public String get(final String key)
+    {
+        final String value = System.getProperty(key, properties.getProperty(key));
+        if (value == null) {
+            throw new IllegalStateException("Missing load test setting " + key);
+        }
+        return value.trim();
+    }
+
+    public int getInt(final String key)
+    {
+        return Integer.parseInt(get(key));
+    }
+
+    public double getDouble(final String key)
+    {
+        return Double.parseDouble(get(key));
+    }
+
+    public Duration getDuration(final String key)
+    {
+        return Duration.parse(get(key));
+    }
+}
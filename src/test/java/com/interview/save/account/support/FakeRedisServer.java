@@ -0,0 +1,283 @@
+package com.interview.save.account.support;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+/**
+ * In-process Redis stand-in speaking RESP2, with just the commands Lettuce and Spring's {@code RedisCache} use
+ * (connection handshake, GET, SET with PX/EX, DEL, KEYS, EXISTS, PEXPIRE, FLUSHDB, INFO).
+ * Lets tests and load tests run the real cache code path without an external Redis.
+ */
+public class FakeRedisServer implements AutoCloseable
+{
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "fake-redis");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Entry> data = new ConcurrentHashMap<>();
+
+    protected FakeRedisServer() throws IOException
+    {
+        this.serverSocket = new ServerSocket(0, 128, InetAddress.getLoopbackAddress());
+    }
+
+    /**
+     * Starts a server on a free loopback port.
+     *
+     * @return The running server.
+     * @throws IOException if no port could be bound.
+     */
+    public static FakeRedisServer start() throws IOException
+    {
+        return start(new FakeRedisServer());
+    }
+
+    /**
+     * Starts a server created by a subclass, e.g. one injecting faults in {@link #beforeCommand(String)}.
+     *
+     * @param server The server, bound but not yet accepting connections.
+     * @return The running server.
+     */
+    public static <S extends FakeRedisServer> S start(final S server)
+    {
+        // Private members are not accessible through the type variable
+        final FakeRedisServer base = server;
+        base.connections.execute(base::acceptLoop);
+        return server;
+    }
+
+    public int getPort()
+    {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * @return The number of keys currently stored.
+     */
+    public int size()
+    {
+        return data.size();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+
+    private void acceptLoop()
+    {
+        while (!serverSocket.isClosed()) {
+            try {
+                final Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                connections.execute(() -> serve(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void serve(final Socket socket)
+    {
+        try (socket;
+             InputStream in = new BufferedInputStream(socket.getInputStream());
+             OutputStream out = new BufferedOutputStream(socket.getOutputStream())) {
+            while (true) {
+                final List<byte[]> command = readCommand(in);
+                execute(command, out);
+                if (in.available() == 0) {
+                    out.flush();
+                }
+            }
+        } catch (IOException e) {
+            // Client disconnected
+        }
+    }
+
+    /**
+     * Hook for subclasses to run before every command, e.g. to inject faults.
+     *
+     * @param name The upper-case command name.
+     * @throws IOException to drop the connection.
+     */
+    protected void beforeCommand(final String name) throws IOException
+    {
+    }
+
+    private void execute(final List<byte[]> command, final OutputStream out) throws IOException
+    {
+        final String name = text(command.get(0)).toUpperCase(Locale.ROOT);
+        beforeCommand(name);
+        switch (name) {
+            case "PING" -> simple(out, "PONG");
+            case "SELECT", "CLIENT", "AUTH", "READONLY" -> simple(out, "OK");
+            case "HELLO" -> error(out, "ERR unknown command 'HELLO'");
+            case "INFO" -> bulk(out, "# Server\r\nredis_version:7.0.0\r\n".getBytes(StandardCharsets.UTF_8));
+            case "GET" -> bulk(out, get(text(command.get(1))));
+            case "SET" -> {
+                set(command);
+                simple(out, "OK");
+            }
+            case "DEL", "UNLINK" -> {
+                long deleted = 0;
+                for (int i = 1; i < command.size(); i++) {
+                    if (data.remove(text(command.get(i))) != null) {
+                        deleted++;
+                    }
+                }
+                integer(out, deleted);
+            }
+            case "EXISTS" -> integer(out, get(text(command.get(1))) != null ? 1 : 0);
+            case "PEXPIRE" -> {
+                final Entry entry = data.get(text(command.get(1)));
+                if (entry != null) {
+                    data.put(text(command.get(1)), new Entry(entry.value(), System.currentTimeMillis() + Long.parseLong(text(command.get(2)))));
+                }
+                integer(out, entry != null ? 1 : 0);
+            }
+            case "KEYS" -> keys(out, text(command.get(1)));
+            case "FLUSHDB", "FLUSHALL" -> {
+                data.clear();
+                simple(out, "OK");
+            }
+            default -> error(out, "ERR unknown command '" + name + "'");
+        }
+    }
+
+    private byte[] get(final String key)
+    {
+        final Entry entry = data.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt() > 0 && entry.expiresAt() <= System.currentTimeMillis()) {
+            data.remove(key, entry);
+            return null;
+        }
+        return entry.value();
+    }
+
+    private void set(final List<byte[]> command)
+    {
+        long expiresAt = 0;
+        for (int i = 3; i + 1 < command.size(); i++) {
+            final String option = text(command.get(i)).toUpperCase(Locale.ROOT);
+            if (option.equals("PX")) {
+                expiresAt = System.currentTimeMillis() + Long.parseLong(text(command.get(i + 1)));
+            } else if (option.equals("EX")) {
+                expiresAt = System.currentTimeMillis() + 1000 * Long.parseLong(text(command.get(i + 1)));
+            }
+        }
+        data.put(text(command.get(1)), new Entry(command.get(2), expiresAt));
+    }
+
+    private void keys(final OutputStream out, final String glob) throws IOException
+    {
+        final StringBuilder regex = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            switch (c) {
+                case '*' -> regex.append(".*");
+                case '?' -> regex.append('.');
+                default -> regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        final Pattern pattern = Pattern.compile(regex.toString(), Pattern.DOTALL);
+        final List<String> matches = new ArrayList<>();
+        for (String key : data.keySet()) {
+            if (pattern.matcher(key).matches() && get(key) != null) {
+                matches.add(key);
+            }
+        }
+        out.write(("*" + matches.size() + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        for (String key : matches) {
+            bulk(out, key.getBytes(StandardCharsets.ISO_8859_1));
+        }
+    }
+
+    private static List<byte[]> readCommand(final InputStream in) throws IOException
+    {
+        final String header = readLine(in);
+        if (header.charAt(0) != '*') {
+            throw new IOException("Inline commands are not supported: " + header);
+        }
+        final int count = Integer.parseInt(header.substring(1));
+        final List<byte[]> arguments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int length = Integer.parseInt(readLine(in).substring(1));
+            arguments.add(in.readNBytes(length));
+            readLine(in);
+        }
+        return arguments;
+    }
+
+    private static String readLine(final InputStream in) throws IOException
+    {
+        final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b;
+        while ((b = in.read()) != '\r') {
+            if (b < 0) {
+                throw new EOFException();
+            }
+            line.write(b);
+        }
+        in.read(); // '\n'
+        return line.toString(StandardCharsets.US_ASCII);
+    }
+
+    // Keys are binary; ISO-8859-1 maps every byte to one char and back
+    private static String text(final byte[] bytes)
+    {
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private static void simple(final OutputStream out, final String value) throws IOException
+    {
+        out.write(("+" + value + "\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static void error(final OutputStream out, final String message) throws IOException
+    {
+        out.write(("-" + message + "\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static void integer(final OutputStream out, final long value) throws IOException
+    {
+        out.write((":" + value + "\r\n").getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static void bulk(final OutputStream out, final byte[] value) throws IOException
+    {
+        if (value == null) {
+            out.write("$-1\r\n".getBytes(StandardCharsets.US_ASCII));
+            return;
+        }
+        out.write(("$" + value.length + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.write(value);
+        out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private record Entry(byte[] value, long expiresAt)
+    {
+    }
+}